@@ -4,7 +4,10 @@
 package com.cohere.api;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
+import com.cohere.api.core.StreamPublisher;
+import com.cohere.api.core.StreamSubscriber;
 import com.cohere.api.core.Suppliers;
 import com.cohere.api.requests.ChatRequest;
 import com.cohere.api.requests.ChatStreamRequest;
@@ -35,6 +38,7 @@ import com.cohere.api.types.StreamedChatResponse;
 import com.cohere.api.types.SummarizeResponse;
 import com.cohere.api.types.TokenizeResponse;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public class AsyncCohere {
@@ -80,7 +84,7 @@ public class AsyncCohere {
      * <p>To learn how to use the Chat API and RAG follow our <a href="https://docs.cohere.com/docs/chat-api">Text Generation guides</a>.</p>
      */
     public CompletableFuture<Iterable<StreamedChatResponse>> chatStream(ChatStreamRequest request) {
-        return this.rawClient.chatStream(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chatStream(request), response -> response.body());
     }
 
     /**
@@ -89,7 +93,47 @@ public class AsyncCohere {
      */
     public CompletableFuture<Iterable<StreamedChatResponse>> chatStream(
             ChatStreamRequest request, RequestOptions requestOptions) {
-        return this.rawClient.chatStream(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.chatStream(request, requestOptions), response -> response.body());
+    }
+
+    /**
+     * Generates a streamed text response to a user message, pushing each event to {@code subscriber} as it is
+     * requested instead of returning a blocking {@link Iterable}.
+     */
+    public void chatStream(ChatStreamRequest request, StreamSubscriber<StreamedChatResponse> subscriber) {
+        chatStream(request, null, subscriber);
+    }
+
+    /**
+     * Generates a streamed text response to a user message, pushing each event to {@code subscriber} as it is
+     * requested instead of returning a blocking {@link Iterable}.
+     * <p>
+     * Events are read on a bounded shared pool of daemon threads. A blocking read holds one of its threads for as
+     * long as the subscriber has outstanding demand, so when the pool is exhausted further streams wait for a thread.
+     * Use {@link #chatStream(ChatStreamRequest, RequestOptions, Executor, StreamSubscriber)} to read on threads of
+     * your own.
+     */
+    public void chatStream(
+            ChatStreamRequest request,
+            RequestOptions requestOptions,
+            StreamSubscriber<StreamedChatResponse> subscriber) {
+        StreamPublisher.subscribe(chatStream(request, requestOptions), subscriber);
+    }
+
+    /**
+     * Generates a streamed text response to a user message, pushing each event to {@code subscriber} as it is
+     * requested, with the events read on {@code executor}.
+     * <p>
+     * Each open stream with outstanding demand occupies one of the executor's threads while it waits for the next
+     * event, so the executor bounds how many streams are read at once.
+     */
+    public void chatStream(
+            ChatStreamRequest request,
+            RequestOptions requestOptions,
+            Executor executor,
+            StreamSubscriber<StreamedChatResponse> subscriber) {
+        StreamPublisher.subscribe(chatStream(request, requestOptions), executor, subscriber);
     }
 
     /**
@@ -97,7 +141,7 @@ public class AsyncCohere {
      * To learn how to use the Chat API and RAG follow our <a href="https://docs.cohere.com/docs/chat-api">Text Generation guides</a>.
      */
     public CompletableFuture<NonStreamedChatResponse> chat(ChatRequest request) {
-        return this.rawClient.chat(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chat(request), response -> response.body());
     }
 
     /**
@@ -105,7 +149,7 @@ public class AsyncCohere {
      * To learn how to use the Chat API and RAG follow our <a href="https://docs.cohere.com/docs/chat-api">Text Generation guides</a>.
      */
     public CompletableFuture<NonStreamedChatResponse> chat(ChatRequest request, RequestOptions requestOptions) {
-        return this.rawClient.chat(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chat(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -115,7 +159,7 @@ public class AsyncCohere {
      * Generates realistic text conditioned on a given input.</p>
      */
     public CompletableFuture<Iterable<GenerateStreamedResponse>> generateStream(GenerateStreamRequest request) {
-        return this.rawClient.generateStream(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.generateStream(request), response -> response.body());
     }
 
     /**
@@ -126,7 +170,8 @@ public class AsyncCohere {
      */
     public CompletableFuture<Iterable<GenerateStreamedResponse>> generateStream(
             GenerateStreamRequest request, RequestOptions requestOptions) {
-        return this.rawClient.generateStream(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.generateStream(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -136,7 +181,7 @@ public class AsyncCohere {
      * Generates realistic text conditioned on a given input.</p>
      */
     public CompletableFuture<Generation> generate(GenerateRequest request) {
-        return this.rawClient.generate(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.generate(request), response -> response.body());
     }
 
     /**
@@ -146,7 +191,8 @@ public class AsyncCohere {
      * Generates realistic text conditioned on a given input.</p>
      */
     public CompletableFuture<Generation> generate(GenerateRequest request, RequestOptions requestOptions) {
-        return this.rawClient.generate(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.generate(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -155,7 +201,7 @@ public class AsyncCohere {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CompletableFuture<EmbedResponse> embed() {
-        return this.rawClient.embed().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.embed(), response -> response.body());
     }
 
     /**
@@ -164,7 +210,7 @@ public class AsyncCohere {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CompletableFuture<EmbedResponse> embed(EmbedRequest request) {
-        return this.rawClient.embed(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.embed(request), response -> response.body());
     }
 
     /**
@@ -173,21 +219,22 @@ public class AsyncCohere {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CompletableFuture<EmbedResponse> embed(EmbedRequest request, RequestOptions requestOptions) {
-        return this.rawClient.embed(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.embed(request, requestOptions), response -> response.body());
     }
 
     /**
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CompletableFuture<RerankResponse> rerank(RerankRequest request) {
-        return this.rawClient.rerank(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.rerank(request), response -> response.body());
     }
 
     /**
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CompletableFuture<RerankResponse> rerank(RerankRequest request, RequestOptions requestOptions) {
-        return this.rawClient.rerank(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.rerank(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -195,7 +242,7 @@ public class AsyncCohere {
      * Note: <a href="https://docs.cohere.com/docs/classify-fine-tuning">Fine-tuned models</a> trained on classification examples don't require the <code>examples</code> parameter to be passed in explicitly.
      */
     public CompletableFuture<ClassifyResponse> classify(ClassifyRequest request) {
-        return this.rawClient.classify(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.classify(request), response -> response.body());
     }
 
     /**
@@ -203,7 +250,8 @@ public class AsyncCohere {
      * Note: <a href="https://docs.cohere.com/docs/classify-fine-tuning">Fine-tuned models</a> trained on classification examples don't require the <code>examples</code> parameter to be passed in explicitly.
      */
     public CompletableFuture<ClassifyResponse> classify(ClassifyRequest request, RequestOptions requestOptions) {
-        return this.rawClient.classify(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.classify(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -213,7 +261,7 @@ public class AsyncCohere {
      * Generates a summary in English for a given text.</p>
      */
     public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request) {
-        return this.rawClient.summarize(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.summarize(request), response -> response.body());
     }
 
     /**
@@ -223,49 +271,52 @@ public class AsyncCohere {
      * Generates a summary in English for a given text.</p>
      */
     public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request, RequestOptions requestOptions) {
-        return this.rawClient.summarize(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.summarize(request, requestOptions), response -> response.body());
     }
 
     /**
      * This endpoint splits input text into smaller units called tokens using byte-pair encoding (BPE). To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CompletableFuture<TokenizeResponse> tokenize(TokenizeRequest request) {
-        return this.rawClient.tokenize(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.tokenize(request), response -> response.body());
     }
 
     /**
      * This endpoint splits input text into smaller units called tokens using byte-pair encoding (BPE). To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CompletableFuture<TokenizeResponse> tokenize(TokenizeRequest request, RequestOptions requestOptions) {
-        return this.rawClient.tokenize(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.tokenize(request, requestOptions), response -> response.body());
     }
 
     /**
      * This endpoint takes tokens using byte-pair encoding and returns their text representation. To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CompletableFuture<DetokenizeResponse> detokenize(DetokenizeRequest request) {
-        return this.rawClient.detokenize(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.detokenize(request), response -> response.body());
     }
 
     /**
      * This endpoint takes tokens using byte-pair encoding and returns their text representation. To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CompletableFuture<DetokenizeResponse> detokenize(DetokenizeRequest request, RequestOptions requestOptions) {
-        return this.rawClient.detokenize(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.detokenize(request, requestOptions), response -> response.body());
     }
 
     /**
      * Checks that the api key in the Authorization header is valid and active
      */
     public CompletableFuture<CheckApiKeyResponse> checkApiKey() {
-        return this.rawClient.checkApiKey().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.checkApiKey(), response -> response.body());
     }
 
     /**
      * Checks that the api key in the Authorization header is valid and active
      */
     public CompletableFuture<CheckApiKeyResponse> checkApiKey(RequestOptions requestOptions) {
-        return this.rawClient.checkApiKey(requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.checkApiKey(requestOptions), response -> response.body());
     }
 
     public AsyncV2Client v2() {
@@ -5,9 +5,12 @@ package com.cohere.api;
 
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.Environment;
+import com.cohere.api.core.RateLimiter;
+import com.cohere.api.core.ResponseCache;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import okhttp3.OkHttpClient;
 
 public class AsyncCohereBuilder {
@@ -25,6 +28,12 @@ public class AsyncCohereBuilder {
 
     private OkHttpClient httpClient;
 
+    private RateLimiter rateLimiter;
+
+    private ResponseCache responseCache;
+
+    private Executor callbackExecutor;
+
     /**
      * Sets token.
      * Defaults to the CO_API_KEY environment variable.
@@ -76,6 +85,31 @@ public class AsyncCohereBuilder {
         return this;
     }
 
+    /**
+     * Sets a shared rate limiter that paces requests using the quota reported by the API
+     */
+    public AsyncCohereBuilder rateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Sets a cache that serves repeated tokenize, detokenize, embed and rerank requests without calling the API
+     */
+    public AsyncCohereBuilder responseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    /**
+     * Sets the executor used to deserialize responses and complete futures, such as a bounded pool or a virtual
+     * thread executor. Defaults to OkHttp's dispatcher threads.
+     */
+    public AsyncCohereBuilder callbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
     /**
      * Add a custom header to be sent with all requests.
      * For headers that need to be computed dynamically or conditionally, use the setAdditional() method override instead.
@@ -97,6 +131,9 @@ public class AsyncCohereBuilder {
         setHttpClient(builder);
         setTimeouts(builder);
         setRetries(builder);
+        setRateLimiter(builder);
+        setResponseCache(builder);
+        setCallbackExecutor(builder);
         for (Map.Entry<String, String> header : this.customHeaders.entrySet()) {
             builder.addHeader(header.getKey(), header.getValue());
         }
@@ -180,6 +217,42 @@ public class AsyncCohereBuilder {
         }
     }
 
+    /**
+     * Sets the client-wide rate limiter.
+     * Override this method to customize how requests are paced.
+     *
+     * @param builder The ClientOptions.Builder to configure
+     */
+    protected void setRateLimiter(ClientOptions.Builder builder) {
+        if (this.rateLimiter != null) {
+            builder.rateLimiter(this.rateLimiter);
+        }
+    }
+
+    /**
+     * Sets the response cache for deterministic endpoints.
+     * Override this method to customize where responses are cached.
+     *
+     * @param builder The ClientOptions.Builder to configure
+     */
+    protected void setResponseCache(ClientOptions.Builder builder) {
+        if (this.responseCache != null) {
+            builder.responseCache(this.responseCache);
+        }
+    }
+
+    /**
+     * Sets the executor that async responses are handled on.
+     * Override this method to customize where response parsing and future completion run.
+     *
+     * @param builder The ClientOptions.Builder to configure
+     */
+    protected void setCallbackExecutor(ClientOptions.Builder builder) {
+        if (this.callbackExecutor != null) {
+            builder.callbackExecutor(this.callbackExecutor);
+        }
+    }
+
     /**
      * Sets the OkHttp client configuration.
      * Override this method to customize HTTP client behavior (interceptors, connection pools, etc).
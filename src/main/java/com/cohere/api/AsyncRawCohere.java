@@ -3,6 +3,7 @@
  */
 package com.cohere.api;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -10,7 +11,6 @@ import com.cohere.api.core.CohereHttpResponse;
 import com.cohere.api.core.MediaTypes;
 import com.cohere.api.core.ObjectMappers;
 import com.cohere.api.core.RequestOptions;
-import com.cohere.api.core.ResponseBodyReader;
 import com.cohere.api.core.Stream;
 import com.cohere.api.errors.BadRequestError;
 import com.cohere.api.errors.ClientClosedRequestError;
@@ -50,7 +50,6 @@ import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -80,10 +79,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<Iterable<StreamedChatResponse>>> chatStream(
             ChatStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -94,7 +90,7 @@ public class AsyncRawCohere {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json");
         if (request.getAccepts().isPresent()) {
@@ -106,15 +102,14 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Iterable<StreamedChatResponse>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try {
                     ResponseBody responseBody = response.body();
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                Stream.fromJson(StreamedChatResponse.class, new ResponseBodyReader(response), "\\n"),
-                                response));
+                                Stream.fromJson(StreamedChatResponse.class, response, call), response));
                         return;
                     }
                     String responseBodyString = responseBody != null ? responseBody.string() : "{}";
@@ -215,10 +210,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<NonStreamedChatResponse>> chat(
             ChatRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -229,7 +221,7 @@ public class AsyncRawCohere {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json");
         if (request.getAccepts().isPresent()) {
@@ -241,17 +233,18 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<NonStreamedChatResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, NonStreamedChatResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), NonStreamedChatResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -354,10 +347,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<Iterable<GenerateStreamedResponse>>> generateStream(
             GenerateStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/generate")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/generate");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -368,7 +358,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -377,16 +367,14 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Iterable<GenerateStreamedResponse>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try {
                     ResponseBody responseBody = response.body();
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                Stream.fromJson(
-                                        GenerateStreamedResponse.class, new ResponseBodyReader(response), "\\n"),
-                                response));
+                                Stream.fromJson(GenerateStreamedResponse.class, response, call), response));
                         return;
                     }
                     String responseBodyString = responseBody != null ? responseBody.string() : "{}";
@@ -491,10 +479,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<Generation>> generate(
             GenerateRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/generate")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/generate");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -505,7 +490,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -514,16 +499,17 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Generation>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, Generation.class), response));
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), Generation.class),
+                                response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -632,10 +618,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<EmbedResponse>> embed(
             EmbedRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -646,7 +629,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -655,17 +638,17 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<EmbedResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), EmbedResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -761,10 +744,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<RerankResponse>> rerank(
             RerankRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/rerank")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/rerank");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -775,7 +755,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -784,17 +764,17 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<RerankResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, RerankResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), RerankResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -892,10 +872,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<ClassifyResponse>> classify(
             ClassifyRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/classify")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/classify");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -906,7 +883,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -915,17 +892,17 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<ClassifyResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ClassifyResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ClassifyResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -1027,10 +1004,7 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<SummarizeResponse>> summarize(
             SummarizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/summarize")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/summarize");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -1041,7 +1015,7 @@ public class AsyncRawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -1050,17 +1024,17 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<SummarizeResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, SummarizeResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), SummarizeResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -1156,21 +1130,23 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<TokenizeResponse>> tokenize(
             TokenizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/tokenize")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/tokenize");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<TokenizeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return AsyncHttpCall.completed(clientOptions, cachedResponse);
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -1179,17 +1155,18 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<TokenizeResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
-                        future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, TokenizeResponse.class),
-                                response));
+                        TokenizeResponse parsedResponse =
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), TokenizeResponse.class);
+                        future.complete(clientOptions.cacheResponse(
+                                cacheKey, new CohereHttpResponse<>(parsedResponse, response)));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -1285,21 +1262,23 @@ public class AsyncRawCohere {
      */
     public CompletableFuture<CohereHttpResponse<DetokenizeResponse>> detokenize(
             DetokenizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/detokenize")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/detokenize");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<DetokenizeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return AsyncHttpCall.completed(clientOptions, cachedResponse);
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -1308,17 +1287,18 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<DetokenizeResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
-                        future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DetokenizeResponse.class),
-                                response));
+                        DetokenizeResponse parsedResponse = ObjectMappers.JSON_MAPPER.readValue(
+                                responseBody.byteStream(), DetokenizeResponse.class);
+                        future.complete(clientOptions.cacheResponse(
+                                cacheKey, new CohereHttpResponse<>(parsedResponse, response)));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -1413,14 +1393,11 @@ public class AsyncRawCohere {
      * Checks that the api key in the Authorization header is valid and active
      */
     public CompletableFuture<CohereHttpResponse<CheckApiKeyResponse>> checkApiKey(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/check-api-key")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/check-api-key");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -1428,17 +1405,18 @@ public class AsyncRawCohere {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<CheckApiKeyResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CheckApiKeyResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), CheckApiKeyResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -5,6 +5,8 @@ package com.cohere.api;
 
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.Environment;
+import com.cohere.api.core.RateLimiter;
+import com.cohere.api.core.ResponseCache;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -25,6 +27,10 @@ public class CohereBuilder {
 
     private OkHttpClient httpClient;
 
+    private RateLimiter rateLimiter;
+
+    private ResponseCache responseCache;
+
     /**
      * Sets token.
      * Defaults to the CO_API_KEY environment variable.
@@ -76,6 +82,22 @@ public class CohereBuilder {
         return this;
     }
 
+    /**
+     * Sets a shared rate limiter that paces requests using the quota reported by the API
+     */
+    public CohereBuilder rateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Sets a cache that serves repeated tokenize, detokenize, embed and rerank requests without calling the API
+     */
+    public CohereBuilder responseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
     /**
      * Add a custom header to be sent with all requests.
      * For headers that need to be computed dynamically or conditionally, use the setAdditional() method override instead.
@@ -97,6 +119,8 @@ public class CohereBuilder {
         setHttpClient(builder);
         setTimeouts(builder);
         setRetries(builder);
+        setRateLimiter(builder);
+        setResponseCache(builder);
         for (Map.Entry<String, String> header : this.customHeaders.entrySet()) {
             builder.addHeader(header.getKey(), header.getValue());
         }
@@ -180,6 +204,30 @@ public class CohereBuilder {
         }
     }
 
+    /**
+     * Sets the client-wide rate limiter.
+     * Override this method to customize how requests are paced.
+     *
+     * @param builder The ClientOptions.Builder to configure
+     */
+    protected void setRateLimiter(ClientOptions.Builder builder) {
+        if (this.rateLimiter != null) {
+            builder.rateLimiter(this.rateLimiter);
+        }
+    }
+
+    /**
+     * Sets the response cache for deterministic endpoints.
+     * Override this method to customize where responses are cached.
+     *
+     * @param builder The ClientOptions.Builder to configure
+     */
+    protected void setResponseCache(ClientOptions.Builder builder) {
+        if (this.responseCache != null) {
+            builder.responseCache(this.responseCache);
+        }
+    }
+
     /**
      * Sets the OkHttp client configuration.
      * Override this method to customize HTTP client behavior (interceptors, connection pools, etc).
@@ -10,7 +10,6 @@ import com.cohere.api.core.CohereHttpResponse;
 import com.cohere.api.core.MediaTypes;
 import com.cohere.api.core.ObjectMappers;
 import com.cohere.api.core.RequestOptions;
-import com.cohere.api.core.ResponseBodyReader;
 import com.cohere.api.core.Stream;
 import com.cohere.api.errors.BadRequestError;
 import com.cohere.api.errors.ClientClosedRequestError;
@@ -47,7 +46,6 @@ import com.cohere.api.types.SummarizeResponse;
 import com.cohere.api.types.TokenizeResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -76,10 +74,7 @@ public class RawCohere {
      */
     public CohereHttpResponse<Iterable<StreamedChatResponse>> chatStream(
             ChatStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -90,7 +85,7 @@ public class RawCohere {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json");
         if (request.getAccepts().isPresent()) {
@@ -105,8 +100,7 @@ public class RawCohere {
             Response response = client.newCall(okhttpRequest).execute();
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        Stream.fromJson(StreamedChatResponse.class, new ResponseBodyReader(response), "\\n"), response);
+                return new CohereHttpResponse<>(Stream.fromJson(StreamedChatResponse.class, response), response);
             }
             String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
@@ -172,10 +166,7 @@ public class RawCohere {
      * To learn how to use the Chat API and RAG follow our <a href="https://docs.cohere.com/docs/chat-api">Text Generation guides</a>.
      */
     public CohereHttpResponse<NonStreamedChatResponse> chat(ChatRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -186,7 +177,7 @@ public class RawCohere {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json");
         if (request.getAccepts().isPresent()) {
@@ -199,12 +190,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, NonStreamedChatResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), NonStreamedChatResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -273,10 +264,7 @@ public class RawCohere {
      */
     public CohereHttpResponse<Iterable<GenerateStreamedResponse>> generateStream(
             GenerateStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/generate")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/generate");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -287,7 +275,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -299,9 +287,7 @@ public class RawCohere {
             Response response = client.newCall(okhttpRequest).execute();
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        Stream.fromJson(GenerateStreamedResponse.class, new ResponseBodyReader(response), "\\n"),
-                        response);
+                return new CohereHttpResponse<>(Stream.fromJson(GenerateStreamedResponse.class, response), response);
             }
             String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
@@ -371,10 +357,7 @@ public class RawCohere {
      * Generates realistic text conditioned on a given input.</p>
      */
     public CohereHttpResponse<Generation> generate(GenerateRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/generate")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/generate");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -385,7 +368,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -395,11 +378,11 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, Generation.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), Generation.class), response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -474,10 +457,7 @@ public class RawCohere {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CohereHttpResponse<EmbedResponse> embed(EmbedRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -488,7 +468,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -498,11 +478,11 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), EmbedResponse.class), response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -564,10 +544,7 @@ public class RawCohere {
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CohereHttpResponse<RerankResponse> rerank(RerankRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/rerank")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/rerank");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -578,7 +555,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -588,11 +565,11 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, RerankResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), RerankResponse.class), response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -656,10 +633,7 @@ public class RawCohere {
      * Note: <a href="https://docs.cohere.com/docs/classify-fine-tuning">Fine-tuned models</a> trained on classification examples don't require the <code>examples</code> parameter to be passed in explicitly.
      */
     public CohereHttpResponse<ClassifyResponse> classify(ClassifyRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/classify")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/classify");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -670,7 +644,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -680,11 +654,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ClassifyResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ClassifyResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -752,10 +727,7 @@ public class RawCohere {
      * Generates a summary in English for a given text.</p>
      */
     public CohereHttpResponse<SummarizeResponse> summarize(SummarizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/summarize")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/summarize");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -766,7 +738,7 @@ public class RawCohere {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -776,11 +748,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, SummarizeResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), SummarizeResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -842,21 +815,23 @@ public class RawCohere {
      * This endpoint splits input text into smaller units called tokens using byte-pair encoding (BPE). To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CohereHttpResponse<TokenizeResponse> tokenize(TokenizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/tokenize")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/tokenize");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<TokenizeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -866,11 +841,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, TokenizeResponse.class), response);
+                TokenizeResponse parsedResponse =
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), TokenizeResponse.class);
+                return clientOptions.cacheResponse(cacheKey, new CohereHttpResponse<>(parsedResponse, response));
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -932,21 +908,23 @@ public class RawCohere {
      * This endpoint takes tokens using byte-pair encoding and returns their text representation. To learn more about tokenization and byte pair encoding, see the tokens page.
      */
     public CohereHttpResponse<DetokenizeResponse> detokenize(DetokenizeRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/detokenize")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/detokenize");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<DetokenizeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -956,11 +934,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DetokenizeResponse.class), response);
+                DetokenizeResponse parsedResponse =
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), DetokenizeResponse.class);
+                return clientOptions.cacheResponse(cacheKey, new CohereHttpResponse<>(parsedResponse, response));
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -1022,14 +1001,11 @@ public class RawCohere {
      * Checks that the api key in the Authorization header is valid and active
      */
     public CohereHttpResponse<CheckApiKeyResponse> checkApiKey(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/check-api-key")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/check-api-key");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -1038,11 +1014,12 @@ public class RawCohere {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CheckApiKeyResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), CheckApiKeyResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -0,0 +1,245 @@
+package com.cohere.api.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Drives an asynchronous OkHttp call on behalf of the async clients.
+ * <p>
+ * Retryable responses are rescheduled on the {@link SharedTimer} using the client's {@link RetryInterceptor} policy
+ * instead of sleeping on an OkHttp dispatcher thread, so a burst of 429s does not starve other in-flight requests.
+ * Each call carries its own backoff state. When a {@link RateLimiter} is installed, every attempt is delayed on the
+ * same timer until a permit is available.
+ * <p>
+ * The client's call timeout bounds the whole call, retries and backoff included, as it does for a synchronous call.
+ * Each attempt only gets the time that is left, and a retry whose backoff would run past the deadline fails the call
+ * with an {@link InterruptedIOException} straight away.
+ * <p>
+ * Completing the caller's future exceptionally (for example by cancelling it or through {@code orTimeout}) cancels
+ * the in-flight call and any pending retry, releasing the connection.
+ * <p>
+ * When a {@link ClientOptions#callbackExecutor()} is configured, the final callback runs on it, so response parsing
+ * and the caller's continuations never occupy a dispatcher thread.
+ */
+public final class AsyncHttpCall implements Callback {
+    private final OkHttpClient client;
+
+    private final Callback delegate;
+
+    private final RetryInterceptor.ExponentialBackoff backoff;
+
+    private final RateLimiter rateLimiter;
+
+    private final Executor callbackExecutor;
+
+    private final CompletableFuture<?> future;
+
+    private final long timeoutNanos;
+
+    private final long startNanos = System.nanoTime();
+
+    private volatile Call currentCall;
+
+    private volatile boolean canceled = false;
+
+    private AsyncHttpCall(
+            OkHttpClient client, Executor callbackExecutor, CompletableFuture<?> future, Callback delegate) {
+        this.client = client;
+        this.callbackExecutor = callbackExecutor;
+        this.future = future;
+        this.delegate = delegate;
+        this.backoff = findInterceptor(client, RetryInterceptor.class)
+                .map(RetryInterceptor::newBackoff)
+                .orElse(null);
+        this.rateLimiter = findInterceptor(client, RateLimiter.class).orElse(null);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(client.callTimeoutMillis());
+    }
+
+    /**
+     * Enqueues the request on the given client, delivering the final response or failure to the callback on the
+     * configured {@link ClientOptions#callbackExecutor()}. The call is cancelled if {@code future} completes
+     * exceptionally before the callback has run.
+     */
+    public static void enqueue(
+            ClientOptions clientOptions,
+            OkHttpClient client,
+            Request request,
+            CompletableFuture<?> future,
+            Callback callback) {
+        AsyncHttpCall asyncCall =
+                new AsyncHttpCall(client, clientOptions.callbackExecutor().orElse(null), future, callback);
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                asyncCall.cancel();
+            }
+        });
+        Request taggedRequest = request.newBuilder().tag(AsyncHttpCall.class, asyncCall).build();
+        asyncCall.send(taggedRequest, 0);
+    }
+
+    /**
+     * Returns a future completed with a response that needed no call, such as a cache hit. Like a network response, it
+     * is completed on the configured {@link ClientOptions#callbackExecutor()}, so the caller's continuations run on the
+     * same threads whether or not the response was cached.
+     */
+    public static <T> CompletableFuture<T> completed(ClientOptions clientOptions, T response) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Optional<Executor> callbackExecutor = clientOptions.callbackExecutor();
+        if (!callbackExecutor.isPresent()) {
+            future.complete(response);
+            return future;
+        }
+        try {
+            callbackExecutor.get().execute(() -> future.complete(response));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(new CohereException("Failed to deliver cached response", dispatchFailure(e)));
+        }
+        return future;
+    }
+
+    /**
+     * Cancels the in-flight call and any retry that has not been sent yet.
+     */
+    public void cancel() {
+        canceled = true;
+        Call call = currentCall;
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+        if (backoff != null && !canceled && RetryInterceptor.shouldRetry(response.code())) {
+            Optional<Duration> nextBackoff = backoff.nextBackoff(response);
+            if (nextBackoff.isPresent()) {
+                response.close();
+                long delayNanos = TimeUnit.MILLISECONDS.toNanos(nextBackoff.get().toMillis());
+                if (timeoutNanos > 0 && delayNanos >= remainingNanos()) {
+                    onFailure(call, new InterruptedIOException("timeout"));
+                } else {
+                    send(call.request(), delayNanos);
+                }
+                return;
+            }
+        }
+        if (callbackExecutor == null) {
+            deliver(call, response);
+            return;
+        }
+        dispatch(call, response, () -> deliver(call, response));
+    }
+
+    @Override
+    public void onFailure(@NotNull Call call, @NotNull IOException e) {
+        if (callbackExecutor == null) {
+            fail(call, e);
+            return;
+        }
+        dispatch(call, null, () -> fail(call, e));
+    }
+
+    /**
+     * Runs the delegate's response callback. Anything it throws fails the caller's future, as an exception escaping
+     * into OkHttp or the callback executor would leave the future incomplete.
+     */
+    private void deliver(Call call, Response response) {
+        try {
+            delegate.onResponse(call, response);
+        } catch (IOException e) {
+            response.close();
+            fail(call, e);
+        } catch (RuntimeException e) {
+            response.close();
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void fail(Call call, IOException e) {
+        try {
+            delegate.onFailure(call, e);
+        } catch (RuntimeException failure) {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Hands a callback to the callback executor, failing the call if the executor throws.
+     */
+    private void dispatch(Call call, Response response, Runnable task) {
+        try {
+            callbackExecutor.execute(task);
+        } catch (RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            fail(call, dispatchFailure(e));
+        }
+    }
+
+    private static IOException dispatchFailure(RuntimeException e) {
+        String message = e instanceof RejectedExecutionException
+                ? "Callback executor rejected the response"
+                : "Callback executor failed";
+        return new IOException(message, e);
+    }
+
+    /**
+     * Enqueues the request once both the given delay and any rate limit wait have elapsed.
+     */
+    private void send(Request request, long delayNanos) {
+        long waitNanos = rateLimiter != null ? Math.max(delayNanos, rateLimiter.reserve()) : delayNanos;
+        if (waitNanos <= 0) {
+            start(request);
+        } else {
+            SharedTimer.get().schedule(() -> start(request), waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void start(Request request) {
+        if (canceled) {
+            return;
+        }
+        Call call = client.newCall(request);
+        if (timeoutNanos > 0) {
+            long remainingNanos = remainingNanos();
+            if (remainingNanos <= 0) {
+                onFailure(call, new InterruptedIOException("timeout"));
+                return;
+            }
+            call.timeout().timeout(remainingNanos, TimeUnit.NANOSECONDS);
+        }
+        currentCall = call;
+        // Re-check after publishing the call so that a concurrent cancel() is never lost
+        if (canceled) {
+            call.cancel();
+        }
+        call.enqueue(this);
+    }
+
+    private long remainingNanos() {
+        return timeoutNanos - (System.nanoTime() - startNanos);
+    }
+
+    private static <T extends Interceptor> Optional<T> findInterceptor(OkHttpClient client, Class<T> type) {
+        for (Interceptor interceptor : client.interceptors()) {
+            if (type.isInstance(interceptor)) {
+                return Optional.of(type.cast(interceptor));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -3,33 +3,66 @@
  */
 package com.cohere.api.core;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 
 public final class ClientOptions {
+    private static final int MAX_TIMEOUT_CLIENTS = 16;
+
     private final Environment environment;
 
     private final Map<String, String> headers;
 
     private final Map<String, Supplier<String>> headerSuppliers;
 
+    private final Headers staticHeaders;
+
+    private final HttpUrl baseUrl;
+
+    private final Map<String, HttpUrl> endpointUrls = new ConcurrentHashMap<>();
+
     private final OkHttpClient httpClient;
 
     private final int timeout;
 
     private final int maxRetries;
 
+    private final Optional<Executor> callbackExecutor;
+
+    private final Optional<ResponseCache> responseCache;
+
+    private final Map<Long, OkHttpClient> timeoutClients =
+            Collections.synchronizedMap(new LinkedHashMap<Long, OkHttpClient>(MAX_TIMEOUT_CLIENTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, OkHttpClient> eldest) {
+                    return size() > MAX_TIMEOUT_CLIENTS;
+                }
+            });
+
     private ClientOptions(
             Environment environment,
             Map<String, String> headers,
             Map<String, Supplier<String>> headerSuppliers,
             OkHttpClient httpClient,
             int timeout,
-            int maxRetries) {
+            int maxRetries,
+            Optional<Executor> callbackExecutor,
+            Optional<ResponseCache> responseCache) {
         this.environment = environment;
         this.headers = new HashMap<>();
         this.headers.putAll(headers);
@@ -41,9 +74,13 @@ public final class ClientOptions {
             }
         });
         this.headerSuppliers = headerSuppliers;
+        this.staticHeaders = Headers.of(this.headers);
+        this.baseUrl = environment != null ? HttpUrl.parse(environment.getUrl()) : null;
         this.httpClient = httpClient;
         this.timeout = timeout;
         this.maxRetries = maxRetries;
+        this.callbackExecutor = callbackExecutor;
+        this.responseCache = responseCache;
     }
 
     public Environment environment() {
@@ -61,6 +98,39 @@ public final class ClientOptions {
         return values;
     }
 
+    /**
+     * Returns the request headers as an OkHttp {@link Headers} object. The static headers are built once; only header
+     * suppliers and per-request overrides are merged at call time.
+     */
+    public Headers httpHeaders(RequestOptions requestOptions) {
+        if (headerSuppliers.isEmpty() && requestOptions == null) {
+            return this.staticHeaders;
+        }
+        Headers.Builder builder = this.staticHeaders.newBuilder();
+        headerSuppliers.forEach((key, supplier) -> {
+            builder.set(key, supplier.get());
+        });
+        if (requestOptions != null) {
+            requestOptions.getHeaders().forEach(builder::set);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the parsed environment URL.
+     */
+    public HttpUrl baseUrl() {
+        return this.baseUrl;
+    }
+
+    /**
+     * Returns the resolved URL of an endpoint without path or query parameters, parsing it only once.
+     */
+    public HttpUrl endpointUrl(String pathSegments) {
+        return endpointUrls.computeIfAbsent(
+                pathSegments, path -> this.baseUrl.newBuilder().addPathSegments(path).build());
+    }
+
     public int timeout(RequestOptions requestOptions) {
         if (requestOptions == null) {
             return this.timeout;
@@ -72,23 +142,90 @@ public final class ClientOptions {
         return this.httpClient;
     }
 
+    /**
+     * Returns a client with the call timeout from the request options. Derived clients are cached per timeout and
+     * share the connection pool, dispatcher and interceptors (including retries) of {@link #httpClient()}.
+     */
     public OkHttpClient httpClientWithTimeout(RequestOptions requestOptions) {
-        if (requestOptions == null) {
+        if (requestOptions == null || !requestOptions.getTimeout().isPresent()) {
             return this.httpClient;
         }
-        return this.httpClient
+        long timeoutMillis = requestOptions.getTimeoutTimeUnit().toMillis(requestOptions.getTimeout().get());
+        return timeoutClients.computeIfAbsent(timeoutMillis, millis -> this.httpClient
                 .newBuilder()
-                .callTimeout(requestOptions.getTimeout().get(), requestOptions.getTimeoutTimeUnit())
+                .callTimeout(millis, TimeUnit.MILLISECONDS)
                 .connectTimeout(0, TimeUnit.SECONDS)
                 .writeTimeout(0, TimeUnit.SECONDS)
                 .readTimeout(0, TimeUnit.SECONDS)
-                .build();
+                .build());
     }
 
     public int maxRetries() {
         return this.maxRetries;
     }
 
+    /**
+     * The executor that async clients complete their futures on, if one was configured. When empty, futures are
+     * completed on OkHttp dispatcher threads.
+     */
+    public Optional<Executor> callbackExecutor() {
+        return this.callbackExecutor;
+    }
+
+    public Optional<ResponseCache> responseCache() {
+        return this.responseCache;
+    }
+
+    /**
+     * Returns the key that a response to {@code requestBody} sent to {@code url} is cached under, or {@code null} if
+     * there is no response cache. Besides the URL, the key holds a SHA-256 digest of the effective
+     * {@code Authorization} header, the per-request headers of {@code requestOptions} and the body, so callers with
+     * different credentials or request headers never share an entry, and the token never appears in the key.
+     */
+    public String responseCacheKey(HttpUrl url, RequestOptions requestOptions, byte[] requestBody) {
+        if (!this.responseCache.isPresent()) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder headerText = new StringBuilder("Authorization: ")
+                .append(headers(requestOptions).getOrDefault("Authorization", ""))
+                .append('\n');
+        if (requestOptions != null) {
+            new TreeMap<>(requestOptions.getHeaders())
+                    .forEach((name, value) ->
+                            headerText.append(name).append(": ").append(value).append('\n'));
+        }
+        digest.update(headerText.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        return url + "#" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(requestBody));
+    }
+
+    /**
+     * Returns the cached response stored under {@code cacheKey}, or {@code null} if there is none or the key is
+     * {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CohereHttpResponse<T> cachedResponse(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        return (CohereHttpResponse<T>) this.responseCache.get().get(cacheKey);
+    }
+
+    /**
+     * Stores {@code response} under {@code cacheKey} unless the key is {@code null}, and returns it.
+     */
+    public <T> CohereHttpResponse<T> cacheResponse(String cacheKey, CohereHttpResponse<T> response) {
+        if (cacheKey != null) {
+            this.responseCache.get().put(cacheKey, response);
+        }
+        return response;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -106,6 +243,12 @@ public final class ClientOptions {
 
         private OkHttpClient httpClient = null;
 
+        private RateLimiter rateLimiter = null;
+
+        private Optional<Executor> callbackExecutor = Optional.empty();
+
+        private Optional<ResponseCache> responseCache = Optional.empty();
+
         public Builder environment(Environment environment) {
             this.environment = environment;
             return this;
@@ -150,6 +293,33 @@ public final class ClientOptions {
             return this;
         }
 
+        /**
+         * Paces all requests made with these options through a shared rate limiter. Disabled by default.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Runs response handling and future completion for async clients on the given executor instead of OkHttp
+         * dispatcher threads. Response bodies are deserialized there, and dependent stages run there too unless
+         * they name their own executor.
+         */
+        public Builder callbackExecutor(Executor callbackExecutor) {
+            this.callbackExecutor = Optional.ofNullable(callbackExecutor);
+            return this;
+        }
+
+        /**
+         * Serves repeated tokenize, detokenize, V2 embed and V2 rerank requests from the given cache. Disabled by
+         * default.
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = Optional.ofNullable(responseCache);
+            return this;
+        }
+
         public ClientOptions build() {
             OkHttpClient.Builder httpClientBuilder =
                     this.httpClient != null ? this.httpClient.newBuilder() : new OkHttpClient.Builder();
@@ -169,11 +339,23 @@ public final class ClientOptions {
                         .addInterceptor(new RetryInterceptor(this.maxRetries));
             }
 
+            // Added after the RetryInterceptor so that retried attempts are paced as well
+            if (this.rateLimiter != null && !httpClientBuilder.interceptors().contains(this.rateLimiter)) {
+                httpClientBuilder.addInterceptor(this.rateLimiter);
+            }
+
             this.httpClient = httpClientBuilder.build();
             this.timeout = Optional.of(httpClient.callTimeoutMillis() / 1000);
 
             return new ClientOptions(
-                    environment, headers, headerSuppliers, httpClient, this.timeout.get(), this.maxRetries);
+                    environment,
+                    headers,
+                    headerSuppliers,
+                    httpClient,
+                    this.timeout.get(),
+                    this.maxRetries,
+                    this.callbackExecutor,
+                    this.responseCache);
         }
 
         /**
@@ -184,6 +366,8 @@ public final class ClientOptions {
             builder.environment = clientOptions.environment();
             builder.timeout = Optional.of(clientOptions.timeout(null));
             builder.httpClient = clientOptions.httpClient();
+            builder.callbackExecutor = clientOptions.callbackExecutor();
+            builder.responseCache = clientOptions.responseCache();
             return builder;
         }
     }
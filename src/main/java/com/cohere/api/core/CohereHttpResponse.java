@@ -27,6 +27,11 @@ public final class CohereHttpResponse<T> {
         this.headers = headers;
     }
 
+    CohereHttpResponse(T body, Map<String, List<String>> headers) {
+        this.body = body;
+        this.headers = headers;
+    }
+
     public T body() {
         return this.body;
     }
@@ -0,0 +1,23 @@
+package com.cohere.api.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public final class CompletableFutures {
+    private CompletableFutures() {}
+
+    /**
+     * Like {@link CompletableFuture#thenApply(Function)}, but cancelling or timing out the returned future also
+     * cancels {@code source}, which in turn cancels the underlying HTTP call.
+     */
+    public static <T, U> CompletableFuture<U> thenApply(
+            CompletableFuture<T> source, Function<? super T, ? extends U> fn) {
+        CompletableFuture<U> dependent = source.thenApply(fn);
+        dependent.whenComplete((result, error) -> {
+            if (error != null) {
+                source.cancel(false);
+            }
+        });
+        return dependent;
+    }
+}
@@ -0,0 +1,242 @@
+package com.cohere.api.core;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link ResponseCache} that keeps responses in memory, evicting the least recently used once their total weight
+ * exceeds a maximum and, optionally, expiring them a fixed time after they were stored.
+ * <p>
+ * By default every response weighs 1, so the maximum weight is the maximum number of responses. Use
+ * {@link Builder#weigher(ToLongFunction)} to bound memory instead, for example by the number of embedding values.
+ */
+public final class InMemoryResponseCache implements ResponseCache {
+    private final long maximumWeight;
+
+    private final ToLongFunction<CohereHttpResponse<?>> weigher;
+
+    private final long expireAfterWriteNanos;
+
+    private final LongSupplier ticker;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight = 0;
+
+    private long hitCount = 0;
+
+    private long missCount = 0;
+
+    private long evictionCount = 0;
+
+    private InMemoryResponseCache(
+            long maximumWeight,
+            ToLongFunction<CohereHttpResponse<?>> weigher,
+            long expireAfterWriteNanos,
+            LongSupplier ticker) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public synchronized CohereHttpResponse<?> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            remove(key, entry);
+            evictionCount++;
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.response;
+    }
+
+    @Override
+    public void put(String key, CohereHttpResponse<?> response) {
+        long responseWeight = weigher.applyAsLong(response);
+        if (responseWeight < 0) {
+            throw new IllegalStateException("Weigher returned a negative weight: " + responseWeight);
+        }
+        synchronized (this) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            if (responseWeight > maximumWeight) {
+                // Would evict everything else and then itself
+                return;
+            }
+            entries.put(key, new Entry(response, responseWeight, ticker.getAsLong()));
+            weight += responseWeight;
+            evict();
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return The number of responses held, including expired ones not yet removed.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return A snapshot of the hit, miss and eviction counts since this cache was created.
+     */
+    public synchronized Stats stats() {
+        return new Stats(hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Removes expired responses, then the least recently used ones until the total weight is within the maximum.
+     */
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (weight <= maximumWeight && !isExpired(entry)) {
+                break;
+            }
+            iterator.remove();
+            weight -= entry.weight;
+            evictionCount++;
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return expireAfterWriteNanos > 0 && ticker.getAsLong() - entry.writtenAtNanos >= expireAfterWriteNanos;
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final class Entry {
+        private final CohereHttpResponse<?> response;
+
+        private final long weight;
+
+        private final long writtenAtNanos;
+
+        private Entry(CohereHttpResponse<?> response, long weight, long writtenAtNanos) {
+            this.response = response;
+            this.weight = weight;
+            this.writtenAtNanos = writtenAtNanos;
+        }
+    }
+
+    /**
+     * Hit, miss and eviction counts of an {@link InMemoryResponseCache}. Expired responses count as evictions.
+     */
+    public static final class Stats {
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long evictionCount;
+
+        private Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        public long evictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return The fraction of lookups that were hits, or 1 if there were none.
+         */
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "}";
+        }
+    }
+
+    public static final class Builder {
+        private long maximumWeight = 10_000;
+
+        private ToLongFunction<CohereHttpResponse<?>> weigher = response -> 1;
+
+        private Duration expireAfterWrite = Duration.ZERO;
+
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum total weight of the held responses. Defaults to 10,000.
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("maximumWeight must not be negative");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function that weighs each response when it is stored. Defaults to 1 per response.
+         */
+        public Builder weigher(ToLongFunction<CohereHttpResponse<?>> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets how long a response is kept after it was stored. Defaults to zero, which keeps responses until they
+         * are evicted by weight.
+         */
+        public Builder expireAfterWrite(Duration expireAfterWrite) {
+            if (expireAfterWrite.isNegative()) {
+                throw new IllegalArgumentException("expireAfterWrite must not be negative");
+            }
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the nanosecond time source used for expiry. Defaults to {@link System#nanoTime()}.
+         */
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public InMemoryResponseCache build() {
+            return new InMemoryResponseCache(maximumWeight, weigher, expireAfterWrite.toNanos(), ticker);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.cohere.api.core;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * A client-wide token bucket that paces outgoing requests before they are rejected with a 429.
+ * <p>
+ * The bucket refills at the configured rate and holds at most {@code burst} permits. It also adapts to the quota
+ * reported by the API: {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} spread the remaining requests
+ * evenly over the rest of the window, and a {@code Retry-After} header holds all requests until it elapses.
+ * <p>
+ * Synchronous calls wait on the calling thread. Asynchronous calls are delayed on a timer by {@link AsyncHttpCall}
+ * so OkHttp dispatcher threads never block. Install it with {@link ClientOptions.Builder#rateLimiter(RateLimiter)}.
+ */
+public final class RateLimiter implements Interceptor {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double requestsPerSecond;
+
+    private final double burst;
+
+    private double permits;
+
+    private long lastRefillNanos;
+
+    private double quotaRequestsPerSecond = Double.POSITIVE_INFINITY;
+
+    private long quotaResetNanos;
+
+    private long blockedUntilNanos;
+
+    private RateLimiter(double requestsPerSecond, int burst) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.permits = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.quotaResetNanos = this.lastRefillNanos;
+        this.blockedUntilNanos = this.lastRefillNanos;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        // Asynchronous calls have already been delayed by AsyncHttpCall before they were enqueued
+        if (request.tag(AsyncHttpCall.class) == null) {
+            acquire();
+        }
+        Response response = chain.proceed(request);
+        update(response);
+        return response;
+    }
+
+    /**
+     * Blocks the calling thread until a permit is available.
+     */
+    public void acquire() throws IOException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for rate limit", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a permit and returns how long the caller must wait, in nanoseconds, before sending its request.
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        double rate = currentRate(now);
+        permits = Math.min(burst, permits + (now - lastRefillNanos) * rate / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+        permits -= 1;
+
+        long waitNanos = Math.max(0, blockedUntilNanos - now);
+        if (permits < 0) {
+            waitNanos = Math.max(waitNanos, (long) (-permits / rate * NANOS_PER_SECOND));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Learns the remaining quota from the rate limit headers of a response.
+     */
+    public void update(Response response) {
+        long nowMillis = System.currentTimeMillis();
+        Optional<Long> resetMillis = RetryInterceptor.tryParseLong(response.header("X-RateLimit-Reset"))
+                .map(resetSeconds -> resetSeconds * 1000)
+                .filter(reset -> reset > nowMillis);
+        Optional<Long> remaining = RetryInterceptor.tryParseLong(response.header("X-RateLimit-Remaining"));
+        Optional<Long> retryAfterMillis = retryAfterMillis(response.header("Retry-After"), nowMillis);
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (remaining.isPresent() && resetMillis.isPresent()) {
+                long untilResetMillis = resetMillis.get() - nowMillis;
+                quotaResetNanos = now + TimeUnit.MILLISECONDS.toNanos(untilResetMillis);
+                if (remaining.get() <= 0) {
+                    blockedUntilNanos = Math.max(blockedUntilNanos, quotaResetNanos);
+                } else {
+                    quotaRequestsPerSecond = remaining.get() * 1000.0 / untilResetMillis;
+                    permits = Math.min(permits, remaining.get());
+                }
+            }
+            if (retryAfterMillis.isPresent()) {
+                blockedUntilNanos =
+                        Math.max(blockedUntilNanos, now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis.get()));
+            }
+        }
+    }
+
+    private double currentRate(long now) {
+        if (now - quotaResetNanos < 0) {
+            return Math.min(requestsPerSecond, quotaRequestsPerSecond);
+        }
+        return requestsPerSecond;
+    }
+
+    private static Optional<Long> retryAfterMillis(String retryAfter, long nowMillis) {
+        if (retryAfter == null) {
+            return Optional.empty();
+        }
+        Optional<Long> seconds = RetryInterceptor.tryParseLong(retryAfter);
+        if (seconds.isPresent()) {
+            return seconds.map(value -> value * 1000).filter(delayMs -> delayMs > 0);
+        }
+        return RetryInterceptor.tryParseHttpDate(retryAfter)
+                .map(resetTime -> resetTime.toInstant().toEpochMilli() - nowMillis)
+                .filter(delayMs -> delayMs > 0);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private double requestsPerSecond = 10;
+
+        private int burst = 10;
+
+        private Builder() {}
+
+        /**
+         * Sets the steady-state request rate. Defaults to 10 requests per second.
+         */
+        public Builder requestsPerSecond(double requestsPerSecond) {
+            if (requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("requestsPerSecond must be positive");
+            }
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how many requests may be sent back to back after an idle period. Defaults to 10.
+         */
+        public Builder burst(int burst) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be at least 1");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        public RateLimiter build() {
+            return new RateLimiter(requestsPerSecond, burst);
+        }
+    }
+}
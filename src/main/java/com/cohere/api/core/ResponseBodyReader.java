@@ -5,6 +5,7 @@ package com.cohere.api.core;
 
 import java.io.FilterReader;
 import java.io.IOException;
+import okhttp3.Call;
 import okhttp3.Response;
 
 /**
@@ -19,6 +20,8 @@ import okhttp3.Response;
 public class ResponseBodyReader extends FilterReader {
     private final Response response;
 
+    private final Call call;
+
     /**
      * Constructs a ResponseBodyReader that wraps the Reader from the given OkHttp Response object.
      *
@@ -26,8 +29,21 @@ public class ResponseBodyReader extends FilterReader {
      * @throws IOException if an I/O error occurs while retrieving the Reader
      */
     public ResponseBodyReader(Response response) throws IOException {
+        this(response, null);
+    }
+
+    /**
+     * Constructs a ResponseBodyReader that also cancels the given call when closed, so a reader blocked on a
+     * streaming response is released immediately.
+     *
+     * @param response the OkHttp Response object from which the Reader is retrieved
+     * @param call the call that produced the response, or null
+     * @throws IOException if an I/O error occurs while retrieving the Reader
+     */
+    public ResponseBodyReader(Response response, Call call) throws IOException {
         super(response.body().charStream());
         this.response = response;
+        this.call = call;
     }
 
     /**
@@ -38,6 +54,9 @@ public class ResponseBodyReader extends FilterReader {
      */
     @Override
     public void close() throws IOException {
+        if (call != null) {
+            call.cancel(); // No-op once the body has been fully read
+        }
         super.close();
         response.close(); // Ensure the response is closed when the reader is closed
     }
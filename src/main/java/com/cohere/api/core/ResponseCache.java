@@ -0,0 +1,28 @@
+package com.cohere.api.core;
+
+/**
+ * A store for the responses of deterministic endpoints, consulted before a request is sent.
+ * <p>
+ * Only tokenize, detokenize, and the V2 embed and rerank endpoints are cached; streaming and generative endpoints
+ * never are. Keys identify the endpoint URL, the serialized request, the credentials in the {@code Authorization}
+ * header and any per-request headers, so two requests share an entry only if every field, including the model, is the
+ * same and they were made with the same token. A cache can therefore be shared by clients with different API keys.
+ * Headers that a client sets on every request, other than {@code Authorization}, are not part of the key. Cached
+ * responses are shared by every caller that gets them and must be treated as read-only. Implementations must be safe
+ * for concurrent use.
+ *
+ * @see InMemoryResponseCache
+ */
+public interface ResponseCache {
+    /**
+     * @return The response stored under {@code key}, or {@code null} if there is none.
+     */
+    CohereHttpResponse<?> get(String key);
+
+    void put(String key, CohereHttpResponse<?> response);
+
+    /**
+     * Removes every stored response.
+     */
+    void invalidateAll();
+}
@@ -11,6 +11,7 @@ import java.time.format.DateTimeParseException;
 import java.util.Optional;
 import java.util.Random;
 import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
 
 public class RetryInterceptor implements Interceptor {
@@ -19,26 +20,35 @@ public class RetryInterceptor implements Interceptor {
     private static final Duration MAX_RETRY_DELAY = Duration.ofMillis(60000);
     private static final double JITTER_FACTOR = 0.2;
 
-    private final ExponentialBackoff backoff;
+    private final int maxRetries;
     private final Random random = new Random();
 
     public RetryInterceptor(int maxRetries) {
-        this.backoff = new ExponentialBackoff(maxRetries);
+        this.maxRetries = maxRetries;
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        Response response = chain.proceed(chain.request());
+        Request request = chain.request();
+        Response response = chain.proceed(request);
 
-        if (shouldRetry(response.code())) {
-            return retryChain(response, chain);
+        // Asynchronous calls are rescheduled by AsyncHttpCall rather than sleeping on a dispatcher thread
+        if (shouldRetry(response.code()) && request.tag(AsyncHttpCall.class) == null) {
+            return retryChain(response, chain, newBackoff());
         }
 
         return response;
     }
 
-    private Response retryChain(Response response, Chain chain) throws IOException {
-        Optional<Duration> nextBackoff = this.backoff.nextBackoff(response);
+    /**
+     * Creates the retry state for a single call. Backoff state is never shared between calls.
+     */
+    ExponentialBackoff newBackoff() {
+        return new ExponentialBackoff(this.maxRetries);
+    }
+
+    private Response retryChain(Response response, Chain chain, ExponentialBackoff backoff) throws IOException {
+        Optional<Duration> nextBackoff = backoff.nextBackoff(response);
         while (nextBackoff.isPresent()) {
             try {
                 Thread.sleep(nextBackoff.get().toMillis());
@@ -48,7 +58,7 @@ public class RetryInterceptor implements Interceptor {
             response.close();
             response = chain.proceed(chain.request());
             if (shouldRetry(response.code())) {
-                nextBackoff = this.backoff.nextBackoff(response);
+                nextBackoff = backoff.nextBackoff(response);
             } else {
                 return response;
             }
@@ -110,7 +120,7 @@ public class RetryInterceptor implements Interceptor {
     /**
      * Attempts to parse a string as a long, returning empty Optional on failure.
      */
-    private Optional<Long> tryParseLong(String value) {
+    static Optional<Long> tryParseLong(String value) {
         if (value == null) {
             return Optional.empty();
         }
@@ -124,7 +134,7 @@ public class RetryInterceptor implements Interceptor {
     /**
      * Attempts to parse a string as an HTTP date (RFC 1123), returning empty Optional on failure.
      */
-    private Optional<ZonedDateTime> tryParseHttpDate(String value) {
+    static Optional<ZonedDateTime> tryParseHttpDate(String value) {
         if (value == null) {
             return Optional.empty();
         }
@@ -153,11 +163,11 @@ public class RetryInterceptor implements Interceptor {
         return (long) (delayMs * jitterMultiplier);
     }
 
-    private static boolean shouldRetry(int statusCode) {
+    static boolean shouldRetry(int statusCode) {
         return statusCode == 408 || statusCode == 429 || statusCode >= 500;
     }
 
-    private final class ExponentialBackoff {
+    final class ExponentialBackoff {
 
         private final int maxNumRetries;
 
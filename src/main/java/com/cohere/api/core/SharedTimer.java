@@ -0,0 +1,26 @@
+package com.cohere.api.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The lazily started daemon timer shared by the async clients and the helpers built on them, which schedule retries,
+ * rate limit waits and batch lingers on it. Scheduled tasks only hand work off, such as enqueueing a call, so one
+ * thread serves them all.
+ */
+public final class SharedTimer {
+    private SharedTimer() {}
+
+    public static ScheduledExecutorService get() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService INSTANCE =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "Cohere Timer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
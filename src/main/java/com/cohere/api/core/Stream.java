@@ -3,12 +3,26 @@
  */
 package com.cohere.api.core;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.Set;
+import okhttp3.Call;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
 
 /**
  * The {@code Stream} class implements {@link Iterable} to provide a simple mechanism for reading and parsing
@@ -18,13 +32,24 @@ import java.util.Scanner;
  * {@code Scanner} to block during iteration if the next object is not available.
  * Iterable stream for parsing JSON and Server-Sent Events (SSE) data.
  * Supports both newline-delimited JSON and SSE with optional stream termination.
+ * <p>
+ * Newline-delimited JSON is read by a single streaming {@link MappingIterator} over the response bytes, so each
+ * element costs one deserialization and no intermediate String.
+ * SSE streams are framed at the byte level on an okio {@link BufferedSource}: {@code data:} payloads are copied
+ * straight from the response buffer into a reusable array and parsed by Jackson without decoding them to strings.
+ * An SSE stream can be restricted to a set of event types, in which case other events are discarded before they are
+ * deserialized.
  *
  * @param <T> The type of objects in the stream.
  */
 public final class Stream<T> implements Iterable<T>, Closeable {
 
     private static final String NEWLINE = "\n";
-    private static final String DATA_PREFIX = "data:";
+    private static final String NEWLINE_PATTERN = "\\n";
+    private static final ByteString DATA_PREFIX = ByteString.encodeUtf8("data:");
+    private static final ByteString EVENT_PREFIX = ByteString.encodeUtf8("event:");
+    private static final String TYPE_FIELD = "type";
+    private static final int INITIAL_EVENT_CAPACITY = 1024;
 
     public enum StreamType {
         JSON,
@@ -33,10 +58,16 @@ public final class Stream<T> implements Iterable<T>, Closeable {
 
     private final Class<T> valueType;
     private final Scanner scanner;
+    private final JsonParserFactory jsonParserFactory;
     private final StreamType streamType;
     private final String messageTerminator;
-    private final String streamTerminator;
-    private final Reader sseReader;
+    private final ByteString streamTerminator;
+    private final Set<String> eventTypes;
+    private final ByteString[] eventTypeBytes;
+    private final BufferedSource sseSource;
+    private final Closeable resource;
+    private final ObjectReader valueReader;
+    private MappingIterator<T> jsonValues;
     private boolean isClosed = false;
 
     /**
@@ -48,27 +79,56 @@ public final class Stream<T> implements Iterable<T>, Closeable {
      */
     public Stream(Class<T> valueType, Reader reader, String delimiter) {
         this.valueType = valueType;
-        this.scanner = new Scanner(reader).useDelimiter(delimiter);
+        if (NEWLINE.equals(delimiter) || NEWLINE_PATTERN.equals(delimiter)) {
+            // Jackson skips the whitespace between root-level values, so no delimiter scanning is needed
+            this.scanner = null;
+            this.jsonParserFactory = () -> ObjectMappers.JSON_MAPPER.getFactory().createParser(reader);
+        } else {
+            this.scanner = new Scanner(reader).useDelimiter(delimiter);
+            this.jsonParserFactory = null;
+        }
         this.streamType = StreamType.JSON;
         this.messageTerminator = delimiter;
         this.streamTerminator = null;
-        this.sseReader = null;
+        this.eventTypes = null;
+        this.eventTypeBytes = null;
+        this.sseSource = null;
+        this.resource = reader;
+        this.valueReader = ObjectMappers.JSON_MAPPER.readerFor(valueType);
     }
 
-    private Stream(Class<T> valueType, StreamType type, Reader reader, String terminator) {
+    private Stream(Class<T> valueType, JsonParserFactory jsonParserFactory, Closeable resource) {
         this.valueType = valueType;
-        this.streamType = type;
-        if (type == StreamType.JSON) {
-            this.scanner = new Scanner(reader).useDelimiter(terminator);
-            this.messageTerminator = terminator;
-            this.streamTerminator = null;
-            this.sseReader = null;
-        } else {
-            this.scanner = null;
-            this.messageTerminator = NEWLINE;
-            this.streamTerminator = terminator;
-            this.sseReader = reader;
-        }
+        this.scanner = null;
+        this.jsonParserFactory = jsonParserFactory;
+        this.streamType = StreamType.JSON;
+        this.messageTerminator = NEWLINE;
+        this.streamTerminator = null;
+        this.eventTypes = null;
+        this.eventTypeBytes = null;
+        this.sseSource = null;
+        this.resource = resource;
+        this.valueReader = ObjectMappers.JSON_MAPPER.readerFor(valueType);
+    }
+
+    private Stream(
+            Class<T> valueType,
+            BufferedSource sseSource,
+            Closeable resource,
+            String streamTerminator,
+            Set<String> eventTypes) {
+        this.valueType = valueType;
+        this.scanner = null;
+        this.jsonParserFactory = null;
+        this.streamType = StreamType.SSE;
+        this.messageTerminator = NEWLINE;
+        this.streamTerminator = streamTerminator != null ? ByteString.encodeUtf8(streamTerminator.trim()) : null;
+        this.eventTypes = eventTypes;
+        this.eventTypeBytes =
+                eventTypes != null ? eventTypes.stream().map(ByteString::encodeUtf8).toArray(ByteString[]::new) : null;
+        this.sseSource = sseSource;
+        this.resource = resource;
+        this.valueReader = ObjectMappers.JSON_MAPPER.readerFor(valueType);
     }
 
     public static <T> Stream<T> fromJson(Class<T> valueType, Reader reader, String delimiter) {
@@ -79,23 +139,95 @@ public final class Stream<T> implements Iterable<T>, Closeable {
         return new Stream<>(valueType, reader, NEWLINE);
     }
 
+    /**
+     * Creates a newline-delimited JSON stream that parses the bytes of the response body directly. Closing the stream
+     * closes the response.
+     */
+    public static <T> Stream<T> fromJson(Class<T> valueType, Response response) {
+        return fromJson(valueType, response, null);
+    }
+
+    /**
+     * Creates a newline-delimited JSON stream that parses the bytes of the response body directly. Closing the stream
+     * cancels the call, releasing a reader that is blocked waiting for the next element, and closes the response.
+     */
+    public static <T> Stream<T> fromJson(Class<T> valueType, Response response, Call call) {
+        return new Stream<>(
+                valueType,
+                () -> ObjectMappers.JSON_MAPPER.getFactory().createParser(response.body().byteStream()),
+                responseCloser(response, call));
+    }
+
     public static <T> Stream<T> fromSse(Class<T> valueType, Reader sseReader) {
-        return new Stream<>(valueType, StreamType.SSE, sseReader, null);
+        return fromSse(valueType, sseReader, null);
     }
 
     public static <T> Stream<T> fromSse(Class<T> valueType, Reader sseReader, String streamTerminator) {
-        return new Stream<>(valueType, StreamType.SSE, sseReader, streamTerminator);
+        return fromSse(valueType, sseReader, streamTerminator, null);
+    }
+
+    /**
+     * Creates an SSE stream that only yields events whose type is in {@code eventTypes}. The type is taken from the
+     * {@code event:} field, or from the {@code type} property of the payload when the event has no such field.
+     * Other events are skipped without being deserialized. A null set yields every event.
+     */
+    public static <T> Stream<T> fromSse(
+            Class<T> valueType, Reader sseReader, String streamTerminator, Set<String> eventTypes) {
+        Source source = new ReaderSource(sseReader);
+        return new Stream<>(valueType, Okio.buffer(source), source, streamTerminator, eventTypes);
+    }
+
+    /**
+     * Creates an SSE stream that reads the bytes of the response body directly. Closing the stream closes the
+     * response.
+     */
+    public static <T> Stream<T> fromSse(Class<T> valueType, Response response) {
+        return fromSse(valueType, response, null, null);
+    }
+
+    /**
+     * Creates an SSE stream that reads the bytes of the response body directly. Closing the stream cancels the call,
+     * releasing a reader that is blocked waiting for the next event, and closes the response.
+     */
+    public static <T> Stream<T> fromSse(Class<T> valueType, Response response, Call call) {
+        return fromSse(valueType, response, call, null);
+    }
+
+    public static <T> Stream<T> fromSse(Class<T> valueType, Response response, Call call, String streamTerminator) {
+        return fromSse(valueType, response, call, streamTerminator, null);
+    }
+
+    /**
+     * Creates an SSE stream over the response body that only yields events whose type is in {@code eventTypes}, as
+     * described in {@link #fromSse(Class, Reader, String, Set)}.
+     */
+    public static <T> Stream<T> fromSse(
+            Class<T> valueType, Response response, Call call, String streamTerminator, Set<String> eventTypes) {
+        return new Stream<>(
+                valueType, response.body().source(), responseCloser(response, call), streamTerminator, eventTypes);
+    }
+
+    private static Closeable responseCloser(Response response, Call call) {
+        return () -> {
+            if (call != null) {
+                call.cancel(); // No-op once the body has been fully read
+            }
+            response.close();
+        };
     }
 
     @Override
     public void close() throws IOException {
         if (!isClosed) {
             isClosed = true;
+            if (jsonValues != null) {
+                jsonValues.close();
+            }
             if (scanner != null) {
                 scanner.close();
             }
-            if (sseReader != null) {
-                sseReader.close();
+            if (resource != null) {
+                resource.close();
             }
         }
     }
@@ -104,6 +236,16 @@ public final class Stream<T> implements Iterable<T>, Closeable {
         return isClosed;
     }
 
+    /**
+     * Creates the JSON parser on first use, since Jackson reads from the source while detecting its encoding.
+     */
+    private MappingIterator<T> jsonValues() throws IOException {
+        if (jsonValues == null) {
+            jsonValues = valueReader.readValues(jsonParserFactory.create());
+        }
+        return jsonValues;
+    }
+
     /**
      * Returns an iterator over the elements in this stream that blocks during iteration when the next object is
      * not yet available.
@@ -133,7 +275,14 @@ public final class Stream<T> implements Iterable<T>, Closeable {
             if (isStreamClosed()) {
                 return false;
             }
-            return scanner.hasNext();
+            if (scanner != null) {
+                return scanner.hasNext();
+            }
+            try {
+                return jsonValues().hasNextValue();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
         }
 
         /**
@@ -150,6 +299,17 @@ public final class Stream<T> implements Iterable<T>, Closeable {
                 throw new NoSuchElementException("Stream is closed");
             }
 
+            if (scanner == null) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return jsonValues().nextValue();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
             if (!scanner.hasNext()) {
                 throw new NoSuchElementException();
             } else {
@@ -170,17 +330,15 @@ public final class Stream<T> implements Iterable<T>, Closeable {
     }
 
     private final class SSEIterator implements Iterator<T> {
-        private Scanner sseScanner;
         private T nextItem;
         private boolean hasNextItem = false;
         private boolean endOfStream = false;
-        private StringBuilder eventDataBuffer = new StringBuilder();
-        private String currentEventType = null;
+        private byte[] eventData = new byte[INITIAL_EVENT_CAPACITY];
+        private int eventDataLength = 0;
+        private Boolean eventWanted = null;
 
         private SSEIterator() {
-            if (sseReader != null && !isStreamClosed()) {
-                this.sseScanner = new Scanner(sseReader);
-            } else {
+            if (sseSource == null || isStreamClosed()) {
                 this.endOfStream = true;
             }
         }
@@ -215,78 +373,75 @@ public final class Stream<T> implements Iterable<T>, Closeable {
             throw new UnsupportedOperationException();
         }
 
+        /**
+         * Reads lines straight from the source buffer until an event has been dispatched. Only the payload of
+         * {@code data:} lines is copied, into a reusable byte array that is handed to Jackson as is.
+         */
         private boolean readNextMessage() {
-            if (sseScanner == null || isStreamClosed()) {
+            if (sseSource == null || isStreamClosed()) {
                 endOfStream = true;
                 return false;
             }
 
             try {
-                while (sseScanner.hasNextLine()) {
-                    String line = sseScanner.nextLine();
-
-                    if (line.trim().isEmpty()) {
-                        if (eventDataBuffer.length() > 0) {
-                            try {
-                                nextItem = ObjectMappers.JSON_MAPPER.readValue(eventDataBuffer.toString(), valueType);
-                                hasNextItem = true;
-                                eventDataBuffer.setLength(0);
-                                currentEventType = null;
-                                return true;
-                            } catch (Exception parseEx) {
-                                System.err.println("Failed to parse SSE event: " + parseEx.getMessage());
-                                eventDataBuffer.setLength(0);
-                                currentEventType = null;
-                                continue;
-                            }
+                Buffer buffer = sseSource.getBuffer();
+                while (true) {
+                    long newline = sseSource.indexOf((byte) '\n');
+                    long lineLength = newline != -1 ? newline : buffer.size();
+                    if (newline == -1 && lineLength == 0) {
+                        break;
+                    }
+                    long consumed = newline != -1 ? lineLength + 1 : lineLength;
+                    if (lineLength > 0 && buffer.getByte(lineLength - 1) == '\r') {
+                        lineLength--;
+                    }
+
+                    if (isBlank(buffer, 0, lineLength)) {
+                        sseSource.skip(consumed);
+                        if (dispatchEvent("Failed to parse SSE event: ")) {
+                            return true;
                         }
                         continue;
                     }
 
-                    if (line.startsWith(DATA_PREFIX)) {
-                        String dataContent = line.substring(DATA_PREFIX.length());
-                        if (dataContent.startsWith(" ")) {
-                            dataContent = dataContent.substring(1);
+                    if (lineLength >= DATA_PREFIX.size() && buffer.rangeEquals(0, DATA_PREFIX)) {
+                        long dataStart = DATA_PREFIX.size();
+                        if (dataStart < lineLength && buffer.getByte(dataStart) == ' ') {
+                            dataStart++;
                         }
 
-                        if (eventDataBuffer.length() == 0
+                        if (eventDataLength == 0
                                 && streamTerminator != null
-                                && dataContent.trim().equals(streamTerminator)) {
+                                && isTerminator(buffer, dataStart, lineLength)) {
+                            sseSource.skip(consumed);
                             endOfStream = true;
                             return false;
                         }
 
-                        if (eventDataBuffer.length() > 0) {
-                            eventDataBuffer.append('\n');
+                        if (Boolean.FALSE.equals(eventWanted)) {
+                            sseSource.skip(consumed);
+                            continue;
                         }
-                        eventDataBuffer.append(dataContent);
-                    } else if (line.startsWith("event:")) {
-                        String eventValue = line.length() > 6 ? line.substring(6) : "";
-                        if (eventValue.startsWith(" ")) {
-                            eventValue = eventValue.substring(1);
+                        sseSource.skip(dataStart);
+                        appendData(buffer, (int) (lineLength - dataStart));
+                        sseSource.skip(consumed - lineLength);
+                    } else if (eventTypes != null
+                            && lineLength >= EVENT_PREFIX.size()
+                            && buffer.rangeEquals(0, EVENT_PREFIX)) {
+                        long nameStart = EVENT_PREFIX.size();
+                        if (nameStart < lineLength && buffer.getByte(nameStart) == ' ') {
+                            nameStart++;
                         }
-                        currentEventType = eventValue;
-                    } else if (line.startsWith("id:")) {
-                        // Event ID field (ignored)
-                    } else if (line.startsWith("retry:")) {
-                        // Retry field (ignored)
-                    } else if (line.startsWith(":")) {
-                        // Comment line (ignored)
+                        eventWanted = isWantedEventType(buffer, nameStart, lineLength);
+                        sseSource.skip(consumed);
+                    } else {
+                        // id:, retry: and comment lines are ignored
+                        sseSource.skip(consumed);
                     }
                 }
 
-                if (eventDataBuffer.length() > 0) {
-                    try {
-                        nextItem = ObjectMappers.JSON_MAPPER.readValue(eventDataBuffer.toString(), valueType);
-                        hasNextItem = true;
-                        eventDataBuffer.setLength(0);
-                        currentEventType = null;
-                        return true;
-                    } catch (Exception parseEx) {
-                        System.err.println("Failed to parse final SSE event: " + parseEx.getMessage());
-                        eventDataBuffer.setLength(0);
-                        currentEventType = null;
-                    }
+                if (dispatchEvent("Failed to parse final SSE event: ")) {
+                    return true;
                 }
 
                 endOfStream = true;
@@ -298,5 +453,161 @@ public final class Stream<T> implements Iterable<T>, Closeable {
                 return false;
             }
         }
+
+        /**
+         * Parses the pending event unless it is empty or filtered out, and resets the per-event state.
+         */
+        private boolean dispatchEvent(String errorMessage) {
+            Boolean wanted = eventWanted;
+            eventWanted = null;
+            try {
+                if (eventDataLength == 0) {
+                    return false;
+                }
+                if (eventTypes != null && !(wanted != null ? wanted : hasWantedTypeProperty())) {
+                    return false;
+                }
+                nextItem = valueReader.readValue(eventData, 0, eventDataLength);
+                hasNextItem = true;
+                return true;
+            } catch (Exception parseEx) {
+                System.err.println(errorMessage + parseEx.getMessage());
+                return false;
+            } finally {
+                eventDataLength = 0;
+            }
+        }
+
+        /**
+         * Moves {@code length} bytes from the head of the buffer to the end of the pending event data, joining
+         * multiple data lines with a newline.
+         */
+        private void appendData(Buffer buffer, int length) {
+            int separator = eventDataLength > 0 ? 1 : 0;
+            int required = eventDataLength + separator + length;
+            if (required > eventData.length) {
+                eventData = Arrays.copyOf(eventData, Math.max(required, eventData.length * 2));
+            }
+            if (separator > 0) {
+                eventData[eventDataLength++] = '\n';
+            }
+            while (length > 0) {
+                int read = buffer.read(eventData, eventDataLength, length);
+                eventDataLength += read;
+                length -= read;
+            }
+        }
+
+        private boolean isWantedEventType(Buffer buffer, long start, long end) {
+            while (end > start && isWhitespace(buffer.getByte(end - 1))) {
+                end--;
+            }
+            for (ByteString eventType : eventTypeBytes) {
+                if (end - start == eventType.size() && buffer.rangeEquals(start, eventType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Tokenizes the top level of the pending payload, skipping nested values, until the {@code type} property is
+         * found. No objects are built for the skipped properties.
+         */
+        private boolean hasWantedTypeProperty() throws IOException {
+            try (JsonParser parser =
+                    ObjectMappers.JSON_MAPPER.getFactory().createParser(eventData, 0, eventDataLength)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return false;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (TYPE_FIELD.equals(fieldName)) {
+                        return value == JsonToken.VALUE_STRING && eventTypes.contains(parser.getText());
+                    }
+                    parser.skipChildren();
+                }
+                return false;
+            }
+        }
+
+        private boolean isTerminator(Buffer buffer, long start, long end) {
+            while (start < end && isWhitespace(buffer.getByte(start))) {
+                start++;
+            }
+            while (end > start && isWhitespace(buffer.getByte(end - 1))) {
+                end--;
+            }
+            return end - start == streamTerminator.size() && buffer.rangeEquals(start, streamTerminator);
+        }
+
+        private boolean isBlank(Buffer buffer, long start, long end) {
+            for (long i = start; i < end; i++) {
+                if (!isWhitespace(buffer.getByte(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isWhitespace(byte b) {
+            return b >= 0 && b <= ' ';
+        }
+    }
+
+    /**
+     * Adapts a {@link Reader} to an okio {@link Source} by encoding its characters as UTF-8, so that SSE streams
+     * built from a {@link Reader} share the byte-level parser.
+     */
+    private static final class ReaderSource implements Source {
+        private final Reader reader;
+        private final char[] chars = new char[8192];
+        private final Buffer encoded = new Buffer();
+        private int pendingChars = 0;
+
+        private ReaderSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            while (encoded.size() == 0) {
+                int read = reader.read(chars, pendingChars, chars.length - pendingChars);
+                if (read == -1) {
+                    if (pendingChars == 0) {
+                        return -1;
+                    }
+                    encoded.writeUtf8CodePoint(chars[0]);
+                    pendingChars = 0;
+                    break;
+                }
+                int end = pendingChars + read;
+                // Hold back a trailing high surrogate until its low surrogate has been read
+                pendingChars = Character.isHighSurrogate(chars[end - 1]) ? 1 : 0;
+                encoded.writeUtf8(new String(chars, 0, end - pendingChars));
+                if (pendingChars > 0) {
+                    chars[0] = chars[end - 1];
+                }
+            }
+            long count = Math.min(byteCount, encoded.size());
+            sink.write(encoded, count);
+            return count;
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonParserFactory {
+        JsonParser create() throws IOException;
     }
 }
@@ -0,0 +1,219 @@
+package com.cohere.api.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the elements of an asynchronously opened {@link Stream} to a {@link StreamSubscriber} with demand-based
+ * backpressure.
+ * <p>
+ * Elements are read by a drain task on the given executor only while the subscriber has outstanding demand. Once the
+ * demand is used up the task returns its thread to the executor, leaving unread events in the socket buffers until
+ * more are requested, so streams that are waiting on their consumer hold no thread at all. OkHttp only offers
+ * blocking reads on a response body, so a stream does occupy a thread while it waits for the next event with demand
+ * outstanding.
+ *
+ * @param <T> The type of the stream elements.
+ */
+public final class StreamPublisher<T> implements StreamSubscription {
+    private final CompletableFuture<? extends Iterable<T>> source;
+
+    private final Executor executor;
+
+    private final StreamSubscriber<? super T> subscriber;
+
+    private final AtomicLong demand = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Iterable<T> stream;
+
+    private volatile Throwable error;
+
+    private volatile boolean canceled = false;
+
+    private Iterator<T> iterator;
+
+    private boolean done = false;
+
+    private StreamPublisher(
+            CompletableFuture<? extends Iterable<T>> source,
+            Executor executor,
+            StreamSubscriber<? super T> subscriber) {
+        this.source = source;
+        this.executor = executor;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Subscribes to the stream produced by {@code source}, draining it on a shared pool of daemon threads that is
+     * reserved for stream reads, so blocked reads never starve the callback executor or the OkHttp dispatcher. The
+     * pool is bounded at four threads per processor (at least 16); when every thread is blocked on a stream with
+     * outstanding demand, other streams wait for one of them to meet its demand or end. Use
+     * {@link #subscribe(CompletableFuture, Executor, StreamSubscriber)} to size the reader threads yourself.
+     */
+    public static <T> void subscribe(
+            CompletableFuture<? extends Iterable<T>> source, StreamSubscriber<? super T> subscriber) {
+        subscribe(source, Readers.INSTANCE, subscriber);
+    }
+
+    /**
+     * Subscribes to the stream produced by {@code source}, draining it on {@code executor}. Cancelling the
+     * subscription before the response has arrived cancels {@code source}.
+     */
+    public static <T> void subscribe(
+            CompletableFuture<? extends Iterable<T>> source,
+            Executor executor,
+            StreamSubscriber<? super T> subscriber) {
+        StreamPublisher<T> publisher = new StreamPublisher<>(source, executor, subscriber);
+        subscriber.onSubscribe(publisher);
+        source.whenComplete((iterable, throwable) -> {
+            if (throwable != null) {
+                publisher.fail(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            } else {
+                publisher.stream = iterable;
+                if (publisher.canceled) {
+                    publisher.closeStream();
+                }
+                publisher.schedule();
+            }
+        });
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested " + n + " elements, must be positive"));
+            return;
+        }
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        source.cancel(false);
+        closeStream();
+    }
+
+    private void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            canceled = true;
+            source.cancel(false);
+            closeStream();
+            subscriber.onError(e);
+        }
+    }
+
+    /**
+     * Delivers as many elements as have been requested. Only one drain runs at a time; signals that arrive while it
+     * runs are picked up by another pass rather than by a concurrent task.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            if (done) {
+                return;
+            }
+            if (canceled) {
+                done = true;
+                closeStream();
+                return;
+            }
+            if (error != null) {
+                done = true;
+                source.cancel(false);
+                closeStream();
+                subscriber.onError(error);
+                return;
+            }
+            Iterable<T> currentStream = stream;
+            if (currentStream != null) {
+                try {
+                    if (iterator == null) {
+                        iterator = currentStream.iterator();
+                    }
+                    while (demand.get() > 0 && !canceled && error == null) {
+                        if (!iterator.hasNext()) {
+                            done = true;
+                            closeStream();
+                            if (!canceled) {
+                                subscriber.onComplete();
+                            }
+                            return;
+                        }
+                        T item = iterator.next();
+                        demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                        subscriber.onNext(item);
+                    }
+                } catch (RuntimeException e) {
+                    done = true;
+                    closeStream();
+                    if (!canceled) {
+                        subscriber.onError(e);
+                    }
+                    return;
+                }
+                if (canceled || error != null) {
+                    // Let the next pass deliver the terminal signal
+                    continue;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void closeStream() {
+        Iterable<T> currentStream = stream;
+        if (currentStream instanceof Closeable) {
+            try {
+                ((Closeable) currentStream).close();
+            } catch (IOException e) {
+                // The stream is being abandoned, so there is nobody left to report this to
+            }
+        }
+    }
+
+    private static final class Readers {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        private static final int SIZE = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+        private static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    SIZE, SIZE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "Cohere Stream Reader " + COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
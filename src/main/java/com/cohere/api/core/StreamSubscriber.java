@@ -0,0 +1,27 @@
+package com.cohere.api.core;
+
+/**
+ * Receives the elements of a stream as they are pushed by a {@link StreamPublisher}.
+ * <p>
+ * This mirrors {@code java.util.concurrent.Flow.Subscriber}, which is not available on Java 8. Signals are never
+ * delivered concurrently. No element is delivered until it has been requested through the {@link StreamSubscription}
+ * passed to {@link #onSubscribe(StreamSubscription)}, and at most one of {@link #onError(Throwable)} and
+ * {@link #onComplete()} is called, after which no further signals follow.
+ *
+ * @param <T> The type of the stream elements.
+ */
+public interface StreamSubscriber<T> {
+    /**
+     * Called once, before any other signal, with the subscription used to request elements or cancel the stream.
+     */
+    void onSubscribe(StreamSubscription subscription);
+
+    void onNext(T item);
+
+    /**
+     * Called when the request fails, the server returns an error or the stream cannot be read.
+     */
+    void onError(Throwable throwable);
+
+    void onComplete();
+}
@@ -0,0 +1,16 @@
+package com.cohere.api.core;
+
+/**
+ * Controls the flow of elements from a {@link StreamPublisher} to its {@link StreamSubscriber}.
+ */
+public interface StreamSubscription {
+    /**
+     * Adds {@code n} elements to the outstanding demand. {@link Long#MAX_VALUE} requests an unbounded stream.
+     */
+    void request(long n);
+
+    /**
+     * Stops the stream and cancels the underlying HTTP call. Signals already in flight may still be delivered.
+     */
+    void cancel();
+}
@@ -0,0 +1,113 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.types.ByteEmbeddings;
+import com.cohere.api.types.EmbedByTypeResponseEmbeddings;
+import com.cohere.api.types.EmbeddingType;
+import com.cohere.api.types.FloatEmbeddings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The chunks of a bulk embed in input order, with the embeddings of all inputs packed into single matrices.
+ * <p>
+ * The packed accessors require every chunk to have succeeded; check {@link #getFailedChunks()} first to handle
+ * partial failures chunk by chunk.
+ */
+public final class BulkEmbedResult {
+    private final List<EmbedChunk> chunks;
+
+    BulkEmbedResult(List<EmbedChunk> chunks) {
+        this.chunks = Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * @return Every chunk, ordered by {@link EmbedChunk#getIndex()}.
+     */
+    public List<EmbedChunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return The chunks whose call failed, in input order.
+     */
+    public List<EmbedChunk> getFailedChunks() {
+        List<EmbedChunk> failed = new ArrayList<>();
+        for (EmbedChunk chunk : chunks) {
+            if (!chunk.isSuccessful()) {
+                failed.add(chunk);
+            }
+        }
+        return failed;
+    }
+
+    public boolean isSuccessful() {
+        return getFailedChunks().isEmpty();
+    }
+
+    /**
+     * @return The total number of inputs.
+     */
+    public int size() {
+        int size = 0;
+        for (EmbedChunk chunk : chunks) {
+            size += chunk.getSize();
+        }
+        return size;
+    }
+
+    /**
+     * @return The {@code float} embeddings of all inputs, in input order, in one contiguous array.
+     * @throws IllegalStateException if a chunk failed or did not return {@code float} embeddings
+     */
+    public FloatEmbeddings getFloatEmbeddings() {
+        return EmbedResponses.packFloats(parts(EmbeddingType.FLOAT, EmbedByTypeResponseEmbeddings::getFloatEmbeddings));
+    }
+
+    /**
+     * @param type One of {@code int8}, {@code uint8}, {@code binary} or {@code ubinary}
+     * @return The quantized embeddings of all inputs, in input order, in one contiguous array.
+     * @throws IllegalStateException if a chunk failed or did not return embeddings of this type
+     */
+    public ByteEmbeddings getByteEmbeddings(EmbeddingType type) {
+        boolean signed = type.equals(EmbeddingType.INT_8) || type.equals(EmbeddingType.BINARY);
+        return EmbedResponses.packBytes(parts(type, embeddings -> byteEmbeddings(embeddings, type)), signed);
+    }
+
+    private <T extends List<?>> List<T> parts(
+            EmbeddingType type, Function<EmbedByTypeResponseEmbeddings, Optional<T>> accessor) {
+        List<T> parts = new ArrayList<>(chunks.size());
+        for (EmbedChunk chunk : chunks) {
+            if (!chunk.isSuccessful()) {
+                throw new IllegalStateException("Chunk " + chunk.getIndex() + " failed", chunk.getError().get());
+            }
+            T part = accessor.apply(chunk.getResponse().get().getEmbeddings())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Chunk " + chunk.getIndex() + " has no " + type + " embeddings"));
+            if (part.size() != chunk.getSize()) {
+                throw new IllegalStateException("Chunk " + chunk.getIndex() + " has " + part.size()
+                        + " embeddings for " + chunk.getSize() + " inputs");
+            }
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    private static Optional<ByteEmbeddings> byteEmbeddings(
+            EmbedByTypeResponseEmbeddings embeddings, EmbeddingType type) {
+        switch (type.getEnumValue()) {
+            case INT_8:
+                return embeddings.getInt8Embeddings();
+            case UINT_8:
+                return embeddings.getUint8Embeddings();
+            case BINARY:
+                return embeddings.getBinaryEmbeddings();
+            case UBINARY:
+                return embeddings.getUbinaryEmbeddings();
+            default:
+                throw new IllegalArgumentException(type + " embeddings are not quantized");
+        }
+    }
+}
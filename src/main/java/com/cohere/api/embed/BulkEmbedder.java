@@ -0,0 +1,352 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInput;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Embeds input lists of any size by splitting them into API-sized chunks and running the chunks concurrently.
+ * <p>
+ * The input is read lazily, one chunk ahead of the calls in flight, so it can be a {@link Stream} or any
+ * {@link Iterable} too large to hold in memory as requests. At most {@link Builder#concurrency(int)} calls run at
+ * once. Each chunk is reported to the optional listener as soon as its call completes, successfully or not, and the
+ * returned {@link BulkEmbedResult} holds every chunk in input order. A failed chunk does not stop the others.
+ * <p>
+ * Cancelling the returned future stops launching chunks and cancels the calls in flight.
+ */
+public final class BulkEmbedder {
+    private final AsyncV2Client client;
+
+    private final RequestOptions requestOptions;
+
+    private final int chunkSize;
+
+    private final int concurrency;
+
+    private final TokenBudget tokenBudget;
+
+    private BulkEmbedder(
+            AsyncV2Client client,
+            RequestOptions requestOptions,
+            int chunkSize,
+            int concurrency,
+            TokenBudget tokenBudget) {
+        this.client = client;
+        this.requestOptions = requestOptions;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * Embeds {@code texts} with the options of {@code template}, whose own texts, images and inputs are ignored.
+     */
+    public CompletableFuture<BulkEmbedResult> embedTexts(V2EmbedRequest template, Iterable<String> texts) {
+        return embedTexts(template, texts, null);
+    }
+
+    /**
+     * Embeds {@code texts} like {@link #embedTexts(V2EmbedRequest, Iterable)}, passing each chunk to
+     * {@code listener} as soon as it completes.
+     */
+    public CompletableFuture<BulkEmbedResult> embedTexts(
+            V2EmbedRequest template, Iterable<String> texts, Consumer<EmbedChunk> listener) {
+        return new Run<>(template, texts.iterator(), chunk -> request(template, chunk, null), listener).start();
+    }
+
+    /**
+     * Embeds {@code texts} like {@link #embedTexts(V2EmbedRequest, Iterable, Consumer)}, consuming the stream lazily.
+     */
+    public CompletableFuture<BulkEmbedResult> embedTexts(
+            V2EmbedRequest template, Stream<String> texts, Consumer<EmbedChunk> listener) {
+        return new Run<>(template, texts.iterator(), chunk -> request(template, chunk, null), listener).start();
+    }
+
+    /**
+     * Embeds {@code inputs} with the options of {@code template}, whose own texts, images and inputs are ignored.
+     */
+    public CompletableFuture<BulkEmbedResult> embedInputs(V2EmbedRequest template, Iterable<EmbedInput> inputs) {
+        return embedInputs(template, inputs, null);
+    }
+
+    /**
+     * Embeds {@code inputs} like {@link #embedInputs(V2EmbedRequest, Iterable)}, passing each chunk to
+     * {@code listener} as soon as it completes.
+     */
+    public CompletableFuture<BulkEmbedResult> embedInputs(
+            V2EmbedRequest template, Iterable<EmbedInput> inputs, Consumer<EmbedChunk> listener) {
+        return new Run<>(template, inputs.iterator(), chunk -> request(template, null, chunk), listener).start();
+    }
+
+    /**
+     * Embeds {@code inputs} like {@link #embedInputs(V2EmbedRequest, Iterable, Consumer)}, consuming the stream
+     * lazily.
+     */
+    public CompletableFuture<BulkEmbedResult> embedInputs(
+            V2EmbedRequest template, Stream<EmbedInput> inputs, Consumer<EmbedChunk> listener) {
+        return new Run<>(template, inputs.iterator(), chunk -> request(template, null, chunk), listener).start();
+    }
+
+    private static V2EmbedRequest request(V2EmbedRequest template, List<String> texts, List<EmbedInput> inputs) {
+        return V2EmbedRequest.builder()
+                .from(template)
+                .texts(Optional.ofNullable(texts))
+                .images(Optional.empty())
+                .inputs(Optional.ofNullable(inputs))
+                .build();
+    }
+
+    public static Builder builder(AsyncV2Client client) {
+        return new Builder(client);
+    }
+
+    /**
+     * The state of one bulk embed. Chunks are read from the source and launched under the lock; calls are made and
+     * listeners run outside it.
+     */
+    private final class Run<T> {
+        private final V2EmbedRequest template;
+
+        private final Iterator<T> source;
+
+        private final Function<List<T>, V2EmbedRequest> toRequest;
+
+        private final Consumer<EmbedChunk> listener;
+
+        private final CompletableFuture<BulkEmbedResult> result = new CompletableFuture<>();
+
+        private final List<EmbedChunk> chunks = new ArrayList<>();
+
+        private final List<CompletableFuture<EmbedByTypeResponse>> calls = new ArrayList<>();
+
+        private T lookahead = null;
+
+        private int offset = 0;
+
+        private int inFlight = 0;
+
+        private boolean launching = false;
+
+        private boolean relaunch = false;
+
+        private Run(
+                V2EmbedRequest template,
+                Iterator<T> source,
+                Function<List<T>, V2EmbedRequest> toRequest,
+                Consumer<EmbedChunk> listener) {
+            this.template = template;
+            this.source = source;
+            this.toRequest = toRequest;
+            this.listener = listener;
+        }
+
+        private CompletableFuture<BulkEmbedResult> start() {
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    cancelCalls();
+                }
+            });
+            launch();
+            return result;
+        }
+
+        /**
+         * Launches chunks until the concurrency limit is reached or the source is exhausted, and completes the
+         * result once the last chunk has finished.
+         * <p>
+         * A call can complete before {@code send} returns, for example when it is served from a response cache, and
+         * its completion launches again. Such nested launches only flag the launch loop already running on the stack
+         * to go round once more, so the stack stays flat however many chunks complete inline.
+         */
+        private void launch() {
+            synchronized (this) {
+                if (launching) {
+                    relaunch = true;
+                    return;
+                }
+                launching = true;
+            }
+            while (true) {
+                launchOnce().forEach(Runnable::run);
+                synchronized (this) {
+                    if (!relaunch) {
+                        launching = false;
+                        return;
+                    }
+                    relaunch = false;
+                }
+            }
+        }
+
+        private synchronized List<Runnable> launchOnce() {
+            List<Runnable> launches = new ArrayList<>();
+            try {
+                while (!result.isDone() && inFlight < concurrency && hasNext()) {
+                    List<T> chunk = nextChunk();
+                    int index = chunks.size();
+                    int chunkOffset = offset;
+                    chunks.add(null);
+                    offset += chunk.size();
+                    inFlight++;
+                    launches.add(() -> send(index, chunkOffset, chunk));
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return launches;
+            }
+            if (inFlight == 0 && launches.isEmpty()) {
+                result.complete(new BulkEmbedResult(new ArrayList<>(chunks)));
+            }
+            return launches;
+        }
+
+        private boolean hasNext() {
+            return lookahead != null || source.hasNext();
+        }
+
+        /**
+         * Reads inputs until the chunk is full or, with a token budget, until the next input would exceed it. That
+         * input is held back for the next chunk. An input over the budget on its own still gets a chunk.
+         */
+        private List<T> nextChunk() {
+            List<T> chunk = new ArrayList<>();
+            int tokens = 0;
+            while (chunk.size() < chunkSize && hasNext()) {
+                T input = lookahead != null ? lookahead : source.next();
+                lookahead = null;
+                if (tokenBudget != null) {
+                    int cost = tokenBudget.cost(input, template);
+                    if (!chunk.isEmpty() && tokens + cost > tokenBudget.maxTokensPerCall()) {
+                        lookahead = input;
+                        break;
+                    }
+                    tokens += cost;
+                }
+                chunk.add(input);
+            }
+            return chunk;
+        }
+
+        private void send(int index, int chunkOffset, List<T> chunk) {
+            CompletableFuture<EmbedByTypeResponse> call = call(chunk);
+            synchronized (this) {
+                calls.add(call);
+            }
+            call.whenComplete((response, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                finish(new EmbedChunk(index, chunkOffset, chunk.size(), response, cause), call);
+            });
+        }
+
+        private CompletableFuture<EmbedByTypeResponse> call(List<T> chunk) {
+            try {
+                return client.embed(toRequest.apply(chunk), requestOptions);
+            } catch (RuntimeException e) {
+                CompletableFuture<EmbedByTypeResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+
+        private void finish(EmbedChunk chunk, CompletableFuture<EmbedByTypeResponse> call) {
+            synchronized (this) {
+                chunks.set(chunk.getIndex(), chunk);
+                calls.remove(call);
+                inFlight--;
+            }
+            if (listener != null) {
+                try {
+                    listener.accept(chunk);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+            launch();
+        }
+
+        private void cancelCalls() {
+            List<CompletableFuture<EmbedByTypeResponse>> inFlightCalls;
+            synchronized (this) {
+                inFlightCalls = new ArrayList<>(calls);
+            }
+            inFlightCalls.forEach(call -> call.cancel(false));
+        }
+    }
+
+    public static final class Builder {
+        private final AsyncV2Client client;
+
+        private RequestOptions requestOptions = null;
+
+        private int chunkSize = EmbedBatcher.MAX_TEXTS_PER_CALL;
+
+        private int concurrency = 4;
+
+        private TokenBudget tokenBudget = null;
+
+        private Builder(AsyncV2Client client) {
+            this.client = client;
+        }
+
+        /**
+         * Sets the request options used for every chunk.
+         */
+        public Builder requestOptions(RequestOptions requestOptions) {
+            this.requestOptions = requestOptions;
+            return this;
+        }
+
+        /**
+         * Sets the number of inputs per call. Defaults to {@link EmbedBatcher#MAX_TEXTS_PER_CALL}.
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize < 1 || chunkSize > EmbedBatcher.MAX_TEXTS_PER_CALL) {
+                throw new IllegalArgumentException(
+                        "chunkSize must be between 1 and " + EmbedBatcher.MAX_TEXTS_PER_CALL);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of calls in flight. Defaults to 4.
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be at least 1");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Also closes a chunk before its estimated tokens would exceed {@code maxTokensPerCall}, so that each call
+         * carries a full payload whatever the input lengths. Inputs are capped at the request's {@code maxTokens}
+         * unless truncation is disabled. The chunk size limit still applies.
+         */
+        public Builder tokenBudget(TokenEstimator estimator, int maxTokensPerCall) {
+            if (maxTokensPerCall < 1) {
+                throw new IllegalArgumentException("maxTokensPerCall must be at least 1");
+            }
+            this.tokenBudget = new TokenBudget(estimator, maxTokensPerCall);
+            return this;
+        }
+
+        public BulkEmbedder build() {
+            return new BulkEmbedder(client, requestOptions, chunkSize, concurrency, tokenBudget);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.core.SharedTimer;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.V2Client;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent embed calls into bulk {@code v2/embed} requests.
+ * <p>
+ * Requests that agree on everything but their texts (model, input type, embedding types, output dimension and the
+ * remaining options) are gathered into one batch. A batch is sent once it holds {@link Builder#maxBatchSize(int)}
+ * texts or once its first request has waited {@link Builder#maxLinger(Duration)}, whichever comes first. Each
+ * caller's future then completes with its own slice of the batch response, holding the embeddings of its texts in
+ * order. Requests with images or {@code inputs}, or with more texts than fit in a batch, are sent on their own.
+ * <p>
+ * With {@link Builder#tokenBudget(TokenEstimator, int)}, a batch is also sent before the estimated tokens of its texts
+ * would exceed the budget, so that batches of long texts stay within limits and batches of short ones fill up.
+ * <p>
+ * If a batch call fails, every request in the batch fails with the same error.
+ */
+public final class EmbedBatcher implements AutoCloseable {
+    /**
+     * The maximum number of texts the API accepts in one embed call.
+     */
+    public static final int MAX_TEXTS_PER_CALL = 96;
+
+    private final Function<V2EmbedRequest, CompletableFuture<EmbedByTypeResponse>> embed;
+
+    private final int maxBatchSize;
+
+    private final long maxLingerNanos;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final TokenBudget tokenBudget;
+
+    private final Map<V2EmbedRequest, Batch> pending = new HashMap<>();
+
+    private boolean closed = false;
+
+    private EmbedBatcher(
+            Function<V2EmbedRequest, CompletableFuture<EmbedByTypeResponse>> embed,
+            int maxBatchSize,
+            long maxLingerNanos,
+            ScheduledExecutorService scheduler,
+            TokenBudget tokenBudget) {
+        this.embed = embed;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLingerNanos;
+        this.scheduler = scheduler;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * Queues the texts of {@code request} for the next batch with the same options.
+     *
+     * @return A future completed with the embeddings of this request's texts.
+     * @throws IllegalStateException if the batcher has been closed
+     */
+    public CompletableFuture<EmbedByTypeResponse> embed(V2EmbedRequest request) {
+        List<String> texts = request.getTexts().orElse(null);
+        int tokens = texts != null ? estimateTokens(texts, request) : 0;
+        if (texts == null
+                || texts.isEmpty()
+                || texts.size() > maxBatchSize
+                || tokens > maxTokensPerCall()
+                || request.getImages().isPresent()
+                || request.getInputs().isPresent()) {
+            checkOpen();
+            return embed.apply(request);
+        }
+        V2EmbedRequest key = V2EmbedRequest.builder()
+                .from(request)
+                .texts(Optional.empty())
+                .build();
+        CompletableFuture<EmbedByTypeResponse> future = new CompletableFuture<>();
+        List<Batch> ready = new ArrayList<>(2);
+        synchronized (this) {
+            checkOpen();
+            Batch batch = pending.get(key);
+            if (batch != null
+                    && (batch.texts.size() + texts.size() > maxBatchSize
+                            || batch.tokens + tokens > maxTokensPerCall())) {
+                pending.remove(key);
+                ready.add(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key);
+                pending.put(key, batch);
+                Batch scheduled = batch;
+                batch.linger = scheduler.schedule(() -> flush(scheduled), maxLingerNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.add(texts, tokens, future);
+            if (batch.texts.size() == maxBatchSize || batch.tokens == maxTokensPerCall()) {
+                pending.remove(key);
+                ready.add(batch);
+            }
+        }
+        ready.forEach(this::send);
+        return future;
+    }
+
+    /**
+     * Sends every pending batch now, without waiting for it to fill up or for its linger time to pass.
+     */
+    public void flush() {
+        List<Batch> ready;
+        synchronized (this) {
+            ready = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        ready.forEach(this::send);
+    }
+
+    /**
+     * Sends every pending batch and rejects further requests. The futures of pending requests still complete.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (!pending.remove(batch.key, batch)) {
+                // Already sent because it filled up or was flushed
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        if (batch.linger != null) {
+            batch.linger.cancel(false);
+        }
+        CompletableFuture<EmbedByTypeResponse> response;
+        try {
+            response = embed.apply(V2EmbedRequest.builder()
+                    .from(batch.key)
+                    .texts(batch.texts)
+                    .build());
+        } catch (RuntimeException e) {
+            batch.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                batch.completeExceptionally(error);
+            } else {
+                batch.complete(result);
+            }
+        });
+    }
+
+    private int estimateTokens(List<String> texts, V2EmbedRequest request) {
+        if (tokenBudget == null) {
+            return 0;
+        }
+        int tokens = 0;
+        for (String text : texts) {
+            tokens += tokenBudget.cost(text, request);
+        }
+        return tokens;
+    }
+
+    private int maxTokensPerCall() {
+        return tokenBudget != null ? tokenBudget.maxTokensPerCall() : Integer.MAX_VALUE;
+    }
+
+    private void checkOpen() {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("EmbedBatcher is closed");
+            }
+        }
+    }
+
+    /**
+     * Returns a builder for a batcher that sends its batches through {@code client}.
+     */
+    public static Builder builder(AsyncV2Client client) {
+        return new Builder(client, null, null);
+    }
+
+    /**
+     * Returns a builder for a batcher that sends its batches through the blocking {@code client}, with each call
+     * running on {@code executor}.
+     */
+    public static Builder builder(V2Client client, Executor executor) {
+        return new Builder(null, client, executor);
+    }
+
+    /**
+     * The texts of one pending batch and the requests they came from.
+     */
+    private static final class Batch {
+        private final V2EmbedRequest key;
+
+        private final List<String> texts = new ArrayList<>();
+
+        private final List<CompletableFuture<EmbedByTypeResponse>> futures = new ArrayList<>();
+
+        private final List<Integer> offsets = new ArrayList<>();
+
+        private int tokens = 0;
+
+        private ScheduledFuture<?> linger;
+
+        private Batch(V2EmbedRequest key) {
+            this.key = key;
+        }
+
+        private void add(List<String> requestTexts, int requestTokens, CompletableFuture<EmbedByTypeResponse> future) {
+            offsets.add(texts.size());
+            futures.add(future);
+            texts.addAll(requestTexts);
+            tokens += requestTokens;
+        }
+
+        private void complete(EmbedByTypeResponse response) {
+            for (int i = 0; i < futures.size(); i++) {
+                int end = i + 1 < offsets.size() ? offsets.get(i + 1) : texts.size();
+                try {
+                    futures.get(i).complete(EmbedResponses.slice(response, offsets.get(i), end));
+                } catch (RuntimeException e) {
+                    futures.get(i).completeExceptionally(e);
+                }
+            }
+        }
+
+        private void completeExceptionally(Throwable error) {
+            for (CompletableFuture<EmbedByTypeResponse> future : futures) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final AsyncV2Client asyncClient;
+
+        private final V2Client client;
+
+        private final Executor executor;
+
+        private RequestOptions requestOptions = null;
+
+        private int maxBatchSize = MAX_TEXTS_PER_CALL;
+
+        private Duration maxLinger = Duration.ofMillis(10);
+
+        private ScheduledExecutorService scheduler = null;
+
+        private TokenBudget tokenBudget = null;
+
+        private Builder(AsyncV2Client asyncClient, V2Client client, Executor executor) {
+            this.asyncClient = asyncClient;
+            this.client = client;
+            this.executor = executor;
+        }
+
+        /**
+         * Sets the request options used for every batch call.
+         */
+        public Builder requestOptions(RequestOptions requestOptions) {
+            this.requestOptions = requestOptions;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of texts in one batch. Defaults to {@link #MAX_TEXTS_PER_CALL}.
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1 || maxBatchSize > MAX_TEXTS_PER_CALL) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_TEXTS_PER_CALL);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long the first request of a batch waits for others to join it. Defaults to 10 milliseconds.
+         */
+        public Builder maxLinger(Duration maxLinger) {
+            if (maxLinger.isNegative()) {
+                throw new IllegalArgumentException("maxLinger must not be negative");
+            }
+            this.maxLinger = maxLinger;
+            return this;
+        }
+
+        /**
+         * Sets the executor that sends batches whose linger time has passed. Defaults to the {@link SharedTimer}.
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Also sends a batch before the estimated tokens of its texts would exceed {@code maxTokensPerCall}. Texts are
+         * capped at the request's {@code maxTokens} unless truncation is disabled. Requests over the budget on their
+         * own are sent alone.
+         */
+        public Builder tokenBudget(TokenEstimator estimator, int maxTokensPerCall) {
+            if (maxTokensPerCall < 1) {
+                throw new IllegalArgumentException("maxTokensPerCall must be at least 1");
+            }
+            this.tokenBudget = new TokenBudget(estimator, maxTokensPerCall);
+            return this;
+        }
+
+        public EmbedBatcher build() {
+            RequestOptions options = requestOptions;
+            Function<V2EmbedRequest, CompletableFuture<EmbedByTypeResponse>> embed = asyncClient != null
+                    ? request -> asyncClient.embed(request, options)
+                    : request -> CompletableFuture.supplyAsync(() -> client.embed(request, options), executor);
+            return new EmbedBatcher(
+                    embed,
+                    maxBatchSize,
+                    maxLinger.toNanos(),
+                    scheduler != null ? scheduler : SharedTimer.get(),
+                    tokenBudget);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.types.EmbedByTypeResponse;
+import java.util.Optional;
+
+/**
+ * The outcome of one chunk of a bulk embed: the inputs at {@link #getOffset()} to
+ * {@code getOffset() + getSize()} of the bulk input, and either their embeddings or the error of the call.
+ */
+public final class EmbedChunk {
+    private final int index;
+
+    private final int offset;
+
+    private final int size;
+
+    private final EmbedByTypeResponse response;
+
+    private final Throwable error;
+
+    EmbedChunk(int index, int offset, int size, EmbedByTypeResponse response, Throwable error) {
+        this.index = index;
+        this.offset = offset;
+        this.size = size;
+        this.response = response;
+        this.error = error;
+    }
+
+    /**
+     * @return The position of this chunk among the chunks of the bulk input.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The position of the first input of this chunk in the bulk input.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The number of inputs in this chunk.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * @return The embeddings of this chunk's inputs, in order, if its call succeeded.
+     */
+    public Optional<EmbedByTypeResponse> getResponse() {
+        return Optional.ofNullable(response);
+    }
+
+    /**
+     * @return The reason this chunk's call failed, if it did.
+     */
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    @Override
+    public String toString() {
+        return "EmbedChunk{index=" + index + ", offset=" + offset + ", size=" + size
+                + (error != null ? ", error=" + error : "") + "}";
+    }
+}
@@ -0,0 +1,440 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.core.CohereException;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.V2Client;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.ByteEmbeddings;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedByTypeResponseEmbeddings;
+import com.cohere.api.types.EmbedInput;
+import com.cohere.api.types.EmbeddingType;
+import com.cohere.api.types.FloatEmbeddings;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends each distinct input of an embed request only once and fans the embeddings back out to every position.
+ * <p>
+ * Texts and {@code inputs} are identified by a SHA-256 hash of their content together with the request options, so
+ * the same text embedded with another model or input type is a different input. With
+ * {@link Builder#recentCapacity(int)}, the embeddings of the most recently seen inputs are also kept and reused by
+ * later calls, which then send only what they have not seen. With {@link Builder#store(MappedEmbeddingStore)},
+ * inputs are also looked up on disk, and the embeddings of every input sent are written there, so that they survive
+ * restarts. Requests with images are sent unchanged.
+ * <p>
+ * The returned response has the id and {@code meta} of the call that was made, so its billed units count only the
+ * inputs that were sent. When every input was found among the recent or stored ones, no call is made and
+ * {@code meta} is empty.
+ */
+public final class EmbedDeduplicator {
+    private final Map<Key, EmbedByTypeResponse> recent;
+
+    private final MappedEmbeddingStore store;
+
+    private EmbedDeduplicator(int recentCapacity, MappedEmbeddingStore store) {
+        this.recent = recentCapacity > 0 ? new RecentInputs(recentCapacity) : null;
+        this.store = store;
+    }
+
+    public EmbedByTypeResponse embed(V2Client client, V2EmbedRequest request) {
+        return embed(client, request, null);
+    }
+
+    /**
+     * Embeds the distinct inputs of {@code request} through the blocking {@code client}.
+     *
+     * @return The embeddings of every input of {@code request}, in order.
+     */
+    public EmbedByTypeResponse embed(V2Client client, V2EmbedRequest request, RequestOptions requestOptions) {
+        Plan plan = plan(request);
+        if (plan == null) {
+            return client.embed(request, requestOptions);
+        }
+        return plan.complete(plan.request != null ? client.embed(plan.request, requestOptions) : null);
+    }
+
+    public CompletableFuture<EmbedByTypeResponse> embed(AsyncV2Client client, V2EmbedRequest request) {
+        return embed(client, request, null);
+    }
+
+    /**
+     * Embeds the distinct inputs of {@code request} through {@code client}.
+     *
+     * @return A future completed with the embeddings of every input of {@code request}, in order.
+     */
+    public CompletableFuture<EmbedByTypeResponse> embed(
+            AsyncV2Client client, V2EmbedRequest request, RequestOptions requestOptions) {
+        Plan plan = plan(request);
+        if (plan == null) {
+            return client.embed(request, requestOptions);
+        }
+        if (plan.request == null) {
+            return CompletableFuture.completedFuture(plan.complete(null));
+        }
+        return client.embed(plan.request, requestOptions).thenApply(plan::complete);
+    }
+
+    /**
+     * Removes every recently seen input.
+     */
+    public void clear() {
+        if (recent != null) {
+            synchronized (recent) {
+                recent.clear();
+            }
+        }
+    }
+
+    /**
+     * Works out which inputs of {@code request} need to be sent, or returns {@code null} if the request should be
+     * sent as is.
+     */
+    private Plan plan(V2EmbedRequest request) {
+        List<?> inputs = request.getInputs().isPresent()
+                ? request.getInputs().get()
+                : request.getTexts().orElse(null);
+        if (inputs == null || inputs.isEmpty() || request.getImages().isPresent()) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        byte[] options = json(V2EmbedRequest.builder()
+                .from(request)
+                .texts(Optional.empty())
+                .inputs(Optional.empty())
+                .build());
+
+        Map<Key, Integer> uniqueIndexes = new HashMap<>();
+        List<Key> keys = new ArrayList<>();
+        List<Object> uniqueInputs = new ArrayList<>();
+        int[] rows = new int[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++) {
+            Key key = key(digest, options, inputs.get(i));
+            Integer row = uniqueIndexes.get(key);
+            if (row == null) {
+                row = keys.size();
+                uniqueIndexes.put(key, row);
+                keys.add(key);
+                uniqueInputs.add(inputs.get(i));
+            }
+            rows[i] = row;
+        }
+
+        List<EmbeddingType> types = request.getEmbeddingTypes().orElse(Collections.singletonList(EmbeddingType.FLOAT));
+        EmbeddingKey[] storeKeys = store != null && !types.contains(EmbeddingType.BASE_64)
+                ? new EmbeddingKey[keys.size()]
+                : null;
+        EmbedByTypeResponse[] cached = new EmbedByTypeResponse[keys.size()];
+        List<Object> unsent = new ArrayList<>();
+        int[] sentRows = new int[keys.size()];
+        for (int row = 0; row < keys.size(); row++) {
+            cached[row] = recentGet(keys.get(row));
+            if (cached[row] == null && storeKeys != null) {
+                Object input = uniqueInputs.get(row);
+                storeKeys[row] = input instanceof EmbedInput
+                        ? EmbeddingKey.of(request, (EmbedInput) input)
+                        : EmbeddingKey.of(request, (String) input);
+                cached[row] = storeGet(storeKeys[row], types);
+                if (cached[row] != null) {
+                    recentPut(keys.get(row), cached[row]);
+                }
+            }
+            if (cached[row] == null) {
+                sentRows[row] = unsent.size();
+                unsent.add(uniqueInputs.get(row));
+            }
+        }
+        V2EmbedRequest dedupedRequest = null;
+        if (unsent.size() == inputs.size()) {
+            dedupedRequest = request;
+        } else if (!unsent.isEmpty()) {
+            dedupedRequest = withInputs(request, unsent);
+        }
+        return new Plan(dedupedRequest, keys, storeKeys, rows, cached, sentRows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static V2EmbedRequest withInputs(V2EmbedRequest request, List<Object> inputs) {
+        V2EmbedRequest.Builder builder = V2EmbedRequest.builder().from(request);
+        if (request.getInputs().isPresent()) {
+            builder.inputs((List<EmbedInput>) (List<?>) inputs);
+        } else {
+            builder.texts((List<String>) (List<?>) inputs);
+        }
+        return builder.build();
+    }
+
+    private static Key key(MessageDigest digest, byte[] options, Object input) {
+        digest.update(options);
+        if (input instanceof String) {
+            digest.update((byte) 't');
+            digest.update(((String) input).getBytes(StandardCharsets.UTF_8));
+        } else {
+            digest.update((byte) 'i');
+            digest.update(json(input));
+        }
+        return new Key(digest.digest());
+    }
+
+    private EmbedByTypeResponse recentGet(Key key) {
+        if (recent == null) {
+            return null;
+        }
+        synchronized (recent) {
+            return recent.get(key);
+        }
+    }
+
+    private void recentPut(Key key, EmbedByTypeResponse row) {
+        if (recent != null) {
+            synchronized (recent) {
+                recent.put(key, row);
+            }
+        }
+    }
+
+    /**
+     * Reads the embeddings of every type in {@code types} from the store, or returns {@code null} if one is missing.
+     */
+    private EmbedByTypeResponse storeGet(EmbeddingKey key, List<EmbeddingType> types) {
+        EmbedByTypeResponseEmbeddings.Builder embeddings = EmbedByTypeResponseEmbeddings.builder();
+        for (EmbeddingType type : types) {
+            if (type.equals(EmbeddingType.FLOAT)) {
+                FloatBuffer vector = store.getFloats(key);
+                if (vector == null) {
+                    return null;
+                }
+                float[] values = new float[vector.remaining()];
+                vector.get(values);
+                embeddings.float_(FloatEmbeddings.of(values, values.length));
+                continue;
+            }
+            ByteBuffer vector = store.getBytes(key, type);
+            if (vector == null) {
+                return null;
+            }
+            byte[] values = new byte[vector.remaining()];
+            vector.get(values);
+            boolean signed = type.equals(EmbeddingType.INT_8) || type.equals(EmbeddingType.BINARY);
+            ByteEmbeddings row = ByteEmbeddings.of(values, values.length, signed);
+            switch (type.getEnumValue()) {
+                case INT_8:
+                    embeddings.int8(row);
+                    break;
+                case UINT_8:
+                    embeddings.uint8(row);
+                    break;
+                case BINARY:
+                    embeddings.binary(row);
+                    break;
+                default:
+                    embeddings.ubinary(row);
+                    break;
+            }
+        }
+        return EmbedByTypeResponse.builder()
+                .id("")
+                .embeddings(embeddings.build())
+                .build();
+    }
+
+    /**
+     * Writes the embeddings of every type in {@code response} for the input at {@code row} to the store.
+     */
+    private void storePut(EmbeddingKey key, EmbedByTypeResponse response, int row) {
+        EmbedByTypeResponseEmbeddings embeddings = response.getEmbeddings();
+        embeddings.getFloatEmbeddings().ifPresent(rows -> store.putFloats(key, rows.toArray(row)));
+        storePut(key, EmbeddingType.INT_8, embeddings.getInt8Embeddings(), row);
+        storePut(key, EmbeddingType.UINT_8, embeddings.getUint8Embeddings(), row);
+        storePut(key, EmbeddingType.BINARY, embeddings.getBinaryEmbeddings(), row);
+        storePut(key, EmbeddingType.UBINARY, embeddings.getUbinaryEmbeddings(), row);
+    }
+
+    private void storePut(EmbeddingKey key, EmbeddingType type, Optional<ByteEmbeddings> rows, int row) {
+        rows.ifPresent(embeddings -> store.putBytes(key, type, embeddings.toArray(row)));
+    }
+
+    private static byte[] json(Object value) {
+        try {
+            return ObjectMappers.JSON_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new CohereException("Failed to serialize embed input", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The distinct inputs of one request, where each one's embeddings come from and where they go.
+     */
+    private final class Plan {
+        private final V2EmbedRequest request;
+
+        private final List<Key> keys;
+
+        private final EmbeddingKey[] storeKeys;
+
+        private final int[] rows;
+
+        private final EmbedByTypeResponse[] cached;
+
+        private final int[] sentRows;
+
+        private Plan(
+                V2EmbedRequest request,
+                List<Key> keys,
+                EmbeddingKey[] storeKeys,
+                int[] rows,
+                EmbedByTypeResponse[] cached,
+                int[] sentRows) {
+            this.request = request;
+            this.keys = keys;
+            this.storeKeys = storeKeys;
+            this.rows = rows;
+            this.cached = cached;
+            this.sentRows = sentRows;
+        }
+
+        /**
+         * Fans the embeddings of the distinct inputs out to the positions of the original request.
+         *
+         * @param response The response to {@link #request}, or {@code null} if nothing was sent
+         */
+        private EmbedByTypeResponse complete(EmbedByTypeResponse response) {
+            boolean sentAsIs = response != null && rows.length == keys.size() && noneCached();
+            if (sentAsIs && recent == null && storeKeys == null) {
+                return response;
+            }
+            EmbedByTypeResponse[] unique = new EmbedByTypeResponse[keys.size()];
+            for (int row = 0; row < keys.size(); row++) {
+                if (cached[row] != null) {
+                    unique[row] = cached[row];
+                } else {
+                    unique[row] = EmbedResponses.slice(response, sentRows[row], sentRows[row] + 1);
+                    recentPut(keys.get(row), unique[row]);
+                    if (storeKeys != null) {
+                        storePut(storeKeys[row], response, sentRows[row]);
+                    }
+                }
+            }
+            if (sentAsIs) {
+                return response;
+            }
+            List<EmbedByTypeResponse> parts = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                parts.add(unique[row]);
+            }
+            return response != null
+                    ? EmbedResponses.concat(response.getId(), parts, response.getMeta())
+                    : EmbedResponses.concat(unique[0].getId(), parts, Optional.empty());
+        }
+
+        private boolean noneCached() {
+            for (EmbedByTypeResponse row : cached) {
+                if (row != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A SHA-256 digest of one input and the options it was embedded with.
+     */
+    private static final class Key {
+        private final byte[] digest;
+
+        private final int hashCode;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hashCode = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(digest, ((Key) other).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The embeddings of recently seen inputs, evicting the least recently used beyond a fixed capacity.
+     */
+    private static final class RecentInputs extends LinkedHashMap<Key, EmbedByTypeResponse> {
+        private final int capacity;
+
+        private RecentInputs(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, EmbedByTypeResponse> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    public static final class Builder {
+        private int recentCapacity = 0;
+
+        private MappedEmbeddingStore store = null;
+
+        private Builder() {}
+
+        /**
+         * Sets how many recently seen inputs to keep the embeddings of. Defaults to 0, which only deduplicates inputs
+         * within a call.
+         */
+        public Builder recentCapacity(int recentCapacity) {
+            if (recentCapacity < 0) {
+                throw new IllegalArgumentException("recentCapacity must not be negative");
+            }
+            this.recentCapacity = recentCapacity;
+            return this;
+        }
+
+        /**
+         * Also looks inputs up in {@code store}, and writes the embeddings of every input sent there. Requests for
+         * {@code base64} embeddings do not use the store. Disabled by default.
+         */
+        public Builder store(MappedEmbeddingStore store) {
+            this.store = store;
+            return this;
+        }
+
+        public EmbedDeduplicator build() {
+            return new EmbedDeduplicator(recentCapacity, store);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.types.ApiMeta;
+import com.cohere.api.types.ByteEmbeddings;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedByTypeResponseEmbeddings;
+import com.cohere.api.types.FloatEmbeddings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Helpers for taking apart and reassembling the responses of batched embed calls.
+ */
+final class EmbedResponses {
+    private EmbedResponses() {}
+
+    /**
+     * Returns the part of {@code response} that belongs to the inputs between {@code fromIndex}, inclusive, and
+     * {@code toIndex}, exclusive, of the request it answers.
+     */
+    static EmbedByTypeResponse slice(EmbedByTypeResponse response, int fromIndex, int toIndex) {
+        EmbedByTypeResponseEmbeddings embeddings = response.getEmbeddings();
+        return EmbedByTypeResponse.builder()
+                .id(response.getId())
+                .embeddings(EmbedByTypeResponseEmbeddings.builder()
+                        .float_(embeddings.getFloat().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .int8(embeddings.getInt8().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .uint8(embeddings.getUint8().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .binary(embeddings.getBinary().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .ubinary(embeddings.getUbinary().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .base64(embeddings.getBase64().map(rows -> rows.subList(fromIndex, toIndex)))
+                        .build())
+                .texts(response.getTexts().map(texts -> texts.subList(fromIndex, toIndex)))
+                .meta(response.getMeta())
+                .build();
+    }
+
+    /**
+     * Joins the rows of {@code parts} into one response, in order. An embedding type is kept only if every part has
+     * it.
+     */
+    static EmbedByTypeResponse concat(String id, List<EmbedByTypeResponse> parts, Optional<ApiMeta> meta) {
+        return EmbedByTypeResponse.builder()
+                .id(id)
+                .embeddings(EmbedByTypeResponseEmbeddings.builder()
+                        .float_(all(parts, EmbedByTypeResponseEmbeddings::getFloatEmbeddings)
+                                .<List<List<Double>>>map(EmbedResponses::packFloats))
+                        .int8(all(parts, EmbedByTypeResponseEmbeddings::getInt8Embeddings)
+                                .<List<List<Integer>>>map(rows -> packBytes(rows, true)))
+                        .uint8(all(parts, EmbedByTypeResponseEmbeddings::getUint8Embeddings)
+                                .<List<List<Integer>>>map(rows -> packBytes(rows, false)))
+                        .binary(all(parts, EmbedByTypeResponseEmbeddings::getBinaryEmbeddings)
+                                .<List<List<Integer>>>map(rows -> packBytes(rows, true)))
+                        .ubinary(all(parts, EmbedByTypeResponseEmbeddings::getUbinaryEmbeddings)
+                                .<List<List<Integer>>>map(rows -> packBytes(rows, false)))
+                        .base64(all(parts, EmbedByTypeResponseEmbeddings::getBase64)
+                                .map(EmbedResponses::flatten))
+                        .build())
+                .texts(texts(parts))
+                .meta(meta)
+                .build();
+    }
+
+    /**
+     * Packs {@code parts} into one contiguous array.
+     *
+     * @throws IllegalStateException if the parts have different dimensions
+     */
+    static FloatEmbeddings packFloats(List<FloatEmbeddings> parts) {
+        int dimension = dimension(parts, FloatEmbeddings::dimension);
+        if (dimension == 0) {
+            return FloatEmbeddings.copyOf(Collections.emptyList());
+        }
+        float[] values = new float[size(parts) * dimension];
+        int row = 0;
+        for (FloatEmbeddings part : parts) {
+            for (int i = 0; i < part.size(); i++) {
+                part.copyTo(i, values, row++ * dimension);
+            }
+        }
+        return FloatEmbeddings.of(values, dimension);
+    }
+
+    /**
+     * Packs {@code parts} into one contiguous array.
+     *
+     * @throws IllegalStateException if the parts have different dimensions
+     */
+    static ByteEmbeddings packBytes(List<ByteEmbeddings> parts, boolean signed) {
+        int dimension = dimension(parts, ByteEmbeddings::dimension);
+        if (dimension == 0) {
+            return ByteEmbeddings.copyOf(Collections.emptyList(), signed);
+        }
+        byte[] values = new byte[size(parts) * dimension];
+        int row = 0;
+        for (ByteEmbeddings part : parts) {
+            for (int i = 0; i < part.size(); i++) {
+                part.copyTo(i, values, row++ * dimension);
+            }
+        }
+        return ByteEmbeddings.of(values, dimension, signed);
+    }
+
+    private static <T> Optional<List<T>> all(
+            List<EmbedByTypeResponse> parts, Function<EmbedByTypeResponseEmbeddings, Optional<T>> accessor) {
+        List<T> values = new ArrayList<>(parts.size());
+        for (EmbedByTypeResponse part : parts) {
+            Optional<T> value = accessor.apply(part.getEmbeddings());
+            if (!value.isPresent()) {
+                return Optional.empty();
+            }
+            values.add(value.get());
+        }
+        return Optional.of(values);
+    }
+
+    private static Optional<List<String>> texts(List<EmbedByTypeResponse> parts) {
+        List<String> texts = new ArrayList<>();
+        for (EmbedByTypeResponse part : parts) {
+            if (!part.getTexts().isPresent()) {
+                return Optional.empty();
+            }
+            texts.addAll(part.getTexts().get());
+        }
+        return Optional.of(texts);
+    }
+
+    private static List<String> flatten(List<List<String>> parts) {
+        List<String> rows = new ArrayList<>();
+        parts.forEach(rows::addAll);
+        return rows;
+    }
+
+    private static <T extends List<?>> int dimension(List<T> parts, Function<T, Integer> dimensionOf) {
+        int dimension = 0;
+        for (T part : parts) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            int partDimension = dimensionOf.apply(part);
+            if (dimension == 0) {
+                dimension = partDimension;
+            } else if (partDimension != dimension) {
+                throw new IllegalStateException(
+                        "Parts have embeddings of dimension " + dimension + " and " + partDimension);
+            }
+        }
+        return dimension;
+    }
+
+    private static int size(List<? extends List<?>> parts) {
+        int size = 0;
+        for (List<?> part : parts) {
+            size += part.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.core.CohereException;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedInput;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identifies the embeddings of one input: a 128-bit hash of the input's content and of every request option that
+ * changes its vectors, which are the model, input type, output dimension, {@code maxTokens} and truncation.
+ * <p>
+ * The embedding type is not part of the key; stores keep one vector per key and type.
+ */
+public final class EmbeddingKey {
+    private final long high;
+
+    private final long low;
+
+    EmbeddingKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * @return The key of {@code text} embedded with the options of {@code request}.
+     */
+    public static EmbeddingKey of(V2EmbedRequest request, String text) {
+        MessageDigest digest = digest(request);
+        digest.update((byte) 't');
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        return of(digest.digest());
+    }
+
+    /**
+     * @return The key of {@code input} embedded with the options of {@code request}.
+     */
+    public static EmbeddingKey of(V2EmbedRequest request, EmbedInput input) {
+        MessageDigest digest = digest(request);
+        digest.update((byte) 'i');
+        try {
+            digest.update(ObjectMappers.JSON_MAPPER.writeValueAsBytes(input));
+        } catch (JsonProcessingException e) {
+            throw new CohereException("Failed to serialize embed input", e);
+        }
+        return of(digest.digest());
+    }
+
+    long high() {
+        return high;
+    }
+
+    long low() {
+        return low;
+    }
+
+    private static EmbeddingKey of(byte[] hash) {
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new EmbeddingKey(buffer.getLong(), buffer.getLong());
+    }
+
+    private static MessageDigest digest(V2EmbedRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String options = request.getModel()
+                + '\0' + request.getInputType()
+                + '\0' + request.getOutputDimension().map(String::valueOf).orElse("")
+                + '\0' + request.getMaxTokens().map(String::valueOf).orElse("")
+                + '\0' + request.getTruncate().map(String::valueOf).orElse("")
+                + '\0';
+        digest.update(options.getBytes(StandardCharsets.UTF_8));
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof EmbeddingKey)) {
+            return false;
+        }
+        EmbeddingKey key = (EmbeddingKey) other;
+        return high == key.high && low == key.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high ^ low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
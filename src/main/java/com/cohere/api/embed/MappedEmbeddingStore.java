@@ -0,0 +1,525 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.types.EmbeddingType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * A persistent store of embedding vectors in append-only, memory-mapped segment files.
+ * <p>
+ * Each vector is stored under an {@link EmbeddingKey} and an embedding type, and is read back as a read-only view of
+ * the mapped file, without copying. An in-memory hash table, rebuilt by scanning the segments when the store is
+ * opened, maps keys to their records, so the store survives restarts. Storing a key again appends a new record and
+ * leaves the old one as garbage; once garbage makes up more than half of the segments, the live records are copied
+ * into fresh segments and the old files are deleted. Views returned earlier stay readable after a compaction.
+ * <p>
+ * Use it with {@link EmbedDeduplicator.Builder#store(MappedEmbeddingStore)} to serve embed calls from disk. All
+ * methods are thread-safe; only one store should have a directory open at a time.
+ */
+public final class MappedEmbeddingStore implements Closeable {
+    /**
+     * The default size of a segment file, 64 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int MAGIC = 0x434f4542;
+
+    private static final int VERSION = 1;
+
+    private static final int SEGMENT_HEADER_SIZE = 8;
+
+    /**
+     * Type (1 byte, written last, so that a torn record reads as the end of the segment), padding (3), length (4),
+     * key high (8) and key low (8).
+     */
+    private static final int RECORD_HEADER_SIZE = 24;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".emb";
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private final Index index = new Index();
+
+    private Segment active = null;
+
+    private long liveBytes = 0;
+
+    private long garbageBytes = 0;
+
+    private boolean closed = false;
+
+    private MappedEmbeddingStore(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store in {@code directory} with {@link #DEFAULT_SEGMENT_SIZE}, creating the directory if needed.
+     */
+    public static MappedEmbeddingStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating the directory if needed. New segment files are
+     * {@code segmentSize} bytes, or larger if a single vector needs it.
+     */
+    public static MappedEmbeddingStore open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException(
+                    "segmentSize must be at least " + (SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE));
+        }
+        Files.createDirectories(directory);
+        MappedEmbeddingStore store = new MappedEmbeddingStore(directory, segmentSize);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * @return A read-only view of the {@code float} vector stored under {@code key}, or {@code null} if there is none.
+     */
+    public synchronized FloatBuffer getFloats(EmbeddingKey key) {
+        ByteBuffer payload = payload(key, EmbeddingType.FLOAT);
+        return payload != null ? payload.asFloatBuffer() : null;
+    }
+
+    /**
+     * @param type One of {@code int8}, {@code uint8}, {@code binary} or {@code ubinary}
+     * @return A read-only view of the quantized vector stored under {@code key}, or {@code null} if there is none.
+     */
+    public synchronized ByteBuffer getBytes(EmbeddingKey key, EmbeddingType type) {
+        checkQuantized(type);
+        return payload(key, type);
+    }
+
+    /**
+     * Stores the {@code float} vector of {@code key}, replacing any previous one.
+     */
+    public synchronized void putFloats(EmbeddingKey key, float[] values) {
+        int payloadSize = values.length * 4;
+        append(key, EmbeddingType.FLOAT, values.length, payloadSize, payload -> payload.asFloatBuffer().put(values));
+    }
+
+    /**
+     * Stores the quantized vector of {@code key}, replacing any previous one.
+     *
+     * @param type One of {@code int8}, {@code uint8}, {@code binary} or {@code ubinary}
+     */
+    public synchronized void putBytes(EmbeddingKey key, EmbeddingType type, byte[] values) {
+        checkQuantized(type);
+        append(key, type, values.length, values.length, payload -> payload.put(values));
+    }
+
+    /**
+     * @return The number of vectors stored, counting each embedding type of a key separately.
+     */
+    public synchronized int size() {
+        return index.size;
+    }
+
+    /**
+     * Copies the live records into fresh segments and deletes the old segment files.
+     */
+    public synchronized void compact() {
+        checkOpen();
+        List<Segment> old = new ArrayList<>(segments.values());
+        active = null;
+        long[] locations = index.locations;
+        for (int slot = 0; slot < locations.length; slot++) {
+            if (locations[slot] == Index.EMPTY) {
+                continue;
+            }
+            Segment segment = segments.get(segmentId(locations[slot]));
+            int offset = offset(locations[slot]);
+            int size = recordSize(segment.buffer, offset);
+            Segment target = segmentFor(size);
+            ByteBuffer source = segment.buffer.duplicate();
+            // Buffer casts keep these calls binding to the Java 8 methods, not the covariant Java 9 overrides
+            ((Buffer) source).position(offset + 1).limit(offset + size);
+            ByteBuffer destination = target.buffer.duplicate();
+            ((Buffer) destination).position(target.position + 1);
+            destination.put(source);
+            target.buffer.put(target.position, segment.buffer.get(offset));
+            locations[slot] = location(target.id, target.position);
+            target.position += size;
+        }
+        for (Segment segment : old) {
+            segments.remove(segment.id);
+            segment.delete();
+        }
+        garbageBytes = 0;
+    }
+
+    /**
+     * Writes every change to disk, so that it survives a crash of the operating system and not only of the process.
+     */
+    public synchronized void flush() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (Segment segment : segments.values()) {
+            try {
+                segment.buffer.force();
+                segment.channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void load() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                ids.add(Integer.parseInt(
+                        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        ids.sort(null);
+        for (int id : ids) {
+            Segment segment = Segment.open(path(id), id);
+            segments.put(id, segment);
+            scan(segment);
+            active = segment;
+        }
+        if (garbageBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Indexes the records of {@code segment} and moves its write position past the last complete one.
+     */
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException(segment.path + " is not an embedding store segment");
+        }
+        int offset = SEGMENT_HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity() && type(buffer.get(offset)) != null) {
+            int size = recordSize(buffer, offset);
+            if (size < 0 || offset + size > buffer.capacity()) {
+                break;
+            }
+            long high = buffer.getLong(offset + 8);
+            long low = buffer.getLong(offset + 16);
+            index(high, low, buffer.get(offset), segment.id, offset, size);
+            offset += size;
+        }
+        segment.position = offset;
+    }
+
+    private ByteBuffer payload(EmbeddingKey key, EmbeddingType type) {
+        checkOpen();
+        byte code = code(type);
+        long location = index.get(key.high(), key.low() ^ code);
+        if (location == Index.EMPTY) {
+            return null;
+        }
+        MappedByteBuffer buffer = segments.get(segmentId(location)).buffer;
+        int offset = offset(location);
+        if (buffer.get(offset) != code) {
+            return null;
+        }
+        ByteBuffer payload = buffer.duplicate();
+        ((Buffer) payload)
+                .position(offset + RECORD_HEADER_SIZE)
+                .limit(offset + RECORD_HEADER_SIZE + payloadSize(buffer, offset));
+        return payload.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Appends a record of {@code length} values and indexes it. The type is written last, after the payload, so that
+     * a record torn by a crash is never read back.
+     */
+    private void append(
+            EmbeddingKey key, EmbeddingType type, int length, int payloadSize, Consumer<ByteBuffer> payloadWriter) {
+        checkOpen();
+        byte code = code(type);
+        int size = RECORD_HEADER_SIZE + align(payloadSize);
+        Segment segment = segmentFor(size);
+        int offset = segment.position;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(offset + 4, length);
+        buffer.putLong(offset + 8, key.high());
+        buffer.putLong(offset + 16, key.low());
+        ByteBuffer payload = buffer.duplicate();
+        ((Buffer) payload).position(offset + RECORD_HEADER_SIZE).limit(offset + RECORD_HEADER_SIZE + payloadSize);
+        payloadWriter.accept(payload.slice().order(ByteOrder.LITTLE_ENDIAN));
+        buffer.put(offset, code);
+        segment.position += size;
+        index(key.high(), key.low(), code, segment.id, offset, size);
+        if (garbageBytes > liveBytes && garbageBytes >= segmentSize) {
+            compact();
+        }
+    }
+
+    private void index(long high, long low, byte code, int segmentId, int offset, int size) {
+        long previous = index.put(high, low ^ code, location(segmentId, offset));
+        if (previous != Index.EMPTY) {
+            int previousSize = recordSize(segments.get(segmentId(previous)).buffer, offset(previous));
+            liveBytes -= previousSize;
+            garbageBytes += previousSize;
+        }
+        liveBytes += size;
+    }
+
+    /**
+     * Returns the active segment if it has room for a record of {@code size} bytes, or a new one.
+     */
+    private Segment segmentFor(int size) {
+        if (active != null && active.position + size <= active.buffer.capacity()) {
+            return active;
+        }
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        try {
+            active = Segment.create(path(id), id, Math.max(segmentSize, SEGMENT_HEADER_SIZE + size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.put(id, active);
+        return active;
+    }
+
+    private Path path(int id) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("MappedEmbeddingStore is closed");
+        }
+    }
+
+    private static int recordSize(ByteBuffer buffer, int offset) {
+        int payloadSize = payloadSize(buffer, offset);
+        return payloadSize < 0 ? -1 : RECORD_HEADER_SIZE + align(payloadSize);
+    }
+
+    private static int payloadSize(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset + 4);
+        if (length < 0) {
+            return -1;
+        }
+        return EmbeddingType.FLOAT.equals(type(buffer.get(offset))) ? length * 4 : length;
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) segmentId << 32) | offset;
+    }
+
+    private static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    private static byte code(EmbeddingType type) {
+        switch (type.getEnumValue()) {
+            case FLOAT:
+                return 1;
+            case INT_8:
+                return 2;
+            case UINT_8:
+                return 3;
+            case BINARY:
+                return 4;
+            case UBINARY:
+                return 5;
+            default:
+                throw new IllegalArgumentException(type + " embeddings cannot be stored");
+        }
+    }
+
+    private static EmbeddingType type(byte code) {
+        switch (code) {
+            case 1:
+                return EmbeddingType.FLOAT;
+            case 2:
+                return EmbeddingType.INT_8;
+            case 3:
+                return EmbeddingType.UINT_8;
+            case 4:
+                return EmbeddingType.BINARY;
+            case 5:
+                return EmbeddingType.UBINARY;
+            default:
+                return null;
+        }
+    }
+
+    private static void checkQuantized(EmbeddingType type) {
+        if (EmbeddingType.FLOAT.equals(type) || EmbeddingType.BASE_64.equals(type)) {
+            throw new IllegalArgumentException(type + " embeddings are not quantized");
+        }
+    }
+
+    /**
+     * One segment file, mapped in full.
+     */
+    private static final class Segment {
+        private final Path path;
+
+        private final int id;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int position;
+
+        private Segment(Path path, int id, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, int id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(path, id, channel, buffer);
+        }
+
+        private static Segment create(Path path, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            Segment segment = new Segment(path, id, channel, buffer);
+            segment.position = SEGMENT_HEADER_SIZE;
+            return segment;
+        }
+
+        /**
+         * Closes and deletes the file. The mapping, and any views of it, stay valid until they are garbage
+         * collected.
+         */
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * An open-addressing hash table from 128-bit keys to record locations, in three parallel arrays.
+     */
+    private static final class Index {
+        private static final long EMPTY = -1;
+
+        private long[] highs = new long[1024];
+
+        private long[] lows = new long[1024];
+
+        private long[] locations = newLocations(1024);
+
+        private int size = 0;
+
+        private long get(long high, long low) {
+            int mask = locations.length - 1;
+            for (int slot = (int) high & mask; locations[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (highs[slot] == high && lows[slot] == low) {
+                    return locations[slot];
+                }
+            }
+            return EMPTY;
+        }
+
+        /**
+         * @return The previous location of the key, or {@link #EMPTY} if it is new.
+         */
+        private long put(long high, long low, long location) {
+            if ((size + 1) * 2 > locations.length) {
+                resize();
+            }
+            int mask = locations.length - 1;
+            int slot = (int) high & mask;
+            for (; locations[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (highs[slot] == high && lows[slot] == low) {
+                    long previous = locations[slot];
+                    locations[slot] = location;
+                    return previous;
+                }
+            }
+            highs[slot] = high;
+            lows[slot] = low;
+            locations[slot] = location;
+            size++;
+            return EMPTY;
+        }
+
+        private void resize() {
+            long[] oldHighs = highs;
+            long[] oldLows = lows;
+            long[] oldLocations = locations;
+            highs = new long[oldLocations.length * 2];
+            lows = new long[oldLocations.length * 2];
+            locations = newLocations(oldLocations.length * 2);
+            size = 0;
+            for (int slot = 0; slot < oldLocations.length; slot++) {
+                if (oldLocations[slot] != EMPTY) {
+                    put(oldHighs[slot], oldLows[slot], oldLocations[slot]);
+                }
+            }
+        }
+
+        private static long[] newLocations(int capacity) {
+            long[] locations = new long[capacity];
+            Arrays.fill(locations, EMPTY);
+            return locations;
+        }
+    }
+}
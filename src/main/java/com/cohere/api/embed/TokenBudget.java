@@ -0,0 +1,39 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.resources.v2.types.V2EmbedRequestTruncate;
+import com.cohere.api.types.EmbedInput;
+import java.util.Optional;
+
+/**
+ * A per-call token budget and the estimator that measures inputs against it.
+ */
+final class TokenBudget {
+    private final TokenEstimator estimator;
+
+    private final int maxTokensPerCall;
+
+    TokenBudget(TokenEstimator estimator, int maxTokensPerCall) {
+        this.estimator = estimator;
+        this.maxTokensPerCall = maxTokensPerCall;
+    }
+
+    int maxTokensPerCall() {
+        return maxTokensPerCall;
+    }
+
+    /**
+     * Returns the tokens {@code input}, a text or an {@link EmbedInput}, will use in {@code request}. Inputs longer
+     * than the request's {@code maxTokens} count as {@code maxTokens} unless truncation is disabled.
+     */
+    int cost(Object input, V2EmbedRequest request) {
+        int tokens = input instanceof EmbedInput
+                ? estimator.estimate((EmbedInput) input)
+                : estimator.estimate((String) input);
+        if (request.getMaxTokens().isPresent()
+                && !request.getTruncate().equals(Optional.of(V2EmbedRequestTruncate.NONE))) {
+            return Math.min(tokens, request.getMaxTokens().get());
+        }
+        return tokens;
+    }
+}
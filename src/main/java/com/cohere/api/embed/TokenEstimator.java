@@ -0,0 +1,48 @@
+package com.cohere.api.embed;
+
+import com.cohere.api.Cohere;
+import com.cohere.api.requests.TokenizeRequest;
+import com.cohere.api.types.EmbedContent;
+import com.cohere.api.types.EmbedInput;
+
+/**
+ * Estimates how many tokens an embed input will use, so that batches can be sized by a token budget instead of by
+ * item count.
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+    int estimate(String text);
+
+    /**
+     * Estimates a multimodal input as the sum of its text parts. Images are not counted.
+     */
+    default int estimate(EmbedInput input) {
+        int tokens = 0;
+        for (EmbedContent content : input.getContent()) {
+            if (content.isText()) {
+                tokens += estimate(content.getText().get().getText().orElse(""));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns an estimator that assumes a fixed number of characters per token. Around 4 is typical for English text.
+     */
+    static TokenEstimator charsPerToken(double charsPerToken) {
+        if (charsPerToken <= 0) {
+            throw new IllegalArgumentException("charsPerToken must be positive");
+        }
+        return text -> (int) Math.ceil(text.length() / charsPerToken);
+    }
+
+    /**
+     * Returns an exact estimator that tokenizes every text with {@code model} through the tokenize endpoint. This
+     * costs one blocking call per input, so it suits corpora where batches are much more expensive than tokenizing.
+     */
+    static TokenEstimator tokenizer(Cohere client, String model) {
+        return text -> client.tokenize(TokenizeRequest.builder().text(text).model(model).build())
+                .getTokens()
+                .size();
+    }
+}
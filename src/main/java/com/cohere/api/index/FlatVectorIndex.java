@@ -0,0 +1,671 @@
+package com.cohere.api.index;
+
+import com.cohere.api.types.ByteEmbeddings;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedByTypeResponseEmbeddings;
+import com.cohere.api.types.EmbeddingType;
+import com.cohere.api.types.FloatEmbeddings;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An in-process nearest-neighbour index over embeddings of one type, searched exactly by brute force.
+ * <p>
+ * Vectors are stored row-major in contiguous blocks of native memory, outside the Java heap, and every search scans
+ * all of them, so results are exact and inserts are cheap. The score depends on the embedding type:
+ * <ul>
+ *   <li>{@code float}: cosine similarity. Vectors and queries are normalized, so the score is a dot product.
+ *   <li>{@code int8} and {@code uint8}: the dot product of the quantized components.
+ *   <li>{@code binary} and {@code ubinary}: the number of equal bits, the number of bits minus the Hamming distance.
+ *       Rows are compared 64 bits at a time.
+ * </ul>
+ * Higher scores are closer. Each vector is identified by its position, assigned in insertion order from 0.
+ * <p>
+ * Inserts are serialized, while searches take no lock: a search sees every vector whose insert completed before it
+ * started, and never a partially written one. {@link #save(Path)} writes the index to a file, which {@link #load(Path)}
+ * maps into memory instead of reading it, so a large index opens instantly and is paged in by the operating system.
+ */
+public final class FlatVectorIndex {
+    private static final int MAGIC = 0x43564958;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+
+    private static final int BLOCK_SIZE = 16 << 20;
+
+    private static final int MAX_MAPPING_SIZE = 1 << 30;
+
+    private final EmbeddingType type;
+
+    private final int dimension;
+
+    private final int rowBytes;
+
+    private volatile Block[] blocks;
+
+    private volatile int size;
+
+    private FlatVectorIndex(EmbeddingType type, int dimension, Block[] blocks, int size) {
+        this.type = type;
+        this.dimension = dimension;
+        this.rowBytes = rowBytes(type, dimension);
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param type The embedding type of the vectors, one of {@code float}, {@code int8}, {@code uint8}, {@code binary}
+     *     or {@code ubinary}.
+     * @param dimension The length of each vector, as in {@link FloatEmbeddings#dimension()} and
+     *     {@link ByteEmbeddings#dimension()}. For binary embeddings this is the number of packed bytes.
+     */
+    public static FlatVectorIndex create(EmbeddingType type, int dimension) {
+        typeCode(type);
+        if (dimension < 1) {
+            throw new IllegalArgumentException("dimension must be at least 1");
+        }
+        return new FlatVectorIndex(type, dimension, new Block[0], 0);
+    }
+
+    /**
+     * Opens an index written by {@link #save(Path)}. The vectors are mapped read-only and stay in the file; vectors
+     * added afterwards are kept in memory until the index is saved again.
+     *
+     * @throws IllegalStateException if the file is not a vector index
+     */
+    public static FlatVectorIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IllegalStateException(path + " is not a vector index file");
+                }
+            }
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException(path + " is not a vector index file");
+            }
+            EmbeddingType type = type(header.getInt(8));
+            int dimension = header.getInt(12);
+            int size = header.getInt(16);
+            if (type == null || dimension < 1 || size < 0) {
+                throw new IllegalStateException(path + " is not a vector index file");
+            }
+            int rowBytes = rowBytes(type, dimension);
+            if (channel.size() < HEADER_SIZE + (long) size * rowBytes) {
+                throw new IllegalStateException(path + " is truncated");
+            }
+            int rowsPerMapping = Math.max(1, MAX_MAPPING_SIZE / rowBytes);
+            List<Block> blocks = new ArrayList<>();
+            for (int start = 0; start < size; start += rowsPerMapping) {
+                int rows = Math.min(rowsPerMapping, size - start);
+                ByteBuffer data = channel.map(
+                        FileChannel.MapMode.READ_ONLY, HEADER_SIZE + (long) start * rowBytes, (long) rows * rowBytes);
+                blocks.add(new Block(data, start, rows));
+            }
+            return new FlatVectorIndex(type, dimension, blocks.toArray(new Block[0]), size);
+        }
+    }
+
+    public EmbeddingType type() {
+        return type;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * @return The number of vectors in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds one {@code float} vector.
+     *
+     * @return The id of the vector.
+     */
+    public synchronized int add(float[] vector) {
+        checkFloat();
+        checkDimension(vector.length);
+        int id = size;
+        putFloats(id, vector);
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Adds one quantized vector.
+     *
+     * @return The id of the vector.
+     */
+    public synchronized int add(byte[] vector) {
+        checkQuantized();
+        checkDimension(vector.length);
+        int id = size;
+        putBytes(id, vector);
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Adds every row of {@code embeddings}, in order.
+     *
+     * @return The id of the first row; the others follow it.
+     */
+    public synchronized int addAll(FloatEmbeddings embeddings) {
+        checkFloat();
+        if (embeddings.isEmpty()) {
+            return size;
+        }
+        checkDimension(embeddings.dimension());
+        float[] values = new float[dimension];
+        int first = size;
+        for (int i = 0; i < embeddings.size(); i++) {
+            embeddings.copyTo(i, values, 0);
+            putFloats(first + i, values);
+        }
+        size = first + embeddings.size();
+        return first;
+    }
+
+    /**
+     * Adds every row of {@code embeddings}, in order.
+     *
+     * @return The id of the first row; the others follow it.
+     */
+    public synchronized int addAll(ByteEmbeddings embeddings) {
+        checkQuantized();
+        if (embeddings.isEmpty()) {
+            return size;
+        }
+        checkDimension(embeddings.dimension());
+        if (!isBinary(type) && embeddings.isSigned() != EmbeddingType.INT_8.equals(type)) {
+            throw new IllegalArgumentException("Expected " + type + " embeddings");
+        }
+        byte[] values = new byte[dimension];
+        int first = size;
+        for (int i = 0; i < embeddings.size(); i++) {
+            embeddings.copyTo(i, values, 0);
+            putBytes(first + i, values);
+        }
+        size = first + embeddings.size();
+        return first;
+    }
+
+    /**
+     * Adds the embeddings of this index's type from an embed response, in input order.
+     *
+     * @return The id of the first embedding; the others follow it.
+     * @throws IllegalArgumentException if the response has no embeddings of this index's type
+     */
+    public int addAll(EmbedByTypeResponse response) {
+        if (EmbeddingType.FLOAT.equals(type)) {
+            return addAll(floats(response));
+        }
+        return addAll(bytes(response));
+    }
+
+    /**
+     * Finds the {@code k} vectors closest to a {@code float} query.
+     *
+     * @return Up to {@code k} hits, highest score first, with ties broken by id.
+     */
+    public List<Hit> search(float[] query, int k) {
+        checkFloat();
+        checkK(k);
+        checkDimension(query.length);
+        float[] normalized = Arrays.copyOf(query, query.length);
+        normalize(normalized, 0, normalized.length);
+        int limit = size;
+        Block[] snapshot = blocks;
+        TopK top = new TopK(Math.min(k, limit));
+        for (Block block : snapshot) {
+            int rows = block.rows(limit);
+            FloatBuffer floats = block.floats;
+            for (int row = 0; row < rows; row++) {
+                top.offer(block.start + row, dot(floats, row * dimension, normalized));
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * Finds the {@code k} vectors closest to a quantized query.
+     *
+     * @return Up to {@code k} hits, highest score first, with ties broken by id.
+     */
+    public List<Hit> search(byte[] query, int k) {
+        checkQuantized();
+        checkK(k);
+        checkDimension(query.length);
+        int limit = size;
+        Block[] snapshot = blocks;
+        TopK top = new TopK(Math.min(k, limit));
+        if (isBinary(type)) {
+            long[] words = new long[rowBytes / 8];
+            ByteBuffer.wrap(Arrays.copyOf(query, rowBytes))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer()
+                    .get(words);
+            int bits = dimension * 8;
+            for (Block block : snapshot) {
+                int rows = block.rows(limit);
+                LongBuffer longs = block.longs;
+                for (int row = 0; row < rows; row++) {
+                    top.offer(block.start + row, bits - hamming(longs, row * words.length, words));
+                }
+            }
+        } else {
+            boolean signed = EmbeddingType.INT_8.equals(type);
+            for (Block block : snapshot) {
+                int rows = block.rows(limit);
+                for (int row = 0; row < rows; row++) {
+                    int offset = row * rowBytes;
+                    int score = signed ? dot(block.data, offset, query) : unsignedDot(block.data, offset, query);
+                    top.offer(block.start + row, score);
+                }
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * Finds the {@code k} vectors closest to the first embedding of this index's type in an embed response, such as
+     * the embedding of a search query.
+     *
+     * @return Up to {@code k} hits, highest score first, with ties broken by id.
+     * @throws IllegalArgumentException if the response has no embeddings of this index's type
+     */
+    public List<Hit> search(EmbedByTypeResponse response, int k) {
+        if (EmbeddingType.FLOAT.equals(type)) {
+            FloatEmbeddings query = floats(response);
+            return search(require(query.isEmpty() ? null : query.toArray(0)), k);
+        }
+        ByteEmbeddings query = bytes(response);
+        return search(require(query.isEmpty() ? null : query.toArray(0)), k);
+    }
+
+    /**
+     * Writes the index to {@code path}, replacing it atomically. Inserts wait until the write completes; searches do
+     * not.
+     */
+    public synchronized void save(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(
+                temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(typeCode(type)).putInt(dimension).putInt(size);
+            ((Buffer) header).clear();
+            writeFully(channel, header);
+            for (Block block : blocks) {
+                ByteBuffer rows = block.data.duplicate();
+                ((Buffer) rows).position(0).limit(block.rows(size) * rowBytes);
+                writeFully(channel, rows);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void putFloats(int id, float[] vector) {
+        Block block = blockFor(id);
+        int position = (id - block.start) * dimension;
+        for (int i = 0; i < dimension; i++) {
+            block.floats.put(position + i, vector[i]);
+        }
+        normalize(block.floats, position, dimension);
+    }
+
+    private void putBytes(int id, byte[] vector) {
+        Block block = blockFor(id);
+        int position = (id - block.start) * rowBytes;
+        for (int i = 0; i < dimension; i++) {
+            block.data.put(position + i, vector[i]);
+        }
+    }
+
+    /**
+     * Returns the block that holds row {@code id}, allocating one if the last block is full. A new block is published
+     * before the size, so searches never see a row without its block.
+     */
+    private Block blockFor(int id) {
+        Block[] current = blocks;
+        if (current.length > 0) {
+            Block last = current[current.length - 1];
+            if (id < last.start + last.capacity) {
+                return last;
+            }
+        }
+        int capacity = Math.max(1, BLOCK_SIZE / rowBytes);
+        ByteBuffer data = ByteBuffer.allocateDirect(capacity * rowBytes);
+        Block block = new Block(data, id, capacity);
+        Block[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = block;
+        blocks = grown;
+        return block;
+    }
+
+    private static float dot(FloatBuffer rows, int offset, float[] query) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i + 3 < query.length; i += 4) {
+            s0 += rows.get(offset + i) * query[i];
+            s1 += rows.get(offset + i + 1) * query[i + 1];
+            s2 += rows.get(offset + i + 2) * query[i + 2];
+            s3 += rows.get(offset + i + 3) * query[i + 3];
+        }
+        for (; i < query.length; i++) {
+            s0 += rows.get(offset + i) * query[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static int dot(ByteBuffer rows, int offset, byte[] query) {
+        int sum = 0;
+        for (int i = 0; i < query.length; i++) {
+            sum += rows.get(offset + i) * query[i];
+        }
+        return sum;
+    }
+
+    private static int unsignedDot(ByteBuffer rows, int offset, byte[] query) {
+        int sum = 0;
+        for (int i = 0; i < query.length; i++) {
+            sum += (rows.get(offset + i) & 0xff) * (query[i] & 0xff);
+        }
+        return sum;
+    }
+
+    private static int hamming(LongBuffer rows, int offset, long[] query) {
+        int distance = 0;
+        for (int i = 0; i < query.length; i++) {
+            distance += Long.bitCount(rows.get(offset + i) ^ query[i]);
+        }
+        return distance;
+    }
+
+    private static void normalize(float[] vector, int offset, int length) {
+        normalize(FloatBuffer.wrap(vector), offset, length);
+    }
+
+    private static void normalize(FloatBuffer vector, int offset, int length) {
+        double squares = 0;
+        for (int i = 0; i < length; i++) {
+            float value = vector.get(offset + i);
+            squares += value * value;
+        }
+        if (squares == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(squares));
+        for (int i = 0; i < length; i++) {
+            vector.put(offset + i, vector.get(offset + i) * scale);
+        }
+    }
+
+    private void checkFloat() {
+        if (!EmbeddingType.FLOAT.equals(type)) {
+            throw new IllegalArgumentException("This index holds " + type + " embeddings, not float");
+        }
+    }
+
+    private void checkQuantized() {
+        if (EmbeddingType.FLOAT.equals(type)) {
+            throw new IllegalArgumentException("This index holds float embeddings");
+        }
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be at least 0");
+        }
+    }
+
+    private void checkDimension(int length) {
+        if (length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + length);
+        }
+    }
+
+    private FloatEmbeddings floats(EmbedByTypeResponse response) {
+        return require(response.getEmbeddings().getFloatEmbeddings().orElse(null));
+    }
+
+    private ByteEmbeddings bytes(EmbedByTypeResponse response) {
+        EmbedByTypeResponseEmbeddings embeddings = response.getEmbeddings();
+        switch (type.getEnumValue()) {
+            case INT_8:
+                return require(embeddings.getInt8Embeddings().orElse(null));
+            case UINT_8:
+                return require(embeddings.getUint8Embeddings().orElse(null));
+            case BINARY:
+                return require(embeddings.getBinaryEmbeddings().orElse(null));
+            default:
+                return require(embeddings.getUbinaryEmbeddings().orElse(null));
+        }
+    }
+
+    private <T> T require(T embeddings) {
+        if (embeddings == null) {
+            throw new IllegalArgumentException("The response has no " + type + " embeddings");
+        }
+        return embeddings;
+    }
+
+    private static boolean isBinary(EmbeddingType type) {
+        return EmbeddingType.BINARY.equals(type) || EmbeddingType.UBINARY.equals(type);
+    }
+
+    /**
+     * Returns the bytes per row. Binary rows are padded to whole 64-bit words, with zeros that never differ.
+     */
+    private static int rowBytes(EmbeddingType type, int dimension) {
+        if (EmbeddingType.FLOAT.equals(type)) {
+            return dimension * 4;
+        }
+        return isBinary(type) ? (dimension + 7) / 8 * 8 : dimension;
+    }
+
+    private static int typeCode(EmbeddingType type) {
+        switch (type.getEnumValue()) {
+            case FLOAT:
+                return 1;
+            case INT_8:
+                return 2;
+            case UINT_8:
+                return 3;
+            case BINARY:
+                return 4;
+            case UBINARY:
+                return 5;
+            default:
+                throw new IllegalArgumentException(type + " embeddings cannot be indexed");
+        }
+    }
+
+    private static EmbeddingType type(int code) {
+        switch (code) {
+            case 1:
+                return EmbeddingType.FLOAT;
+            case 2:
+                return EmbeddingType.INT_8;
+            case 3:
+                return EmbeddingType.UINT_8;
+            case 4:
+                return EmbeddingType.BINARY;
+            case 5:
+                return EmbeddingType.UBINARY;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * A vector found by a search.
+     */
+    public static final class Hit {
+        private final int id;
+
+        private final float score;
+
+        private Hit(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        /**
+         * @return The position of the vector in the index.
+         */
+        public int getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Hit{id: " + id + ", score: " + score + "}";
+        }
+    }
+
+    /**
+     * A run of consecutive rows in one buffer, either allocated by the index or mapped from a file.
+     */
+    private static final class Block {
+        private final ByteBuffer data;
+
+        private final FloatBuffer floats;
+
+        private final LongBuffer longs;
+
+        private final int start;
+
+        private final int capacity;
+
+        private Block(ByteBuffer data, int start, int capacity) {
+            this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+            this.floats = this.data.asFloatBuffer();
+            this.longs = this.data.asLongBuffer();
+            this.start = start;
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return The number of rows of this block below {@code limit}.
+         */
+        private int rows(int limit) {
+            return Math.max(0, Math.min(capacity, limit - start));
+        }
+    }
+
+    /**
+     * The best hits seen so far, in a min-heap of parallel arrays so that a scan allocates nothing per row. Rows are
+     * offered in id order, so a row that only ties the worst hit is never better than it.
+     */
+    private static final class TopK {
+        private final int[] ids;
+
+        private final float[] scores;
+
+        private int count = 0;
+
+        private TopK(int k) {
+            this.ids = new int[k];
+            this.scores = new float[k];
+        }
+
+        private void offer(int id, float score) {
+            if (count < ids.length) {
+                ids[count] = id;
+                scores[count] = score;
+                siftUp(count++);
+            } else if (count > 0 && score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private List<Hit> toList() {
+            List<Hit> hits = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                hits.add(new Hit(ids[i], scores[i]));
+            }
+            hits.sort(Comparator.comparingDouble((Hit hit) -> -hit.score).thenComparingInt(hit -> hit.id));
+            return Collections.unmodifiableList(hits);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!isWorse(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < count && isWorse(left, worst)) {
+                    worst = left;
+                }
+                if (right < count && isWorse(right, worst)) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private boolean isWorse(int i, int j) {
+            return scores[i] < scores[j] || (scores[i] == scores[j] && ids[i] > ids[j]);
+        }
+
+        private void swap(int i, int j) {
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.cohere.api.rag;
+
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.rerank.ShardedReranker;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.requests.V2ChatStreamRequest;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.resources.v2.requests.V2RerankRequest;
+import com.cohere.api.resources.v2.types.V2ChatStreamRequestDocumentsItem;
+import com.cohere.api.resources.v2.types.V2RerankResponse;
+import com.cohere.api.resources.v2.types.V2RerankResponseResultsItem;
+import com.cohere.api.types.Document;
+import com.cohere.api.types.EmbedByTypeResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Answers a query with retrieval-augmented generation on {@link AsyncV2Client}: embeds the query, retrieves candidate
+ * documents, reranks them and streams a chat response grounded in the top N.
+ * <p>
+ * Stages start as soon as their inputs are ready rather than one after another. The {@link Retriever} is called
+ * together with the query embed call, so any work it can do without the embedding overlaps with that call. Reranking
+ * goes through a {@link ShardedReranker}, so candidate lists of any size are reranked in concurrent shards, and the
+ * chat stream is opened as soon as the reranker has fixed the top N. The returned future completes when the stream
+ * opens, with the {@link RagResult.Timings latency of every stage}.
+ * <p>
+ * If any stage fails, the returned future fails with its error. This includes the query embed call when the retriever
+ * does not wait for it. Cancelling the returned future cancels every stage still in flight.
+ */
+public final class RagPipeline {
+    private final AsyncV2Client client;
+
+    private final V2EmbedRequest embedRequest;
+
+    private final Retriever retriever;
+
+    private final String rerankModel;
+
+    private final int topN;
+
+    private final ShardedReranker reranker;
+
+    private final Function<Document, String> rerankText;
+
+    private final RequestOptions requestOptions;
+
+    private RagPipeline(
+            AsyncV2Client client,
+            V2EmbedRequest embedRequest,
+            Retriever retriever,
+            String rerankModel,
+            int topN,
+            ShardedReranker reranker,
+            Function<Document, String> rerankText,
+            RequestOptions requestOptions) {
+        this.client = client;
+        this.embedRequest = embedRequest;
+        this.retriever = retriever;
+        this.rerankModel = rerankModel;
+        this.topN = topN;
+        this.reranker = reranker;
+        this.rerankText = rerankText;
+        this.requestOptions = requestOptions;
+    }
+
+    /**
+     * Runs the pipeline for {@code query}.
+     *
+     * @param chat The chat request to answer, usually ending with {@code query} as the user message. Its documents are
+     *     replaced by the reranked ones.
+     * @return A future completed once the chat stream has opened. Close the result if the stream is not read to its
+     *     end.
+     */
+    public CompletableFuture<RagResult> run(String query, V2ChatStreamRequest chat) {
+        return new Run(query, chat).start();
+    }
+
+    private static List<Document> top(List<Document> documents, Optional<V2RerankResponse> rerank) {
+        if (!rerank.isPresent()) {
+            return Collections.emptyList();
+        }
+        List<Document> top = new ArrayList<>();
+        for (V2RerankResponseResultsItem result : rerank.get().getResults()) {
+            top.add(documents.get(result.getIndex()));
+        }
+        return top;
+    }
+
+    private static V2ChatStreamRequest withDocuments(V2ChatStreamRequest chat, List<Document> documents) {
+        if (documents.isEmpty()) {
+            return chat;
+        }
+        List<V2ChatStreamRequestDocumentsItem> items = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            items.add(V2ChatStreamRequestDocumentsItem.of(document));
+        }
+        return V2ChatStreamRequest.builder().from(chat).documents(items).build();
+    }
+
+    /**
+     * The state of one pipeline run. Every stage future is tracked until the result completes, so that a failed or
+     * cancelled result cancels the stages still in flight.
+     */
+    private final class Run {
+        private final String query;
+
+        private final V2ChatStreamRequest chat;
+
+        private final RagResult.Timings timings = new RagResult.Timings(System.nanoTime());
+
+        private final CompletableFuture<RagResult> result = new CompletableFuture<>();
+
+        private final List<CompletableFuture<?>> stages = new ArrayList<>();
+
+        private Run(String query, V2ChatStreamRequest chat) {
+            this.query = query;
+            this.chat = chat;
+        }
+
+        private CompletableFuture<RagResult> start() {
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    cancelStages();
+                }
+            });
+            try {
+                CompletableFuture<EmbedByTypeResponse> embedding = track(client.embed(
+                                V2EmbedRequest.builder()
+                                        .from(embedRequest)
+                                        .texts(Collections.singletonList(query))
+                                        .build(),
+                                requestOptions))
+                        .whenComplete((response, error) -> {
+                            timings.recordEmbed();
+                            if (error != null) {
+                                // Fails the run even if the retriever never waits for the embedding
+                                fail(error);
+                            }
+                        });
+                track(retriever.retrieve(query, embedding)).whenComplete((documents, error) -> {
+                    timings.recordRetrieve();
+                    if (error != null) {
+                        fail(error);
+                    } else {
+                        rerank(documents);
+                    }
+                });
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+            return result;
+        }
+
+        private void rerank(List<Document> documents) {
+            if (documents.isEmpty()) {
+                openChat(documents, Optional.empty());
+                return;
+            }
+            try {
+                List<String> texts = new ArrayList<>(documents.size());
+                for (Document document : documents) {
+                    texts.add(rerankText.apply(document));
+                }
+                long rerankStart = System.nanoTime();
+                track(reranker.rerank(V2RerankRequest.builder()
+                                .model(rerankModel)
+                                .query(query)
+                                .documents(texts)
+                                .topN(topN)
+                                .build()))
+                        .whenComplete((response, error) -> {
+                            if (error != null) {
+                                fail(error);
+                                return;
+                            }
+                            timings.recordRerank(rerankStart);
+                            openChat(documents, Optional.of(response));
+                        });
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void openChat(List<Document> documents, Optional<V2RerankResponse> rerank) {
+            try {
+                List<Document> top = top(documents, rerank);
+                long chatStart = System.nanoTime();
+                track(client.chatStream(withDocuments(chat, top), requestOptions)).whenComplete((stream, error) -> {
+                    if (error != null) {
+                        fail(error);
+                        return;
+                    }
+                    timings.recordChat(chatStart);
+                    RagResult ragResult = new RagResult(top, rerank, stream, timings);
+                    if (!result.complete(ragResult)) {
+                        close(ragResult);
+                    }
+                });
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Registers a stage so that it is cancelled with the result, cancelling it right away if the result is already
+         * done.
+         */
+        private <T> CompletableFuture<T> track(CompletableFuture<T> stage) {
+            synchronized (this) {
+                if (!result.isDone()) {
+                    stages.add(stage);
+                    return stage;
+                }
+            }
+            stage.cancel(false);
+            return stage;
+        }
+
+        private void fail(Throwable error) {
+            result.completeExceptionally(
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        }
+
+        private void cancelStages() {
+            List<CompletableFuture<?>> inFlight;
+            synchronized (this) {
+                inFlight = new ArrayList<>(stages);
+            }
+            inFlight.forEach(stage -> stage.cancel(false));
+        }
+
+        private void close(RagResult ragResult) {
+            try {
+                ragResult.close();
+            } catch (IOException e) {
+                // The run has already failed, so there is nobody left to report this to
+            }
+        }
+    }
+
+    /**
+     * Renders a document for reranking as YAML-style {@code key: value} lines, the format rerank models handle best for
+     * structured documents.
+     */
+    static String yaml(Document document) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Object> field : document.getData().entrySet()) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(field.getKey()).append(": ").append(field.getValue());
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param embedRequest The request used to embed each query, with its model, input type and embedding types. Its
+     *     texts are replaced by the query.
+     */
+    public static Builder builder(AsyncV2Client client, V2EmbedRequest embedRequest, Retriever retriever) {
+        return new Builder(client, embedRequest, retriever);
+    }
+
+    public static final class Builder {
+        private final AsyncV2Client client;
+
+        private final V2EmbedRequest embedRequest;
+
+        private final Retriever retriever;
+
+        private String rerankModel = "rerank-v3.5";
+
+        private int topN = 5;
+
+        private ShardedReranker reranker = null;
+
+        private Function<Document, String> rerankText = RagPipeline::yaml;
+
+        private RequestOptions requestOptions = null;
+
+        private Builder(AsyncV2Client client, V2EmbedRequest embedRequest, Retriever retriever) {
+            this.client = client;
+            this.embedRequest = embedRequest;
+            this.retriever = retriever;
+        }
+
+        /**
+         * Sets the rerank model. Defaults to {@code rerank-v3.5}.
+         */
+        public Builder rerankModel(String rerankModel) {
+            this.rerankModel = rerankModel;
+            return this;
+        }
+
+        /**
+         * Sets the number of reranked documents passed to chat. Defaults to 5.
+         */
+        public Builder topN(int topN) {
+            if (topN < 1) {
+                throw new IllegalArgumentException("topN must be at least 1");
+            }
+            this.topN = topN;
+            return this;
+        }
+
+        /**
+         * Sets the reranker, for example one with a lower {@link ShardedReranker.Builder#stopScore(float)} to open the
+         * chat stream sooner. Defaults to a reranker with default settings on the same client.
+         */
+        public Builder reranker(ShardedReranker reranker) {
+            this.reranker = reranker;
+            return this;
+        }
+
+        /**
+         * Sets how a document is rendered for reranking. Defaults to YAML-style {@code key: value} lines.
+         */
+        public Builder rerankText(Function<Document, String> rerankText) {
+            this.rerankText = rerankText;
+            return this;
+        }
+
+        /**
+         * Sets the request options used for the embed and chat calls, and for the default reranker.
+         */
+        public Builder requestOptions(RequestOptions requestOptions) {
+            this.requestOptions = requestOptions;
+            return this;
+        }
+
+        public RagPipeline build() {
+            return new RagPipeline(
+                    client,
+                    embedRequest,
+                    retriever,
+                    rerankModel,
+                    topN,
+                    reranker != null
+                            ? reranker
+                            : ShardedReranker.builder(client)
+                                    .requestOptions(requestOptions)
+                                    .build(),
+                    rerankText,
+                    requestOptions);
+        }
+    }
+}
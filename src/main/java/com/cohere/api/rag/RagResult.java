@@ -0,0 +1,193 @@
+package com.cohere.api.rag;
+
+import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
+import com.cohere.api.resources.v2.types.V2RerankResponse;
+import com.cohere.api.types.Document;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The outcome of one {@link RagPipeline} run: the documents passed to chat, the open chat stream and the latency of
+ * each stage.
+ * <p>
+ * The chat stream holds an HTTP connection until it has been read to its end. Close the result to release the
+ * connection when you stop reading early.
+ */
+public final class RagResult implements Closeable {
+    private final List<Document> documents;
+
+    private final Optional<V2RerankResponse> rerank;
+
+    private final Iterable<V2ChatStreamResponse> stream;
+
+    private final Iterable<V2ChatStreamResponse> source;
+
+    private final Timings timings;
+
+    RagResult(
+            List<Document> documents,
+            Optional<V2RerankResponse> rerank,
+            Iterable<V2ChatStreamResponse> stream,
+            Timings timings) {
+        this.documents = Collections.unmodifiableList(documents);
+        this.rerank = rerank;
+        this.source = stream;
+        this.stream = () -> {
+            Iterator<V2ChatStreamResponse> events = stream.iterator();
+            return new Iterator<V2ChatStreamResponse>() {
+                @Override
+                public boolean hasNext() {
+                    return events.hasNext();
+                }
+
+                @Override
+                public V2ChatStreamResponse next() {
+                    V2ChatStreamResponse event = events.next();
+                    timings.recordFirstEvent();
+                    return event;
+                }
+            };
+        };
+        this.timings = timings;
+    }
+
+    /**
+     * @return The reranked documents passed to chat, most relevant first.
+     */
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return The merged rerank response, with indices into the retrieved candidates. Empty if no candidates were
+     *     retrieved.
+     */
+    public Optional<V2RerankResponse> getRerank() {
+        return rerank;
+    }
+
+    /**
+     * @return The chat stream. Like the stream returned by the client, it can be iterated once.
+     */
+    public Iterable<V2ChatStreamResponse> getStream() {
+        return stream;
+    }
+
+    public Timings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Closes the chat stream, releasing its connection.
+     */
+    @Override
+    public void close() throws IOException {
+        if (source instanceof Closeable) {
+            ((Closeable) source).close();
+        }
+    }
+
+    /**
+     * The latency of each pipeline stage. Stages that overlap are timed separately, so the durations can add up to
+     * more than {@link #getTotal()}.
+     */
+    public static final class Timings {
+        private final long startNanos;
+
+        private volatile long embedNanos = 0;
+
+        private volatile long retrieveNanos = 0;
+
+        private volatile long rerankNanos = 0;
+
+        private volatile long chatNanos = 0;
+
+        private volatile long totalNanos = 0;
+
+        private volatile long firstEventNanos = -1;
+
+        Timings(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @return The duration of the query embed call, zero if it had not completed when the chat stream opened.
+         */
+        public Duration getEmbed() {
+            return Duration.ofNanos(embedNanos);
+        }
+
+        /**
+         * @return The time from the start of the run until the retriever returned its candidates, which overlaps with
+         *     the embed call.
+         */
+        public Duration getRetrieve() {
+            return Duration.ofNanos(retrieveNanos);
+        }
+
+        /**
+         * @return The duration of the rerank calls, zero if there were no candidates.
+         */
+        public Duration getRerank() {
+            return Duration.ofNanos(rerankNanos);
+        }
+
+        /**
+         * @return The time from sending the chat request until its stream opened.
+         */
+        public Duration getChat() {
+            return Duration.ofNanos(chatNanos);
+        }
+
+        /**
+         * @return The time from the start of the run until the chat stream opened.
+         */
+        public Duration getTotal() {
+            return Duration.ofNanos(totalNanos);
+        }
+
+        /**
+         * @return The time from the start of the run until the first chat event was read, once it has been.
+         */
+        public Optional<Duration> getFirstEvent() {
+            long nanos = firstEventNanos;
+            return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+        }
+
+        void recordEmbed() {
+            embedNanos = System.nanoTime() - startNanos;
+        }
+
+        void recordRetrieve() {
+            retrieveNanos = System.nanoTime() - startNanos;
+        }
+
+        void recordRerank(long fromNanos) {
+            rerankNanos = System.nanoTime() - fromNanos;
+        }
+
+        void recordChat(long fromNanos) {
+            long now = System.nanoTime();
+            chatNanos = now - fromNanos;
+            totalNanos = now - startNanos;
+        }
+
+        private void recordFirstEvent() {
+            if (firstEventNanos < 0) {
+                firstEventNanos = System.nanoTime() - startNanos;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Timings{embed: " + getEmbed().toMillis() + "ms, retrieve: " + getRetrieve().toMillis()
+                    + "ms, rerank: " + getRerank().toMillis() + "ms, chat: " + getChat().toMillis() + "ms, total: "
+                    + getTotal().toMillis() + "ms}";
+        }
+    }
+}
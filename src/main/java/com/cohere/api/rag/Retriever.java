@@ -0,0 +1,41 @@
+package com.cohere.api.rag;
+
+import com.cohere.api.index.FlatVectorIndex;
+import com.cohere.api.types.Document;
+import com.cohere.api.types.EmbedByTypeResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Finds the candidate documents for a query, the first stage of a {@link RagPipeline}.
+ */
+@FunctionalInterface
+public interface Retriever {
+    /**
+     * Starts retrieving candidates for {@code query}. This is called as soon as the query embedding is requested, so
+     * work that does not need the embedding, such as a keyword search or loading a shard, should start right away and
+     * only the vector search should wait for {@code queryEmbedding}.
+     *
+     * @return A future completed with the candidates, in any order.
+     */
+    CompletableFuture<List<Document>> retrieve(String query, CompletableFuture<EmbedByTypeResponse> queryEmbedding);
+
+    /**
+     * Returns a retriever that searches {@code index} for the {@code k} nearest neighbours of the query embedding. The
+     * embed request of the pipeline must ask for the embedding type of the index.
+     *
+     * @param documents Looks up the document of a vector id in the index.
+     */
+    static Retriever of(FlatVectorIndex index, int k, IntFunction<Document> documents) {
+        return (query, queryEmbedding) -> queryEmbedding.thenApply(response -> {
+            List<FlatVectorIndex.Hit> hits = index.search(response, k);
+            List<Document> candidates = new ArrayList<>(hits.size());
+            for (FlatVectorIndex.Hit hit : hits) {
+                candidates.add(documents.apply(hit.getId()));
+            }
+            return candidates;
+        });
+    }
+}
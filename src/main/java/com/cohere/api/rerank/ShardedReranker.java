@@ -0,0 +1,318 @@
+package com.cohere.api.rerank;
+
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.requests.V2RerankRequest;
+import com.cohere.api.resources.v2.types.V2RerankResponse;
+import com.cohere.api.resources.v2.types.V2RerankResponseResultsItem;
+import com.cohere.api.types.ApiMeta;
+import com.cohere.api.types.ApiMetaBilledUnits;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reranks document lists of any size by splitting them into shards, reranking the shards concurrently and merging
+ * their results into a global top N.
+ * <p>
+ * Each shard is asked for its own top N only, since no other result can make the global one. Results are merged into
+ * a bounded heap as shards complete, with each shard-local {@code index} mapped back to the position of the document
+ * in the original request. The merged results are ordered by relevance, highest first, with ties broken by original
+ * position.
+ * <p>
+ * Relevance scores are at most 1, so once the heap holds N results that all reach {@link Builder#stopScore(float)}, no
+ * remaining shard can change the top N: no further shards are launched and the calls in flight are cancelled. With
+ * the default of 1 this only happens for perfect matches; a lower value stops sooner at the cost of exactness.
+ * <p>
+ * If a shard fails, the returned future fails with its error and the other calls are cancelled.
+ */
+public final class ShardedReranker {
+    /**
+     * The recommended maximum number of documents in one rerank call.
+     */
+    public static final int MAX_DOCUMENTS_PER_CALL = 1000;
+
+    private static final Comparator<V2RerankResponseResultsItem> WORST_FIRST = ShardedReranker::compareWorstFirst;
+
+    private final AsyncV2Client client;
+
+    private final RequestOptions requestOptions;
+
+    private final int shardSize;
+
+    private final int concurrency;
+
+    private final float stopScore;
+
+    private ShardedReranker(
+            AsyncV2Client client, RequestOptions requestOptions, int shardSize, int concurrency, float stopScore) {
+        this.client = client;
+        this.requestOptions = requestOptions;
+        this.shardSize = shardSize;
+        this.concurrency = concurrency;
+        this.stopScore = stopScore;
+    }
+
+    /**
+     * Reranks the documents of {@code request}, returning its {@code topN} results or, without one, every document.
+     *
+     * @return A future completed with the merged results. Its {@code meta} carries the search units billed for all
+     *     shards.
+     */
+    public CompletableFuture<V2RerankResponse> rerank(V2RerankRequest request) {
+        return new Run(request).start();
+    }
+
+    /**
+     * Orders results from least to most relevant, with later documents first among equal scores.
+     */
+    private static int compareWorstFirst(V2RerankResponseResultsItem left, V2RerankResponseResultsItem right) {
+        int byScore = Float.compare(left.getRelevanceScore(), right.getRelevanceScore());
+        return byScore != 0 ? byScore : Integer.compare(right.getIndex(), left.getIndex());
+    }
+
+    public static Builder builder(AsyncV2Client client) {
+        return new Builder(client);
+    }
+
+    /**
+     * The state of one sharded rerank. Shards are launched and merged under the lock; calls are made outside it.
+     */
+    private final class Run {
+        private final V2RerankRequest request;
+
+        private final int topN;
+
+        private final CompletableFuture<V2RerankResponse> result = new CompletableFuture<>();
+
+        private final PriorityQueue<V2RerankResponseResultsItem> heap;
+
+        private final List<CompletableFuture<V2RerankResponse>> calls = new ArrayList<>();
+
+        private int nextOffset = 0;
+
+        private int inFlight = 0;
+
+        private double searchUnits = 0;
+
+        private boolean billed = false;
+
+        private boolean launching = false;
+
+        private boolean relaunch = false;
+
+        private Run(V2RerankRequest request) {
+            this.request = request;
+            this.topN = Math.min(
+                    request.getTopN().orElse(request.getDocuments().size()),
+                    request.getDocuments().size());
+            this.heap = new PriorityQueue<>(Math.max(1, topN), WORST_FIRST);
+        }
+
+        private CompletableFuture<V2RerankResponse> start() {
+            result.whenComplete((value, error) -> cancelCalls());
+            launch();
+            return result;
+        }
+
+        /**
+         * Launches shards until the concurrency limit is reached or every document has been sent, and completes the
+         * result once the top N is settled. A shard completing inside {@code send} only flags the running launch to go
+         * round again, so inline completions do not nest.
+         */
+        private void launch() {
+            synchronized (this) {
+                if (launching) {
+                    relaunch = true;
+                    return;
+                }
+                launching = true;
+            }
+            while (true) {
+                launchOnce().forEach(Runnable::run);
+                synchronized (this) {
+                    if (!relaunch) {
+                        launching = false;
+                        return;
+                    }
+                    relaunch = false;
+                }
+            }
+        }
+
+        private synchronized List<Runnable> launchOnce() {
+            List<Runnable> launches = new ArrayList<>();
+            if (result.isDone()) {
+                return launches;
+            }
+            if (isSettled()) {
+                result.complete(response());
+                return launches;
+            }
+            while (inFlight < concurrency && nextOffset < request.getDocuments().size()) {
+                int offset = nextOffset;
+                int end = Math.min(offset + shardSize, request.getDocuments().size());
+                nextOffset = end;
+                inFlight++;
+                launches.add(() -> send(offset, end));
+            }
+            return launches;
+        }
+
+        private void send(int offset, int end) {
+            CompletableFuture<V2RerankResponse> call;
+            try {
+                call = client.rerank(
+                        V2RerankRequest.builder()
+                                .model(request.getModel())
+                                .query(request.getQuery())
+                                .documents(request.getDocuments().subList(offset, end))
+                                .topN(Math.min(topN, end - offset))
+                                .maxTokensPerDoc(request.getMaxTokensPerDoc())
+                                .priority(request.getPriority())
+                                .build(),
+                        requestOptions);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            synchronized (this) {
+                calls.add(call);
+            }
+            call.whenComplete((response, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(
+                            error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause()
+                                    : error);
+                    return;
+                }
+                merge(offset, response, call);
+                launch();
+            });
+        }
+
+        private synchronized void merge(
+                int offset, V2RerankResponse response, CompletableFuture<V2RerankResponse> call) {
+            calls.remove(call);
+            inFlight--;
+            for (V2RerankResponseResultsItem item : response.getResults()) {
+                V2RerankResponseResultsItem global = V2RerankResponseResultsItem.builder()
+                        .index(offset + item.getIndex())
+                        .relevanceScore(item.getRelevanceScore())
+                        .build();
+                if (heap.size() < topN) {
+                    heap.add(global);
+                } else if (topN > 0 && WORST_FIRST.compare(global, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(global);
+                }
+            }
+            Optional<Double> shardUnits =
+                    response.getMeta().flatMap(ApiMeta::getBilledUnits).flatMap(ApiMetaBilledUnits::getSearchUnits);
+            if (shardUnits.isPresent()) {
+                searchUnits += shardUnits.get();
+                billed = true;
+            }
+        }
+
+        /**
+         * Returns whether every shard has completed, or whether no shard still to come can enter the top N.
+         */
+        private boolean isSettled() {
+            if (inFlight == 0 && nextOffset >= request.getDocuments().size()) {
+                return true;
+            }
+            return heap.size() == topN && (topN == 0 || heap.peek().getRelevanceScore() >= stopScore);
+        }
+
+        private V2RerankResponse response() {
+            List<V2RerankResponseResultsItem> results = new ArrayList<>(heap);
+            results.sort(WORST_FIRST.reversed());
+            return V2RerankResponse.builder()
+                    .results(results)
+                    .meta(billed
+                            ? Optional.of(ApiMeta.builder()
+                                    .billedUnits(ApiMetaBilledUnits.builder()
+                                            .searchUnits(searchUnits)
+                                            .build())
+                                    .build())
+                            : Optional.empty())
+                    .build();
+        }
+
+        private void cancelCalls() {
+            List<CompletableFuture<V2RerankResponse>> inFlightCalls;
+            synchronized (this) {
+                inFlightCalls = new ArrayList<>(calls);
+            }
+            inFlightCalls.forEach(call -> call.cancel(false));
+        }
+    }
+
+    public static final class Builder {
+        private final AsyncV2Client client;
+
+        private RequestOptions requestOptions = null;
+
+        private int shardSize = MAX_DOCUMENTS_PER_CALL;
+
+        private int concurrency = 4;
+
+        private float stopScore = 1f;
+
+        private Builder(AsyncV2Client client) {
+            this.client = client;
+        }
+
+        /**
+         * Sets the request options used for every shard.
+         */
+        public Builder requestOptions(RequestOptions requestOptions) {
+            this.requestOptions = requestOptions;
+            return this;
+        }
+
+        /**
+         * Sets the number of documents per call. Defaults to {@link #MAX_DOCUMENTS_PER_CALL}.
+         */
+        public Builder shardSize(int shardSize) {
+            if (shardSize < 1 || shardSize > MAX_DOCUMENTS_PER_CALL) {
+                throw new IllegalArgumentException("shardSize must be between 1 and " + MAX_DOCUMENTS_PER_CALL);
+            }
+            this.shardSize = shardSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of calls in flight. Defaults to 4.
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be at least 1");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the relevance score at which a full top N is final, so that the remaining shards are skipped. Defaults
+         * to 1, the highest score, which keeps the result exact.
+         */
+        public Builder stopScore(float stopScore) {
+            if (!(stopScore >= 0 && stopScore <= 1)) {
+                throw new IllegalArgumentException("stopScore must be between 0 and 1");
+            }
+            this.stopScore = stopScore;
+            return this;
+        }
+
+        public ShardedReranker build() {
+            return new ShardedReranker(client, requestOptions, shardSize, concurrency, stopScore);
+        }
+    }
+}
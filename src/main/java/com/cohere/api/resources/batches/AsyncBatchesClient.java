@@ -4,6 +4,7 @@
 package com.cohere.api.resources.batches;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.batches.requests.BatchesListBatchesRequest;
 import com.cohere.api.resources.batches.types.Batch;
@@ -34,14 +35,14 @@ public class AsyncBatchesClient {
      * List the batches for the current user
      */
     public CompletableFuture<ListBatchesResponse> list() {
-        return this.rawClient.list().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(), response -> response.body());
     }
 
     /**
      * List the batches for the current user
      */
     public CompletableFuture<ListBatchesResponse> list(BatchesListBatchesRequest request) {
-        return this.rawClient.list(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request), response -> response.body());
     }
 
     /**
@@ -49,48 +50,49 @@ public class AsyncBatchesClient {
      */
     public CompletableFuture<ListBatchesResponse> list(
             BatchesListBatchesRequest request, RequestOptions requestOptions) {
-        return this.rawClient.list(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request, requestOptions), response -> response.body());
     }
 
     /**
      * Creates and executes a batch from an uploaded dataset of requests
      */
     public CompletableFuture<CreateBatchResponse> create(Batch request) {
-        return this.rawClient.create(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.create(request), response -> response.body());
     }
 
     /**
      * Creates and executes a batch from an uploaded dataset of requests
      */
     public CompletableFuture<CreateBatchResponse> create(Batch request, RequestOptions requestOptions) {
-        return this.rawClient.create(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.create(request, requestOptions), response -> response.body());
     }
 
     /**
      * Retrieves a batch
      */
     public CompletableFuture<GetBatchResponse> retrieve(String id) {
-        return this.rawClient.retrieve(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.retrieve(id), response -> response.body());
     }
 
     /**
      * Retrieves a batch
      */
     public CompletableFuture<GetBatchResponse> retrieve(String id, RequestOptions requestOptions) {
-        return this.rawClient.retrieve(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.retrieve(id, requestOptions), response -> response.body());
     }
 
     /**
      * Cancels an in-progress batch
      */
     public CompletableFuture<Map<String, Object>> cancel(String id) {
-        return this.rawClient.cancel(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.cancel(id), response -> response.body());
     }
 
     /**
      * Cancels an in-progress batch
      */
     public CompletableFuture<Map<String, Object>> cancel(String id, RequestOptions requestOptions) {
-        return this.rawClient.cancel(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.cancel(id, requestOptions), response -> response.body());
     }
 }
@@ -3,6 +3,7 @@
  */
 package com.cohere.api.resources.batches;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -29,7 +30,6 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -64,9 +64,7 @@ public class AsyncRawBatchesClient {
      */
     public CompletableFuture<CohereHttpResponse<ListBatchesResponse>> list(
             BatchesListBatchesRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/batches");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v2/batches");
         if (request.getPageSize().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "page_size", request.getPageSize().get(), false);
@@ -82,7 +80,7 @@ public class AsyncRawBatchesClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -90,17 +88,18 @@ public class AsyncRawBatchesClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<ListBatchesResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListBatchesResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), ListBatchesResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -166,10 +165,7 @@ public class AsyncRawBatchesClient {
      */
     public CompletableFuture<CohereHttpResponse<CreateBatchResponse>> create(
             Batch request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/batches")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/batches");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -180,7 +176,7 @@ public class AsyncRawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -189,17 +185,18 @@ public class AsyncRawBatchesClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<CreateBatchResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateBatchResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), CreateBatchResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -264,7 +261,7 @@ public class AsyncRawBatchesClient {
      * Retrieves a batch
      */
     public CompletableFuture<CohereHttpResponse<GetBatchResponse>> retrieve(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v2/batches")
                 .addPathSegment(id)
@@ -272,7 +269,7 @@ public class AsyncRawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -280,17 +277,17 @@ public class AsyncRawBatchesClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<GetBatchResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, GetBatchResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), GetBatchResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -355,7 +352,7 @@ public class AsyncRawBatchesClient {
      * Cancels an in-progress batch
      */
     public CompletableFuture<CohereHttpResponse<Map<String, Object>>> cancel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v2/batches")
                 .addPathSegment(id)
@@ -364,7 +361,7 @@ public class AsyncRawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -372,18 +369,18 @@ public class AsyncRawBatchesClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Map<String, Object>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
                                 ObjectMappers.JSON_MAPPER.readValue(
-                                        responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                        responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -26,7 +26,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.util.Map;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -60,9 +59,7 @@ public class RawBatchesClient {
      */
     public CohereHttpResponse<ListBatchesResponse> list(
             BatchesListBatchesRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/batches");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v2/batches");
         if (request.getPageSize().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "page_size", request.getPageSize().get(), false);
@@ -78,7 +75,7 @@ public class RawBatchesClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -87,11 +84,12 @@ public class RawBatchesClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListBatchesResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ListBatchesResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -135,10 +133,7 @@ public class RawBatchesClient {
      * Creates and executes a batch from an uploaded dataset of requests
      */
     public CohereHttpResponse<CreateBatchResponse> create(Batch request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/batches")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/batches");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -149,7 +144,7 @@ public class RawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -159,11 +154,12 @@ public class RawBatchesClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateBatchResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), CreateBatchResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -207,7 +203,7 @@ public class RawBatchesClient {
      * Retrieves a batch
      */
     public CohereHttpResponse<GetBatchResponse> retrieve(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v2/batches")
                 .addPathSegment(id)
@@ -215,7 +211,7 @@ public class RawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -224,11 +220,12 @@ public class RawBatchesClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, GetBatchResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), GetBatchResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -272,7 +269,7 @@ public class RawBatchesClient {
      * Cancels an in-progress batch
      */
     public CohereHttpResponse<Map<String, Object>> cancel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v2/batches")
                 .addPathSegment(id)
@@ -281,7 +278,7 @@ public class RawBatchesClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -290,13 +287,13 @@ public class RawBatchesClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
                         ObjectMappers.JSON_MAPPER.readValue(
-                                responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
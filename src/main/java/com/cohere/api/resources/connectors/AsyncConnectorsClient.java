@@ -4,6 +4,7 @@
 package com.cohere.api.resources.connectors;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.connectors.requests.ConnectorsListRequest;
 import com.cohere.api.resources.connectors.requests.ConnectorsOAuthAuthorizeRequest;
@@ -38,14 +39,14 @@ public class AsyncConnectorsClient {
      * Returns a list of connectors ordered by descending creation date (newer first). See <a href="https://docs.cohere.com/docs/managing-your-connector">'Managing your Connector'</a> for more information.
      */
     public CompletableFuture<ListConnectorsResponse> list() {
-        return this.rawClient.list().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(), response -> response.body());
     }
 
     /**
      * Returns a list of connectors ordered by descending creation date (newer first). See <a href="https://docs.cohere.com/docs/managing-your-connector">'Managing your Connector'</a> for more information.
      */
     public CompletableFuture<ListConnectorsResponse> list(ConnectorsListRequest request) {
-        return this.rawClient.list(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request), response -> response.body());
     }
 
     /**
@@ -53,14 +54,14 @@ public class AsyncConnectorsClient {
      */
     public CompletableFuture<ListConnectorsResponse> list(
             ConnectorsListRequest request, RequestOptions requestOptions) {
-        return this.rawClient.list(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request, requestOptions), response -> response.body());
     }
 
     /**
      * Creates a new connector. The connector is tested during registration and will cancel registration when the test is unsuccessful. See <a href="https://docs.cohere.com/v1/docs/creating-and-deploying-a-connector">'Creating and Deploying a Connector'</a> for more information.
      */
     public CompletableFuture<CreateConnectorResponse> create(CreateConnectorRequest request) {
-        return this.rawClient.create(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.create(request), response -> response.body());
     }
 
     /**
@@ -68,49 +69,50 @@ public class AsyncConnectorsClient {
      */
     public CompletableFuture<CreateConnectorResponse> create(
             CreateConnectorRequest request, RequestOptions requestOptions) {
-        return this.rawClient.create(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.create(request, requestOptions), response -> response.body());
     }
 
     /**
      * Retrieve a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<GetConnectorResponse> get(String id) {
-        return this.rawClient.get(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id), response -> response.body());
     }
 
     /**
      * Retrieve a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<GetConnectorResponse> get(String id, RequestOptions requestOptions) {
-        return this.rawClient.get(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id, requestOptions), response -> response.body());
     }
 
     /**
      * Delete a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<Map<String, Object>> delete(String id) {
-        return this.rawClient.delete(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.delete(id), response -> response.body());
     }
 
     /**
      * Delete a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<Map<String, Object>> delete(String id, RequestOptions requestOptions) {
-        return this.rawClient.delete(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.delete(id, requestOptions), response -> response.body());
     }
 
     /**
      * Update a connector by ID. Omitted fields will not be updated. See <a href="https://docs.cohere.com/docs/managing-your-connector">'Managing your Connector'</a> for more information.
      */
     public CompletableFuture<UpdateConnectorResponse> update(String id) {
-        return this.rawClient.update(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.update(id), response -> response.body());
     }
 
     /**
      * Update a connector by ID. Omitted fields will not be updated. See <a href="https://docs.cohere.com/docs/managing-your-connector">'Managing your Connector'</a> for more information.
      */
     public CompletableFuture<UpdateConnectorResponse> update(String id, UpdateConnectorRequest request) {
-        return this.rawClient.update(id, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.update(id, request), response -> response.body());
     }
 
     /**
@@ -118,14 +120,15 @@ public class AsyncConnectorsClient {
      */
     public CompletableFuture<UpdateConnectorResponse> update(
             String id, UpdateConnectorRequest request, RequestOptions requestOptions) {
-        return this.rawClient.update(id, request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.update(id, request, requestOptions), response -> response.body());
     }
 
     /**
      * Authorize the connector with the given ID for the connector oauth app.  See <a href="https://docs.cohere.com/docs/connector-authentication">'Connector Authentication'</a> for more information.
      */
     public CompletableFuture<OAuthAuthorizeResponse> oAuthAuthorize(String id) {
-        return this.rawClient.oAuthAuthorize(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.oAuthAuthorize(id), response -> response.body());
     }
 
     /**
@@ -133,7 +136,7 @@ public class AsyncConnectorsClient {
      */
     public CompletableFuture<OAuthAuthorizeResponse> oAuthAuthorize(
             String id, ConnectorsOAuthAuthorizeRequest request) {
-        return this.rawClient.oAuthAuthorize(id, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.oAuthAuthorize(id, request), response -> response.body());
     }
 
     /**
@@ -141,6 +144,7 @@ public class AsyncConnectorsClient {
      */
     public CompletableFuture<OAuthAuthorizeResponse> oAuthAuthorize(
             String id, ConnectorsOAuthAuthorizeRequest request, RequestOptions requestOptions) {
-        return this.rawClient.oAuthAuthorize(id, request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.oAuthAuthorize(id, request, requestOptions), response -> response.body());
     }
 }
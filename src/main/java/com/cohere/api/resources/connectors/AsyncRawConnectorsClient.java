@@ -3,6 +3,7 @@
  */
 package com.cohere.api.resources.connectors;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -39,7 +40,6 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -74,9 +74,7 @@ public class AsyncRawConnectorsClient {
      */
     public CompletableFuture<CohereHttpResponse<ListConnectorsResponse>> list(
             ConnectorsListRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/connectors");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/connectors");
         if (request.getLimit().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "limit", request.getLimit().get(), false);
@@ -88,7 +86,7 @@ public class AsyncRawConnectorsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -96,17 +94,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<ListConnectorsResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListConnectorsResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), ListConnectorsResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -202,10 +201,7 @@ public class AsyncRawConnectorsClient {
      */
     public CompletableFuture<CohereHttpResponse<CreateConnectorResponse>> create(
             CreateConnectorRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/connectors")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/connectors");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -216,7 +212,7 @@ public class AsyncRawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -225,17 +221,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<CreateConnectorResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateConnectorResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), CreateConnectorResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -330,7 +327,7 @@ public class AsyncRawConnectorsClient {
      * Retrieve a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<CohereHttpResponse<GetConnectorResponse>> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -338,7 +335,7 @@ public class AsyncRawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -346,17 +343,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<GetConnectorResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, GetConnectorResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), GetConnectorResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -451,7 +449,7 @@ public class AsyncRawConnectorsClient {
      * Delete a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CompletableFuture<CohereHttpResponse<Map<String, Object>>> delete(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -459,7 +457,7 @@ public class AsyncRawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("DELETE", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -467,18 +465,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Map<String, Object>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
                                 ObjectMappers.JSON_MAPPER.readValue(
-                                        responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                        responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -582,7 +580,7 @@ public class AsyncRawConnectorsClient {
      */
     public CompletableFuture<CohereHttpResponse<UpdateConnectorResponse>> update(
             String id, UpdateConnectorRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -597,7 +595,7 @@ public class AsyncRawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("PATCH", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -606,17 +604,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<UpdateConnectorResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, UpdateConnectorResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), UpdateConnectorResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -720,7 +719,7 @@ public class AsyncRawConnectorsClient {
      */
     public CompletableFuture<CohereHttpResponse<OAuthAuthorizeResponse>> oAuthAuthorize(
             String id, ConnectorsOAuthAuthorizeRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -736,7 +735,7 @@ public class AsyncRawConnectorsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -744,17 +743,18 @@ public class AsyncRawConnectorsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<OAuthAuthorizeResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, OAuthAuthorizeResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), OAuthAuthorizeResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -36,7 +36,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.util.Map;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -70,9 +69,7 @@ public class RawConnectorsClient {
      */
     public CohereHttpResponse<ListConnectorsResponse> list(
             ConnectorsListRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/connectors");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/connectors");
         if (request.getLimit().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "limit", request.getLimit().get(), false);
@@ -84,7 +81,7 @@ public class RawConnectorsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -93,12 +90,12 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListConnectorsResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ListConnectorsResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -161,10 +158,7 @@ public class RawConnectorsClient {
      */
     public CohereHttpResponse<CreateConnectorResponse> create(
             CreateConnectorRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/connectors")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/connectors");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -175,7 +169,7 @@ public class RawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -185,12 +179,12 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateConnectorResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), CreateConnectorResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -252,7 +246,7 @@ public class RawConnectorsClient {
      * Retrieve a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CohereHttpResponse<GetConnectorResponse> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -260,7 +254,7 @@ public class RawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -269,11 +263,12 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, GetConnectorResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), GetConnectorResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -335,7 +330,7 @@ public class RawConnectorsClient {
      * Delete a connector by ID. See <a href="https://docs.cohere.com/docs/connectors">'Connectors'</a> for more information.
      */
     public CohereHttpResponse<Map<String, Object>> delete(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -343,7 +338,7 @@ public class RawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("DELETE", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -352,13 +347,13 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
                         ObjectMappers.JSON_MAPPER.readValue(
-                                responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -428,7 +423,7 @@ public class RawConnectorsClient {
      */
     public CohereHttpResponse<UpdateConnectorResponse> update(
             String id, UpdateConnectorRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -443,7 +438,7 @@ public class RawConnectorsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("PATCH", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -453,12 +448,12 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, UpdateConnectorResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), UpdateConnectorResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -529,7 +524,7 @@ public class RawConnectorsClient {
      */
     public CohereHttpResponse<OAuthAuthorizeResponse> oAuthAuthorize(
             String id, ConnectorsOAuthAuthorizeRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/connectors")
                 .addPathSegment(id)
@@ -545,7 +540,7 @@ public class RawConnectorsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -554,12 +549,12 @@ public class RawConnectorsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, OAuthAuthorizeResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), OAuthAuthorizeResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
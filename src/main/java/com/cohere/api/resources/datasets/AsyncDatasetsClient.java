@@ -4,6 +4,7 @@
 package com.cohere.api.resources.datasets;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.datasets.requests.DatasetsCreateRequest;
 import com.cohere.api.resources.datasets.requests.DatasetsListRequest;
@@ -37,21 +38,21 @@ public class AsyncDatasetsClient {
      * List datasets that have been created.
      */
     public CompletableFuture<DatasetsListResponse> list() {
-        return this.rawClient.list().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(), response -> response.body());
     }
 
     /**
      * List datasets that have been created.
      */
     public CompletableFuture<DatasetsListResponse> list(DatasetsListRequest request) {
-        return this.rawClient.list(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request), response -> response.body());
     }
 
     /**
      * List datasets that have been created.
      */
     public CompletableFuture<DatasetsListResponse> list(DatasetsListRequest request, RequestOptions requestOptions) {
-        return this.rawClient.list(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -59,7 +60,8 @@ public class AsyncDatasetsClient {
      */
     public CompletableFuture<DatasetsCreateResponse> create(
             File data, Optional<File> evalData, DatasetsCreateRequest request) {
-        return this.rawClient.create(data, evalData, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.create(data, evalData, request), response -> response.body());
     }
 
     /**
@@ -67,48 +69,49 @@ public class AsyncDatasetsClient {
      */
     public CompletableFuture<DatasetsCreateResponse> create(
             File data, Optional<File> evalData, DatasetsCreateRequest request, RequestOptions requestOptions) {
-        return this.rawClient.create(data, evalData, request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.create(data, evalData, request, requestOptions), response -> response.body());
     }
 
     /**
      * View the dataset storage usage for your Organization. Each Organization can have up to 10GB of storage across all their users.
      */
     public CompletableFuture<DatasetsGetUsageResponse> getUsage() {
-        return this.rawClient.getUsage().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.getUsage(), response -> response.body());
     }
 
     /**
      * View the dataset storage usage for your Organization. Each Organization can have up to 10GB of storage across all their users.
      */
     public CompletableFuture<DatasetsGetUsageResponse> getUsage(RequestOptions requestOptions) {
-        return this.rawClient.getUsage(requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.getUsage(requestOptions), response -> response.body());
     }
 
     /**
      * Retrieve a dataset by ID. See <a href="https://docs.cohere.com/docs/datasets">'Datasets'</a> for more information.
      */
     public CompletableFuture<DatasetsGetResponse> get(String id) {
-        return this.rawClient.get(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id), response -> response.body());
     }
 
     /**
      * Retrieve a dataset by ID. See <a href="https://docs.cohere.com/docs/datasets">'Datasets'</a> for more information.
      */
     public CompletableFuture<DatasetsGetResponse> get(String id, RequestOptions requestOptions) {
-        return this.rawClient.get(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id, requestOptions), response -> response.body());
     }
 
     /**
      * Delete a dataset by ID. Datasets are automatically deleted after 30 days, but they can also be deleted manually.
      */
     public CompletableFuture<Map<String, Object>> delete(String id) {
-        return this.rawClient.delete(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.delete(id), response -> response.body());
     }
 
     /**
      * Delete a dataset by ID. Datasets are automatically deleted after 30 days, but they can also be deleted manually.
      */
     public CompletableFuture<Map<String, Object>> delete(String id, RequestOptions requestOptions) {
-        return this.rawClient.delete(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.delete(id, requestOptions), response -> response.body());
     }
 }
@@ -3,6 +3,7 @@
  */
 package com.cohere.api.resources.datasets;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -38,7 +39,6 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -75,9 +75,7 @@ public class AsyncRawDatasetsClient {
      */
     public CompletableFuture<CohereHttpResponse<DatasetsListResponse>> list(
             DatasetsListRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/datasets");
         if (request.getDatasetType().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "datasetType", request.getDatasetType().get(), false);
@@ -105,7 +103,7 @@ public class AsyncRawDatasetsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -113,17 +111,18 @@ public class AsyncRawDatasetsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<DatasetsListResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsListResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), DatasetsListResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -220,9 +219,7 @@ public class AsyncRawDatasetsClient {
      */
     public CompletableFuture<CohereHttpResponse<DatasetsCreateResponse>> create(
             File data, Optional<File> evalData, DatasetsCreateRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/datasets");
         QueryStringMapper.addQueryParameter(httpUrl, "name", request.getName(), false);
         QueryStringMapper.addQueryParameter(httpUrl, "type", request.getType(), false);
         if (request.getKeepOriginalFile().isPresent()) {
@@ -272,7 +269,7 @@ public class AsyncRawDatasetsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("POST", body.build())
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -280,17 +277,18 @@ public class AsyncRawDatasetsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<DatasetsCreateResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsCreateResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), DatasetsCreateResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -385,14 +383,11 @@ public class AsyncRawDatasetsClient {
      * View the dataset storage usage for your Organization. Each Organization can have up to 10GB of storage across all their users.
      */
     public CompletableFuture<CohereHttpResponse<DatasetsGetUsageResponse>> getUsage(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets/usage")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/datasets/usage");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -400,17 +395,18 @@ public class AsyncRawDatasetsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<DatasetsGetUsageResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsGetUsageResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), DatasetsGetUsageResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -505,7 +501,7 @@ public class AsyncRawDatasetsClient {
      * Retrieve a dataset by ID. See <a href="https://docs.cohere.com/docs/datasets">'Datasets'</a> for more information.
      */
     public CompletableFuture<CohereHttpResponse<DatasetsGetResponse>> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/datasets")
                 .addPathSegment(id)
@@ -513,7 +509,7 @@ public class AsyncRawDatasetsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -521,17 +517,18 @@ public class AsyncRawDatasetsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<DatasetsGetResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsGetResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), DatasetsGetResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -626,7 +623,7 @@ public class AsyncRawDatasetsClient {
      * Delete a dataset by ID. Datasets are automatically deleted after 30 days, but they can also be deleted manually.
      */
     public CompletableFuture<CohereHttpResponse<Map<String, Object>>> delete(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/datasets")
                 .addPathSegment(id)
@@ -634,7 +631,7 @@ public class AsyncRawDatasetsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("DELETE", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -642,18 +639,18 @@ public class AsyncRawDatasetsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Map<String, Object>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
                                 ObjectMappers.JSON_MAPPER.readValue(
-                                        responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                        responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
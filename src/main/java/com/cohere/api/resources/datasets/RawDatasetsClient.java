@@ -35,7 +35,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Map;
 import java.util.Optional;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -70,9 +69,7 @@ public class RawDatasetsClient {
      * List datasets that have been created.
      */
     public CohereHttpResponse<DatasetsListResponse> list(DatasetsListRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/datasets");
         if (request.getDatasetType().isPresent()) {
             QueryStringMapper.addQueryParameter(
                     httpUrl, "datasetType", request.getDatasetType().get(), false);
@@ -100,7 +97,7 @@ public class RawDatasetsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -109,11 +106,12 @@ public class RawDatasetsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsListResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), DatasetsListResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -177,9 +175,7 @@ public class RawDatasetsClient {
      */
     public CohereHttpResponse<DatasetsCreateResponse> create(
             File data, Optional<File> evalData, DatasetsCreateRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets");
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl().newBuilder().addPathSegments("v1/datasets");
         QueryStringMapper.addQueryParameter(httpUrl, "name", request.getName(), false);
         QueryStringMapper.addQueryParameter(httpUrl, "type", request.getType(), false);
         if (request.getKeepOriginalFile().isPresent()) {
@@ -229,7 +225,7 @@ public class RawDatasetsClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("POST", body.build())
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -238,12 +234,12 @@ public class RawDatasetsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsCreateResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), DatasetsCreateResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -305,14 +301,11 @@ public class RawDatasetsClient {
      * View the dataset storage usage for your Organization. Each Organization can have up to 10GB of storage across all their users.
      */
     public CohereHttpResponse<DatasetsGetUsageResponse> getUsage(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/datasets/usage")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/datasets/usage");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -321,12 +314,12 @@ public class RawDatasetsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsGetUsageResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), DatasetsGetUsageResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -388,7 +381,7 @@ public class RawDatasetsClient {
      * Retrieve a dataset by ID. See <a href="https://docs.cohere.com/docs/datasets">'Datasets'</a> for more information.
      */
     public CohereHttpResponse<DatasetsGetResponse> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/datasets")
                 .addPathSegment(id)
@@ -396,7 +389,7 @@ public class RawDatasetsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -405,11 +398,12 @@ public class RawDatasetsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, DatasetsGetResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), DatasetsGetResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -471,7 +465,7 @@ public class RawDatasetsClient {
      * Delete a dataset by ID. Datasets are automatically deleted after 30 days, but they can also be deleted manually.
      */
     public CohereHttpResponse<Map<String, Object>> delete(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/datasets")
                 .addPathSegment(id)
@@ -479,7 +473,7 @@ public class RawDatasetsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("DELETE", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -488,13 +482,13 @@ public class RawDatasetsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
                         ObjectMappers.JSON_MAPPER.readValue(
-                                responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
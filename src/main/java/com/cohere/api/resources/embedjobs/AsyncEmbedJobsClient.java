@@ -4,6 +4,7 @@
 package com.cohere.api.resources.embedjobs;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.embedjobs.requests.CreateEmbedJobRequest;
 import com.cohere.api.types.CreateEmbedJobResponse;
@@ -32,21 +33,21 @@ public class AsyncEmbedJobsClient {
      * The list embed job endpoint allows users to view all embed jobs history for that specific user.
      */
     public CompletableFuture<ListEmbedJobResponse> list() {
-        return this.rawClient.list().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(), response -> response.body());
     }
 
     /**
      * The list embed job endpoint allows users to view all embed jobs history for that specific user.
      */
     public CompletableFuture<ListEmbedJobResponse> list(RequestOptions requestOptions) {
-        return this.rawClient.list(requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(requestOptions), response -> response.body());
     }
 
     /**
      * This API launches an async Embed job for a <a href="https://docs.cohere.com/docs/datasets">Dataset</a> of type <code>embed-input</code>. The result of a completed embed job is new Dataset of type <code>embed-output</code>, which contains the original text entries and the corresponding embeddings.
      */
     public CompletableFuture<CreateEmbedJobResponse> create(CreateEmbedJobRequest request) {
-        return this.rawClient.create(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.create(request), response -> response.body());
     }
 
     /**
@@ -54,34 +55,35 @@ public class AsyncEmbedJobsClient {
      */
     public CompletableFuture<CreateEmbedJobResponse> create(
             CreateEmbedJobRequest request, RequestOptions requestOptions) {
-        return this.rawClient.create(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.create(request, requestOptions), response -> response.body());
     }
 
     /**
      * This API retrieves the details about an embed job started by the same user.
      */
     public CompletableFuture<EmbedJob> get(String id) {
-        return this.rawClient.get(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id), response -> response.body());
     }
 
     /**
      * This API retrieves the details about an embed job started by the same user.
      */
     public CompletableFuture<EmbedJob> get(String id, RequestOptions requestOptions) {
-        return this.rawClient.get(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(id, requestOptions), response -> response.body());
     }
 
     /**
      * This API allows users to cancel an active embed job. Once invoked, the embedding process will be terminated, and users will be charged for the embeddings processed up to the cancellation point. It's important to note that partial results will not be available to users after cancellation.
      */
     public CompletableFuture<Void> cancel(String id) {
-        return this.rawClient.cancel(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.cancel(id), response -> response.body());
     }
 
     /**
      * This API allows users to cancel an active embed job. Once invoked, the embedding process will be terminated, and users will be charged for the embeddings processed up to the cancellation point. It's important to note that partial results will not be available to users after cancellation.
      */
     public CompletableFuture<Void> cancel(String id, RequestOptions requestOptions) {
-        return this.rawClient.cancel(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.cancel(id, requestOptions), response -> response.body());
     }
 }
@@ -3,6 +3,7 @@
  */
 package com.cohere.api.resources.embedjobs;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -31,7 +32,6 @@ import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -58,14 +58,11 @@ public class AsyncRawEmbedJobsClient {
      * The list embed job endpoint allows users to view all embed jobs history for that specific user.
      */
     public CompletableFuture<CohereHttpResponse<ListEmbedJobResponse>> list(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed-jobs")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed-jobs");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -73,17 +70,18 @@ public class AsyncRawEmbedJobsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<ListEmbedJobResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListEmbedJobResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), ListEmbedJobResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -179,10 +177,7 @@ public class AsyncRawEmbedJobsClient {
      */
     public CompletableFuture<CohereHttpResponse<CreateEmbedJobResponse>> create(
             CreateEmbedJobRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed-jobs")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed-jobs");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -193,7 +188,7 @@ public class AsyncRawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -202,17 +197,18 @@ public class AsyncRawEmbedJobsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<CreateEmbedJobResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateEmbedJobResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), CreateEmbedJobResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -307,7 +303,7 @@ public class AsyncRawEmbedJobsClient {
      * This API retrieves the details about an embed job started by the same user.
      */
     public CompletableFuture<CohereHttpResponse<EmbedJob>> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/embed-jobs")
                 .addPathSegment(id)
@@ -315,7 +311,7 @@ public class AsyncRawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -323,16 +319,17 @@ public class AsyncRawEmbedJobsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<EmbedJob>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedJob.class), response));
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), EmbedJob.class),
+                                response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -427,7 +424,7 @@ public class AsyncRawEmbedJobsClient {
      * This API allows users to cancel an active embed job. Once invoked, the embedding process will be terminated, and users will be charged for the embeddings processed up to the cancellation point. It's important to note that partial results will not be available to users after cancellation.
      */
     public CompletableFuture<CohereHttpResponse<Void>> cancel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/embed-jobs")
                 .addPathSegment(id)
@@ -436,7 +433,7 @@ public class AsyncRawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -444,7 +441,7 @@ public class AsyncRawEmbedJobsClient {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Void>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
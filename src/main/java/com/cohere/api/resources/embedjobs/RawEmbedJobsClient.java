@@ -28,7 +28,6 @@ import com.cohere.api.types.EmbedJob;
 import com.cohere.api.types.ListEmbedJobResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -54,14 +53,11 @@ public class RawEmbedJobsClient {
      * The list embed job endpoint allows users to view all embed jobs history for that specific user.
      */
     public CohereHttpResponse<ListEmbedJobResponse> list(RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed-jobs")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed-jobs");
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -70,11 +66,12 @@ public class RawEmbedJobsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListEmbedJobResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ListEmbedJobResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -137,10 +134,7 @@ public class RawEmbedJobsClient {
      */
     public CohereHttpResponse<CreateEmbedJobResponse> create(
             CreateEmbedJobRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/embed-jobs")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/embed-jobs");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -151,7 +145,7 @@ public class RawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -161,12 +155,12 @@ public class RawEmbedJobsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateEmbedJobResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), CreateEmbedJobResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -228,7 +222,7 @@ public class RawEmbedJobsClient {
      * This API retrieves the details about an embed job started by the same user.
      */
     public CohereHttpResponse<EmbedJob> get(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/embed-jobs")
                 .addPathSegment(id)
@@ -236,7 +230,7 @@ public class RawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -245,11 +239,11 @@ public class RawEmbedJobsClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedJob.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), EmbedJob.class), response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -311,7 +305,7 @@ public class RawEmbedJobsClient {
      * This API allows users to cancel an active embed job. Once invoked, the embedding process will be terminated, and users will be charged for the embeddings processed up to the cancellation point. It's important to note that partial results will not be available to users after cancellation.
      */
     public CohereHttpResponse<Void> cancel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/embed-jobs")
                 .addPathSegment(id)
@@ -320,7 +314,7 @@ public class RawEmbedJobsClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", RequestBody.create("", null))
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
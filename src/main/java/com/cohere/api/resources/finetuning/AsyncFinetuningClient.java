@@ -4,6 +4,7 @@
 package com.cohere.api.resources.finetuning;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.finetuning.finetuning.types.CreateFinetunedModelResponse;
 import com.cohere.api.resources.finetuning.finetuning.types.FinetunedModel;
@@ -40,7 +41,7 @@ public class AsyncFinetuningClient {
      * Returns a list of fine-tuned models that the user has access to.
      */
     public CompletableFuture<ListFinetunedModelsResponse> listFinetunedModels() {
-        return this.rawClient.listFinetunedModels().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.listFinetunedModels(), response -> response.body());
     }
 
     /**
@@ -48,7 +49,7 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListFinetunedModelsResponse> listFinetunedModels(
             FinetuningListFinetunedModelsRequest request) {
-        return this.rawClient.listFinetunedModels(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.listFinetunedModels(request), response -> response.body());
     }
 
     /**
@@ -56,14 +57,15 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListFinetunedModelsResponse> listFinetunedModels(
             FinetuningListFinetunedModelsRequest request, RequestOptions requestOptions) {
-        return this.rawClient.listFinetunedModels(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listFinetunedModels(request, requestOptions), response -> response.body());
     }
 
     /**
      * Creates a new fine-tuned model. The model will be trained on the dataset specified in the request body. The training process may take some time, and the model will be available once the training is complete.
      */
     public CompletableFuture<CreateFinetunedModelResponse> createFinetunedModel(FinetunedModel request) {
-        return this.rawClient.createFinetunedModel(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.createFinetunedModel(request), response -> response.body());
     }
 
     /**
@@ -71,21 +73,23 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<CreateFinetunedModelResponse> createFinetunedModel(
             FinetunedModel request, RequestOptions requestOptions) {
-        return this.rawClient.createFinetunedModel(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.createFinetunedModel(request, requestOptions), response -> response.body());
     }
 
     /**
      * Retrieve a fine-tuned model by its ID.
      */
     public CompletableFuture<GetFinetunedModelResponse> getFinetunedModel(String id) {
-        return this.rawClient.getFinetunedModel(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.getFinetunedModel(id), response -> response.body());
     }
 
     /**
      * Retrieve a fine-tuned model by its ID.
      */
     public CompletableFuture<GetFinetunedModelResponse> getFinetunedModel(String id, RequestOptions requestOptions) {
-        return this.rawClient.getFinetunedModel(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.getFinetunedModel(id, requestOptions), response -> response.body());
     }
 
     /**
@@ -93,7 +97,7 @@ public class AsyncFinetuningClient {
      * This operation is irreversible.
      */
     public CompletableFuture<Map<String, Object>> deleteFinetunedModel(String id) {
-        return this.rawClient.deleteFinetunedModel(id).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.deleteFinetunedModel(id), response -> response.body());
     }
 
     /**
@@ -101,7 +105,8 @@ public class AsyncFinetuningClient {
      * This operation is irreversible.
      */
     public CompletableFuture<Map<String, Object>> deleteFinetunedModel(String id, RequestOptions requestOptions) {
-        return this.rawClient.deleteFinetunedModel(id, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.deleteFinetunedModel(id, requestOptions), response -> response.body());
     }
 
     /**
@@ -109,7 +114,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<UpdateFinetunedModelResponse> updateFinetunedModel(
             String id, FinetuningUpdateFinetunedModelRequest request) {
-        return this.rawClient.updateFinetunedModel(id, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.updateFinetunedModel(id, request), response -> response.body());
     }
 
     /**
@@ -117,7 +123,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<UpdateFinetunedModelResponse> updateFinetunedModel(
             String id, FinetuningUpdateFinetunedModelRequest request, RequestOptions requestOptions) {
-        return this.rawClient.updateFinetunedModel(id, request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.updateFinetunedModel(id, request, requestOptions), response -> response.body());
     }
 
     /**
@@ -126,7 +133,7 @@ public class AsyncFinetuningClient {
      * The list can be paginated using <code>page_size</code> and <code>page_token</code> parameters.
      */
     public CompletableFuture<ListEventsResponse> listEvents(String finetunedModelId) {
-        return this.rawClient.listEvents(finetunedModelId).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.listEvents(finetunedModelId), response -> response.body());
     }
 
     /**
@@ -136,7 +143,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListEventsResponse> listEvents(
             String finetunedModelId, FinetuningListEventsRequest request) {
-        return this.rawClient.listEvents(finetunedModelId, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listEvents(finetunedModelId, request), response -> response.body());
     }
 
     /**
@@ -146,9 +154,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListEventsResponse> listEvents(
             String finetunedModelId, FinetuningListEventsRequest request, RequestOptions requestOptions) {
-        return this.rawClient
-                .listEvents(finetunedModelId, request, requestOptions)
-                .thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listEvents(finetunedModelId, request, requestOptions), response -> response.body());
     }
 
     /**
@@ -157,7 +164,8 @@ public class AsyncFinetuningClient {
      * The list can be paginated using <code>page_size</code> and <code>page_token</code> parameters.
      */
     public CompletableFuture<ListTrainingStepMetricsResponse> listTrainingStepMetrics(String finetunedModelId) {
-        return this.rawClient.listTrainingStepMetrics(finetunedModelId).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listTrainingStepMetrics(finetunedModelId), response -> response.body());
     }
 
     /**
@@ -167,7 +175,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListTrainingStepMetricsResponse> listTrainingStepMetrics(
             String finetunedModelId, FinetuningListTrainingStepMetricsRequest request) {
-        return this.rawClient.listTrainingStepMetrics(finetunedModelId, request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listTrainingStepMetrics(finetunedModelId, request), response -> response.body());
     }
 
     /**
@@ -177,8 +186,8 @@ public class AsyncFinetuningClient {
      */
     public CompletableFuture<ListTrainingStepMetricsResponse> listTrainingStepMetrics(
             String finetunedModelId, FinetuningListTrainingStepMetricsRequest request, RequestOptions requestOptions) {
-        return this.rawClient
-                .listTrainingStepMetrics(finetunedModelId, request, requestOptions)
-                .thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.listTrainingStepMetrics(finetunedModelId, request, requestOptions),
+                response -> response.body());
     }
 }
@@ -32,7 +32,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.util.Map;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -68,7 +67,7 @@ public class RawFinetuningClient {
      */
     public CohereHttpResponse<ListFinetunedModelsResponse> listFinetunedModels(
             FinetuningListFinetunedModelsRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models");
         if (request.getPageSize().isPresent()) {
@@ -86,7 +85,7 @@ public class RawFinetuningClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -95,12 +94,13 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListFinetunedModelsResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(
+                                responseBody.byteStream(), ListFinetunedModelsResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -145,10 +145,7 @@ public class RawFinetuningClient {
      */
     public CohereHttpResponse<CreateFinetunedModelResponse> createFinetunedModel(
             FinetunedModel request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v1/finetuning/finetuned-models")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v1/finetuning/finetuned-models");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -159,7 +156,7 @@ public class RawFinetuningClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -169,12 +166,13 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, CreateFinetunedModelResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(
+                                responseBody.byteStream(), CreateFinetunedModelResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -218,7 +216,7 @@ public class RawFinetuningClient {
      * Retrieve a fine-tuned model by its ID.
      */
     public CohereHttpResponse<GetFinetunedModelResponse> getFinetunedModel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models")
                 .addPathSegment(id)
@@ -226,7 +224,7 @@ public class RawFinetuningClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -235,12 +233,12 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, GetFinetunedModelResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), GetFinetunedModelResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -286,7 +284,7 @@ public class RawFinetuningClient {
      * This operation is irreversible.
      */
     public CohereHttpResponse<Map<String, Object>> deleteFinetunedModel(String id, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models")
                 .addPathSegment(id)
@@ -294,7 +292,7 @@ public class RawFinetuningClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("DELETE", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json")
                 .build();
         OkHttpClient client = clientOptions.httpClient();
@@ -303,13 +301,13 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
                         ObjectMappers.JSON_MAPPER.readValue(
-                                responseBodyString, new TypeReference<Map<String, Object>>() {}),
+                                responseBody.byteStream(), new TypeReference<Map<String, Object>>() {}),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -355,7 +353,7 @@ public class RawFinetuningClient {
      */
     public CohereHttpResponse<UpdateFinetunedModelResponse> updateFinetunedModel(
             String id, FinetuningUpdateFinetunedModelRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models")
                 .addPathSegment(id)
@@ -370,7 +368,7 @@ public class RawFinetuningClient {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("PATCH", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -380,12 +378,13 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, UpdateFinetunedModelResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(
+                                responseBody.byteStream(), UpdateFinetunedModelResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -445,7 +444,7 @@ public class RawFinetuningClient {
      */
     public CohereHttpResponse<ListEventsResponse> listEvents(
             String finetunedModelId, FinetuningListEventsRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models")
                 .addPathSegment(finetunedModelId)
@@ -465,7 +464,7 @@ public class RawFinetuningClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -474,11 +473,12 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListEventsResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), ListEventsResponse.class),
+                        response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -539,7 +539,7 @@ public class RawFinetuningClient {
      */
     public CohereHttpResponse<ListTrainingStepMetricsResponse> listTrainingStepMetrics(
             String finetunedModelId, FinetuningListTrainingStepMetricsRequest request, RequestOptions requestOptions) {
-        HttpUrl.Builder httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
+        HttpUrl.Builder httpUrl = this.clientOptions.baseUrl()
                 .newBuilder()
                 .addPathSegments("v1/finetuning/finetuned-models")
                 .addPathSegment(finetunedModelId)
@@ -555,7 +555,7 @@ public class RawFinetuningClient {
         Request.Builder _requestBuilder = new Request.Builder()
                 .url(httpUrl.build())
                 .method("GET", null)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Accept", "application/json");
         Request okhttpRequest = _requestBuilder.build();
         OkHttpClient client = clientOptions.httpClient();
@@ -564,12 +564,13 @@ public class RawFinetuningClient {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, ListTrainingStepMetricsResponse.class),
+                        ObjectMappers.JSON_MAPPER.readValue(
+                                responseBody.byteStream(), ListTrainingStepMetricsResponse.class),
                         response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
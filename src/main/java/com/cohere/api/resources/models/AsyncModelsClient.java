@@ -4,6 +4,7 @@
 package com.cohere.api.resources.models;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
 import com.cohere.api.resources.models.requests.ModelsListRequest;
 import com.cohere.api.types.GetModelResponse;
@@ -31,34 +32,34 @@ public class AsyncModelsClient {
      * Returns the details of a model, provided its name.
      */
     public CompletableFuture<GetModelResponse> get(String model) {
-        return this.rawClient.get(model).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(model), response -> response.body());
     }
 
     /**
      * Returns the details of a model, provided its name.
      */
     public CompletableFuture<GetModelResponse> get(String model, RequestOptions requestOptions) {
-        return this.rawClient.get(model, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.get(model, requestOptions), response -> response.body());
     }
 
     /**
      * Returns a list of models available for use.
      */
     public CompletableFuture<ListModelsResponse> list() {
-        return this.rawClient.list().thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(), response -> response.body());
     }
 
     /**
      * Returns a list of models available for use.
      */
     public CompletableFuture<ListModelsResponse> list(ModelsListRequest request) {
-        return this.rawClient.list(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request), response -> response.body());
     }
 
     /**
      * Returns a list of models available for use.
      */
     public CompletableFuture<ListModelsResponse> list(ModelsListRequest request, RequestOptions requestOptions) {
-        return this.rawClient.list(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.list(request, requestOptions), response -> response.body());
     }
 }
@@ -3,6 +3,7 @@
  */
 package com.cohere.api.resources.v2;
 
+import com.cohere.api.core.AsyncHttpCall;
 import com.cohere.api.core.ClientOptions;
 import com.cohere.api.core.CohereApiException;
 import com.cohere.api.core.CohereException;
@@ -10,7 +11,6 @@ import com.cohere.api.core.CohereHttpResponse;
 import com.cohere.api.core.MediaTypes;
 import com.cohere.api.core.ObjectMappers;
 import com.cohere.api.core.RequestOptions;
-import com.cohere.api.core.ResponseBodyReader;
 import com.cohere.api.core.Stream;
 import com.cohere.api.errors.BadRequestError;
 import com.cohere.api.errors.ClientClosedRequestError;
@@ -32,12 +32,14 @@ import com.cohere.api.resources.v2.types.V2ChatResponse;
 import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
 import com.cohere.api.resources.v2.types.V2RerankResponse;
 import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbeddingSink;
+import com.cohere.api.types.EmbeddingSinkReader;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import okhttp3.Call;
 import okhttp3.Callback;
-import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -68,10 +70,17 @@ public class AsyncRawV2Client {
      */
     public CompletableFuture<CohereHttpResponse<Iterable<V2ChatStreamResponse>>> chatStream(
             V2ChatStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/chat")
-                .build();
+        return chatStream(request, null, requestOptions);
+    }
+
+    /**
+     * Streams a chat response, yielding only the events whose type is in {@code eventTypes} (for example
+     * {@code content-delta} and {@code message-end}). Other events are skipped before they are deserialized. A null set
+     * yields every event.
+     */
+    public CompletableFuture<CohereHttpResponse<Iterable<V2ChatStreamResponse>>> chatStream(
+            V2ChatStreamRequest request, Set<String> eventTypes, RequestOptions requestOptions) {
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -82,7 +91,7 @@ public class AsyncRawV2Client {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -91,14 +100,14 @@ public class AsyncRawV2Client {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<Iterable<V2ChatStreamResponse>>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try {
                     ResponseBody responseBody = response.body();
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                Stream.fromSse(V2ChatStreamResponse.class, new ResponseBodyReader(response)),
+                                Stream.fromSse(V2ChatStreamResponse.class, response, call, null, eventTypes),
                                 response));
                         return;
                     }
@@ -200,10 +209,7 @@ public class AsyncRawV2Client {
      */
     public CompletableFuture<CohereHttpResponse<V2ChatResponse>> chat(
             V2ChatRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -214,7 +220,7 @@ public class AsyncRawV2Client {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -223,17 +229,17 @@ public class AsyncRawV2Client {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<V2ChatResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
                         future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, V2ChatResponse.class),
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), V2ChatResponse.class),
                                 response));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -333,21 +339,37 @@ public class AsyncRawV2Client {
      */
     public CompletableFuture<CohereHttpResponse<EmbedByTypeResponse>> embed(
             V2EmbedRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/embed")
-                .build();
-        RequestBody body;
+        return embed(request, null, requestOptions);
+    }
+
+    /**
+     * Embeds the request like {@link #embed(V2EmbedRequest, RequestOptions)}, handing each embedding to {@code sink}
+     * as it is parsed instead of collecting them. The returned response has an empty {@code embeddings} object.
+     *
+     * @throws IllegalArgumentException if {@code sink} does not accept a requested embedding type
+     */
+    public CompletableFuture<CohereHttpResponse<EmbedByTypeResponse>> embed(
+            V2EmbedRequest request, EmbeddingSink sink, RequestOptions requestOptions) {
+        if (sink != null) {
+            sink.checkAccepts(request.getEmbeddingTypes());
+        }
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/embed");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = sink == null ? clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody) : null;
+        CohereHttpResponse<EmbedByTypeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return AsyncHttpCall.completed(clientOptions, cachedResponse);
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -356,17 +378,20 @@ public class AsyncRawV2Client {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<EmbedByTypeResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
-                        future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedByTypeResponse.class),
-                                response));
+                        EmbedByTypeResponse parsedResponse = sink != null
+                                ? EmbeddingSinkReader.read(responseBody.byteStream(), sink)
+                                : ObjectMappers.JSON_MAPPER.readValue(
+                                        responseBody.byteStream(), EmbedByTypeResponse.class);
+                        future.complete(clientOptions.cacheResponse(
+                                cacheKey, new CohereHttpResponse<>(parsedResponse, response)));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -439,6 +464,9 @@ public class AsyncRawV2Client {
                     return;
                 } catch (IOException e) {
                     future.completeExceptionally(new CohereException("Network error executing HTTP request", e));
+                } catch (RuntimeException e) {
+                    // Thrown by the sink; it must fail the call rather than escape into OkHttp.
+                    future.completeExceptionally(e);
                 }
             }
 
@@ -462,21 +490,23 @@ public class AsyncRawV2Client {
      */
     public CompletableFuture<CohereHttpResponse<V2RerankResponse>> rerank(
             V2RerankRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/rerank")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/rerank");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<V2RerankResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return AsyncHttpCall.completed(clientOptions, cachedResponse);
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -485,17 +515,18 @@ public class AsyncRawV2Client {
             client = clientOptions.httpClientWithTimeout(requestOptions);
         }
         CompletableFuture<CohereHttpResponse<V2RerankResponse>> future = new CompletableFuture<>();
-        client.newCall(okhttpRequest).enqueue(new Callback() {
+        AsyncHttpCall.enqueue(clientOptions, client, okhttpRequest, future, new Callback() {
             @Override
             public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
                 try (ResponseBody responseBody = response.body()) {
-                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     if (response.isSuccessful()) {
-                        future.complete(new CohereHttpResponse<>(
-                                ObjectMappers.JSON_MAPPER.readValue(responseBodyString, V2RerankResponse.class),
-                                response));
+                        V2RerankResponse parsedResponse =
+                                ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), V2RerankResponse.class);
+                        future.complete(clientOptions.cacheResponse(
+                                cacheKey, new CohereHttpResponse<>(parsedResponse, response)));
                         return;
                     }
+                    String responseBodyString = responseBody != null ? responseBody.string() : "{}";
                     try {
                         switch (response.code()) {
                             case 400:
@@ -4,7 +4,10 @@
 package com.cohere.api.resources.v2;
 
 import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.CompletableFutures;
 import com.cohere.api.core.RequestOptions;
+import com.cohere.api.core.StreamPublisher;
+import com.cohere.api.core.StreamSubscriber;
 import com.cohere.api.resources.v2.requests.V2ChatRequest;
 import com.cohere.api.resources.v2.requests.V2ChatStreamRequest;
 import com.cohere.api.resources.v2.requests.V2EmbedRequest;
@@ -13,7 +16,10 @@ import com.cohere.api.resources.v2.types.V2ChatResponse;
 import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
 import com.cohere.api.resources.v2.types.V2RerankResponse;
 import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbeddingSink;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class AsyncV2Client {
     protected final ClientOptions clientOptions;
@@ -37,7 +43,7 @@ public class AsyncV2Client {
      * <p>Follow the <a href="https://docs.cohere.com/v2/docs/migrating-v1-to-v2">Migration Guide</a> for instructions on moving from API v1 to API v2.</p>
      */
     public CompletableFuture<Iterable<V2ChatStreamResponse>> chatStream(V2ChatStreamRequest request) {
-        return this.rawClient.chatStream(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chatStream(request), response -> response.body());
     }
 
     /**
@@ -46,7 +52,60 @@ public class AsyncV2Client {
      */
     public CompletableFuture<Iterable<V2ChatStreamResponse>> chatStream(
             V2ChatStreamRequest request, RequestOptions requestOptions) {
-        return this.rawClient.chatStream(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.chatStream(request, requestOptions), response -> response.body());
+    }
+
+    /**
+     * Streams a chat response, yielding only the events whose type is in {@code eventTypes} (for example
+     * {@code content-delta} and {@code message-end}). Other events are skipped before they are deserialized. A null set
+     * yields every event.
+     */
+    public CompletableFuture<Iterable<V2ChatStreamResponse>> chatStream(
+            V2ChatStreamRequest request, Set<String> eventTypes, RequestOptions requestOptions) {
+        return CompletableFutures.thenApply(
+                this.rawClient.chatStream(request, eventTypes, requestOptions), response -> response.body());
+    }
+
+    /**
+     * Streams a chat response, pushing each event to {@code subscriber} as it is requested instead of returning a
+     * blocking {@link Iterable}.
+     */
+    public void chatStream(V2ChatStreamRequest request, StreamSubscriber<V2ChatStreamResponse> subscriber) {
+        chatStream(request, null, null, subscriber);
+    }
+
+    /**
+     * Streams a chat response, pushing each event whose type is in {@code eventTypes} to {@code subscriber} as it is
+     * requested. A null set delivers every event.
+     * <p>
+     * Events are read on a bounded shared pool of daemon threads. A blocking read holds one of its threads for as
+     * long as the subscriber has outstanding demand, so when the pool is exhausted further streams wait for a thread.
+     * Use {@link #chatStream(V2ChatStreamRequest, Set, RequestOptions, Executor, StreamSubscriber)} to read on threads
+     * of your own.
+     */
+    public void chatStream(
+            V2ChatStreamRequest request,
+            Set<String> eventTypes,
+            RequestOptions requestOptions,
+            StreamSubscriber<V2ChatStreamResponse> subscriber) {
+        StreamPublisher.subscribe(chatStream(request, eventTypes, requestOptions), subscriber);
+    }
+
+    /**
+     * Streams a chat response, pushing each event whose type is in {@code eventTypes} to {@code subscriber} as it is
+     * requested, with the events read on {@code executor}. A null set delivers every event.
+     * <p>
+     * Each open stream with outstanding demand occupies one of the executor's threads while it waits for the next
+     * event, so the executor bounds how many streams are read at once.
+     */
+    public void chatStream(
+            V2ChatStreamRequest request,
+            Set<String> eventTypes,
+            RequestOptions requestOptions,
+            Executor executor,
+            StreamSubscriber<V2ChatStreamResponse> subscriber) {
+        StreamPublisher.subscribe(chatStream(request, eventTypes, requestOptions), executor, subscriber);
     }
 
     /**
@@ -54,7 +113,7 @@ public class AsyncV2Client {
      * <p>Follow the <a href="https://docs.cohere.com/v2/docs/migrating-v1-to-v2">Migration Guide</a> for instructions on moving from API v1 to API v2.</p>
      */
     public CompletableFuture<V2ChatResponse> chat(V2ChatRequest request) {
-        return this.rawClient.chat(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chat(request), response -> response.body());
     }
 
     /**
@@ -62,7 +121,7 @@ public class AsyncV2Client {
      * <p>Follow the <a href="https://docs.cohere.com/v2/docs/migrating-v1-to-v2">Migration Guide</a> for instructions on moving from API v1 to API v2.</p>
      */
     public CompletableFuture<V2ChatResponse> chat(V2ChatRequest request, RequestOptions requestOptions) {
-        return this.rawClient.chat(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.chat(request, requestOptions), response -> response.body());
     }
 
     /**
@@ -71,7 +130,7 @@ public class AsyncV2Client {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CompletableFuture<EmbedByTypeResponse> embed(V2EmbedRequest request) {
-        return this.rawClient.embed(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.embed(request), response -> response.body());
     }
 
     /**
@@ -80,20 +139,31 @@ public class AsyncV2Client {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CompletableFuture<EmbedByTypeResponse> embed(V2EmbedRequest request, RequestOptions requestOptions) {
-        return this.rawClient.embed(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.embed(request, requestOptions), response -> response.body());
+    }
+
+    /**
+     * Embeds the request like {@link #embed(V2EmbedRequest, RequestOptions)}, handing each embedding to {@code sink}
+     * as it is parsed instead of collecting them. The returned response has an empty {@code embeddings} object.
+     */
+    public CompletableFuture<EmbedByTypeResponse> embed(
+            V2EmbedRequest request, EmbeddingSink sink, RequestOptions requestOptions) {
+        return CompletableFutures.thenApply(
+                this.rawClient.embed(request, sink, requestOptions), response -> response.body());
     }
 
     /**
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CompletableFuture<V2RerankResponse> rerank(V2RerankRequest request) {
-        return this.rawClient.rerank(request).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(this.rawClient.rerank(request), response -> response.body());
     }
 
     /**
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CompletableFuture<V2RerankResponse> rerank(V2RerankRequest request, RequestOptions requestOptions) {
-        return this.rawClient.rerank(request, requestOptions).thenApply(response -> response.body());
+        return CompletableFutures.thenApply(
+                this.rawClient.rerank(request, requestOptions), response -> response.body());
     }
 }
@@ -10,7 +10,6 @@ import com.cohere.api.core.CohereHttpResponse;
 import com.cohere.api.core.MediaTypes;
 import com.cohere.api.core.ObjectMappers;
 import com.cohere.api.core.RequestOptions;
-import com.cohere.api.core.ResponseBodyReader;
 import com.cohere.api.core.Stream;
 import com.cohere.api.errors.BadRequestError;
 import com.cohere.api.errors.ClientClosedRequestError;
@@ -32,9 +31,11 @@ import com.cohere.api.resources.v2.types.V2ChatResponse;
 import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
 import com.cohere.api.resources.v2.types.V2RerankResponse;
 import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbeddingSink;
+import com.cohere.api.types.EmbeddingSinkReader;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
-import okhttp3.Headers;
+import java.util.Set;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -63,10 +64,17 @@ public class RawV2Client {
      */
     public CohereHttpResponse<Iterable<V2ChatStreamResponse>> chatStream(
             V2ChatStreamRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/chat")
-                .build();
+        return chatStream(request, null, requestOptions);
+    }
+
+    /**
+     * Streams a chat response, yielding only the events whose type is in {@code eventTypes} (for example
+     * {@code content-delta} and {@code message-end}). Other events are skipped before they are deserialized. A null set
+     * yields every event.
+     */
+    public CohereHttpResponse<Iterable<V2ChatStreamResponse>> chatStream(
+            V2ChatStreamRequest request, Set<String> eventTypes, RequestOptions requestOptions) {
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -77,7 +85,7 @@ public class RawV2Client {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -90,7 +98,7 @@ public class RawV2Client {
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        Stream.fromSse(V2ChatStreamResponse.class, new ResponseBodyReader(response)), response);
+                        Stream.fromSse(V2ChatStreamResponse.class, response, null, null, eventTypes), response);
             }
             String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
@@ -156,10 +164,7 @@ public class RawV2Client {
      * <p>Follow the <a href="https://docs.cohere.com/v2/docs/migrating-v1-to-v2">Migration Guide</a> for instructions on moving from API v1 to API v2.</p>
      */
     public CohereHttpResponse<V2ChatResponse> chat(V2ChatRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/chat")
-                .build();
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/chat");
         RequestBody body;
         try {
             body = RequestBody.create(
@@ -170,7 +175,7 @@ public class RawV2Client {
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -180,11 +185,11 @@ public class RawV2Client {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
                 return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, V2ChatResponse.class), response);
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), V2ChatResponse.class), response);
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -250,21 +255,37 @@ public class RawV2Client {
      * <p>If you want to learn more how to use the embedding model, have a look at the <a href="https://docs.cohere.com/docs/semantic-search">Semantic Search Guide</a>.</p>
      */
     public CohereHttpResponse<EmbedByTypeResponse> embed(V2EmbedRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/embed")
-                .build();
-        RequestBody body;
+        return embed(request, null, requestOptions);
+    }
+
+    /**
+     * Embeds the request like {@link #embed(V2EmbedRequest, RequestOptions)}, handing each embedding to {@code sink}
+     * as it is parsed instead of collecting them. The returned response has an empty {@code embeddings} object.
+     *
+     * @throws IllegalArgumentException if {@code sink} does not accept a requested embedding type
+     */
+    public CohereHttpResponse<EmbedByTypeResponse> embed(
+            V2EmbedRequest request, EmbeddingSink sink, RequestOptions requestOptions) {
+        if (sink != null) {
+            sink.checkAccepts(request.getEmbeddingTypes());
+        }
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/embed");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = sink == null ? clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody) : null;
+        CohereHttpResponse<EmbedByTypeResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -274,11 +295,13 @@ public class RawV2Client {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, EmbedByTypeResponse.class), response);
+                EmbedByTypeResponse parsedResponse = sink != null
+                        ? EmbeddingSinkReader.read(responseBody.byteStream(), sink)
+                        : ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), EmbedByTypeResponse.class);
+                return clientOptions.cacheResponse(cacheKey, new CohereHttpResponse<>(parsedResponse, response));
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -340,21 +363,23 @@ public class RawV2Client {
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
     public CohereHttpResponse<V2RerankResponse> rerank(V2RerankRequest request, RequestOptions requestOptions) {
-        HttpUrl httpUrl = HttpUrl.parse(this.clientOptions.environment().getUrl())
-                .newBuilder()
-                .addPathSegments("v2/rerank")
-                .build();
-        RequestBody body;
+        HttpUrl httpUrl = this.clientOptions.endpointUrl("v2/rerank");
+        byte[] requestBody;
         try {
-            body = RequestBody.create(
-                    ObjectMappers.JSON_MAPPER.writeValueAsBytes(request), MediaTypes.APPLICATION_JSON);
+            requestBody = ObjectMappers.JSON_MAPPER.writeValueAsBytes(request);
         } catch (JsonProcessingException e) {
             throw new CohereException("Failed to serialize request", e);
         }
+        String cacheKey = clientOptions.responseCacheKey(httpUrl, requestOptions, requestBody);
+        CohereHttpResponse<V2RerankResponse> cachedResponse = clientOptions.cachedResponse(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        RequestBody body = RequestBody.create(requestBody, MediaTypes.APPLICATION_JSON);
         Request okhttpRequest = new Request.Builder()
                 .url(httpUrl)
                 .method("POST", body)
-                .headers(Headers.of(clientOptions.headers(requestOptions)))
+                .headers(clientOptions.httpHeaders(requestOptions))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
                 .build();
@@ -364,11 +389,12 @@ public class RawV2Client {
         }
         try (Response response = client.newCall(okhttpRequest).execute()) {
             ResponseBody responseBody = response.body();
-            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             if (response.isSuccessful()) {
-                return new CohereHttpResponse<>(
-                        ObjectMappers.JSON_MAPPER.readValue(responseBodyString, V2RerankResponse.class), response);
+                V2RerankResponse parsedResponse =
+                        ObjectMappers.JSON_MAPPER.readValue(responseBody.byteStream(), V2RerankResponse.class);
+                return clientOptions.cacheResponse(cacheKey, new CohereHttpResponse<>(parsedResponse, response));
             }
+            String responseBodyString = responseBody != null ? responseBody.string() : "{}";
             try {
                 switch (response.code()) {
                     case 400:
@@ -13,6 +13,8 @@ import com.cohere.api.resources.v2.types.V2ChatResponse;
 import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
 import com.cohere.api.resources.v2.types.V2RerankResponse;
 import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbeddingSink;
+import java.util.Set;
 
 public class V2Client {
     protected final ClientOptions clientOptions;
@@ -47,6 +49,16 @@ public class V2Client {
         return this.rawClient.chatStream(request, requestOptions).body();
     }
 
+    /**
+     * Streams a chat response, yielding only the events whose type is in {@code eventTypes} (for example
+     * {@code content-delta} and {@code message-end}). Other events are skipped before they are deserialized. A null set
+     * yields every event.
+     */
+    public Iterable<V2ChatStreamResponse> chatStream(
+            V2ChatStreamRequest request, Set<String> eventTypes, RequestOptions requestOptions) {
+        return this.rawClient.chatStream(request, eventTypes, requestOptions).body();
+    }
+
     /**
      * Generates a text response to a user message and streams it down, token by token. To learn how to use the Chat API with streaming follow our <a href="https://docs.cohere.com/v2/docs/chat-api">Text Generation guides</a>.
      * <p>Follow the <a href="https://docs.cohere.com/v2/docs/migrating-v1-to-v2">Migration Guide</a> for instructions on moving from API v1 to API v2.</p>
@@ -81,6 +93,14 @@ public class V2Client {
         return this.rawClient.embed(request, requestOptions).body();
     }
 
+    /**
+     * Embeds the request like {@link #embed(V2EmbedRequest, RequestOptions)}, handing each embedding to {@code sink}
+     * as it is parsed instead of collecting them. The returned response has an empty {@code embeddings} object.
+     */
+    public EmbedByTypeResponse embed(V2EmbedRequest request, EmbeddingSink sink, RequestOptions requestOptions) {
+        return this.rawClient.embed(request, sink, requestOptions).body();
+    }
+
     /**
      * This endpoint takes in a query and a list of texts and produces an ordered array with each text assigned a relevance score.
      */
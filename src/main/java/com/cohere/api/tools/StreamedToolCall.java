@@ -0,0 +1,76 @@
+package com.cohere.api.tools;
+
+import com.cohere.api.types.ToolCallV2;
+import com.cohere.api.types.ToolCallV2Function;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A tool call assembled from a chat stream by a {@link ToolCallAccumulator}, with its arguments already parsed.
+ */
+public final class StreamedToolCall {
+    private final int index;
+
+    private final String id;
+
+    private final String name;
+
+    private final String arguments;
+
+    private final JsonNode parsedArguments;
+
+    StreamedToolCall(int index, String id, String name, String arguments, JsonNode parsedArguments) {
+        this.index = index;
+        this.id = id;
+        this.name = name;
+        this.arguments = arguments;
+        this.parsedArguments = parsedArguments;
+    }
+
+    /**
+     * @return The position of the tool call in the assistant message.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The name of the tool to call.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The arguments as streamed, a JSON string.
+     */
+    public String getArguments() {
+        return arguments;
+    }
+
+    public JsonNode getParsedArguments() {
+        return parsedArguments;
+    }
+
+    /**
+     * @return The tool call as it appears in an assistant message, for example to send it back with the tool results.
+     */
+    public ToolCallV2 toToolCall() {
+        return ToolCallV2.builder()
+                .id(id)
+                .function(ToolCallV2Function.builder()
+                        .name(name)
+                        .arguments(arguments)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamedToolCall{index: " + index + ", id: " + id + ", name: " + name + ", arguments: " + arguments
+                + "}";
+    }
+}
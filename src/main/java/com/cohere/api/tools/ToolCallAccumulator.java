@@ -0,0 +1,222 @@
+package com.cohere.api.tools;
+
+import com.cohere.api.core.CohereException;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
+import com.cohere.api.types.ChatToolCallDeltaEvent;
+import com.cohere.api.types.ChatToolCallDeltaEventDelta;
+import com.cohere.api.types.ChatToolCallDeltaEventDeltaMessage;
+import com.cohere.api.types.ChatToolCallDeltaEventDeltaMessageToolCalls;
+import com.cohere.api.types.ChatToolCallDeltaEventDeltaMessageToolCallsFunction;
+import com.cohere.api.types.ChatToolCallEndEvent;
+import com.cohere.api.types.ChatToolCallStartEvent;
+import com.cohere.api.types.ChatToolCallStartEventDelta;
+import com.cohere.api.types.ChatToolCallStartEventDeltaMessage;
+import com.cohere.api.types.ToolCallV2;
+import com.cohere.api.types.ToolCallV2Function;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Assembles tool calls from the events of a V2 chat stream, handing each one to a callback as soon as its arguments
+ * are complete.
+ * <p>
+ * Argument fragments are fed to a non-blocking JSON parser as they arrive, so a call is complete the moment the
+ * closing brace of its arguments is streamed, without waiting for its {@code tool-call-end} event or for the calls
+ * after it. This lets the first tool run while the model is still writing the arguments of the second. Malformed
+ * arguments are reported as soon as the parser sees them.
+ * <p>
+ * Pass every event of the stream to {@link #accept(V2ChatStreamResponse)}; events other than tool call events are
+ * ignored. The callback runs on the calling thread. An accumulator is meant for one stream and is not thread-safe.
+ */
+public final class ToolCallAccumulator implements Consumer<V2ChatStreamResponse> {
+    private final Consumer<StreamedToolCall> onToolCall;
+
+    private final Map<Integer, PendingCall> pending = new HashMap<>();
+
+    private final List<StreamedToolCall> completed = new ArrayList<>();
+
+    /**
+     * @param onToolCall Called with each tool call once its arguments are complete, in the order they complete.
+     */
+    public ToolCallAccumulator(Consumer<StreamedToolCall> onToolCall) {
+        this.onToolCall = onToolCall;
+    }
+
+    /**
+     * Handles one stream event, calling back for any tool call it completes.
+     *
+     * @throws CohereException if the arguments of a tool call are not valid JSON
+     */
+    @Override
+    public void accept(V2ChatStreamResponse event) {
+        if (event.isToolCallStart()) {
+            start(event.getToolCallStart().get());
+        } else if (event.isToolCallDelta()) {
+            delta(event.getToolCallDelta().get());
+        } else if (event.isToolCallEnd()) {
+            end(event.getToolCallEnd().get());
+        }
+    }
+
+    /**
+     * @return The tool calls completed so far, in the order they completed.
+     */
+    public List<StreamedToolCall> getCompleted() {
+        return Collections.unmodifiableList(completed);
+    }
+
+    private void start(ChatToolCallStartEvent event) {
+        Optional<ToolCallV2> toolCall = event.getDelta()
+                .flatMap(ChatToolCallStartEventDelta::getMessage)
+                .flatMap(ChatToolCallStartEventDeltaMessage::getToolCalls);
+        int index = event.getIndex().orElse(0);
+        PendingCall call = new PendingCall(
+                index,
+                toolCall.map(ToolCallV2::getId).orElse(""),
+                toolCall.flatMap(ToolCallV2::getFunction)
+                        .flatMap(ToolCallV2Function::getName)
+                        .orElse(""));
+        pending.put(index, call);
+        toolCall.flatMap(ToolCallV2::getFunction)
+                .flatMap(ToolCallV2Function::getArguments)
+                .ifPresent(arguments -> feed(call, arguments));
+    }
+
+    private void delta(ChatToolCallDeltaEvent event) {
+        PendingCall call = pending.get(event.getIndex().orElse(0));
+        Optional<String> arguments = event.getDelta()
+                .flatMap(ChatToolCallDeltaEventDelta::getMessage)
+                .flatMap(ChatToolCallDeltaEventDeltaMessage::getToolCalls)
+                .flatMap(ChatToolCallDeltaEventDeltaMessageToolCalls::getFunction)
+                .flatMap(ChatToolCallDeltaEventDeltaMessageToolCallsFunction::getArguments);
+        if (call != null && arguments.isPresent()) {
+            feed(call, arguments.get());
+        }
+    }
+
+    /**
+     * Completes a call whose arguments did not close themselves, such as a call streamed without any arguments.
+     */
+    private void end(ChatToolCallEndEvent event) {
+        PendingCall call = pending.remove(event.getIndex().orElse(0));
+        if (call == null || call.done) {
+            return;
+        }
+        if (call.arguments.length() == 0) {
+            complete(call, ObjectMappers.JSON_MAPPER.createObjectNode());
+            return;
+        }
+        call.parser.getNonBlockingInputFeeder().endOfInput();
+        parse(call);
+        if (!call.done) {
+            throw new CohereException("Incomplete arguments for tool call " + call.id + ": " + call.arguments);
+        }
+    }
+
+    private void feed(PendingCall call, String fragment) {
+        if (call.done || fragment.isEmpty()) {
+            return;
+        }
+        call.arguments.append(fragment);
+        // A fragment may end between the two halves of a surrogate pair, which only encode together.
+        String text = call.pendingSurrogate != 0 ? call.pendingSurrogate + fragment : fragment;
+        call.pendingSurrogate = 0;
+        if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+            call.pendingSurrogate = text.charAt(text.length() - 1);
+            text = text.substring(0, text.length() - 1);
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) call.parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new CohereException("Failed to parse arguments for tool call " + call.id, e);
+        }
+        parse(call);
+    }
+
+    /**
+     * Consumes every token the parser can produce from the input fed so far, completing the call once its root value
+     * closes.
+     */
+    private void parse(PendingCall call) {
+        try {
+            JsonToken token;
+            while ((token = call.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                call.tokens.copyCurrentEvent(call.parser);
+                if (token.isStructStart()) {
+                    call.depth++;
+                } else if (token.isStructEnd()) {
+                    call.depth--;
+                }
+                if (call.depth == 0) {
+                    JsonParser tokens = call.tokens.asParser(ObjectMappers.JSON_MAPPER);
+                    complete(call, ObjectMappers.JSON_MAPPER.readTree(tokens));
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new CohereException("Failed to parse arguments for tool call " + call.id, e);
+        }
+    }
+
+    private void complete(PendingCall call, JsonNode parsedArguments) {
+        call.done = true;
+        try {
+            call.parser.close();
+        } catch (IOException e) {
+            // Nothing to release for an in-memory parser.
+        }
+        StreamedToolCall toolCall =
+                new StreamedToolCall(call.index, call.id, call.name, call.arguments.toString(), parsedArguments);
+        completed.add(toolCall);
+        onToolCall.accept(toolCall);
+    }
+
+    /**
+     * The state of a tool call whose arguments are still streaming.
+     */
+    private static final class PendingCall {
+        private final int index;
+
+        private final String id;
+
+        private final String name;
+
+        private final StringBuilder arguments = new StringBuilder();
+
+        private final JsonParser parser;
+
+        private final TokenBuffer tokens;
+
+        private char pendingSurrogate = 0;
+
+        private int depth = 0;
+
+        private boolean done = false;
+
+        private PendingCall(int index, String id, String name) {
+            this.index = index;
+            this.id = id;
+            this.name = name;
+            try {
+                this.parser = ObjectMappers.JSON_MAPPER.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new CohereException("Failed to create a JSON parser", e);
+            }
+            this.tokens = new TokenBuffer(parser);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.cohere.api.types;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A batch of base64 embeddings kept in their encoded form until a vector is read.
+ * <p>
+ * Each embedding is the base64 encoding of its little-endian float32 components. The encoded text of all embeddings
+ * is copied from the token stream into a single ASCII {@code byte[]}. {@link #decodeTo(int, float[], int)} and
+ * {@link #decodeTo(int, ByteBuffer)} decode one embedding straight into the caller's array or buffer, which can be
+ * reused across reads, without an intermediate {@code byte[]}.
+ */
+@JsonDeserialize(using = Base64Embeddings.Deserializer.class)
+public final class Base64Embeddings extends AbstractList<String> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private static final int[] DECODE_TABLE = new int[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final byte[] text;
+
+    private final int[] offsets;
+
+    private Base64Embeddings(byte[] text, int[] offsets) {
+        this.text = text;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns {@code embeddings} itself if it is already a {@code Base64Embeddings}, or a copy otherwise.
+     */
+    public static Base64Embeddings copyOf(List<String> embeddings) {
+        if (embeddings instanceof Base64Embeddings) {
+            return (Base64Embeddings) embeddings;
+        }
+        int[] offsets = new int[embeddings.size() + 1];
+        for (int i = 0; i < embeddings.size(); i++) {
+            offsets[i + 1] = offsets[i] + embeddings.get(i).length();
+        }
+        byte[] text = new byte[offsets[embeddings.size()]];
+        for (int i = 0; i < embeddings.size(); i++) {
+            byte[] encoded = embeddings.get(i).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(encoded, 0, text, offsets[i], encoded.length);
+        }
+        return new Base64Embeddings(text, offsets);
+    }
+
+    /**
+     * @return The number of bytes the embedding at {@code row} decodes to.
+     */
+    public int decodedLength(int row) {
+        Embeddings.checkIndex(row, size());
+        return decodedLength(text, offsets[row], offsets[row + 1]);
+    }
+
+    /**
+     * @return The number of bytes the base64 text between {@code start} and {@code end} decodes to.
+     */
+    static int decodedLength(byte[] text, int start, int end) {
+        int padding = 0;
+        while (padding < 2 && end - padding > start && text[end - padding - 1] == '=') {
+            padding++;
+        }
+        return (end - start) / 4 * 3 - padding;
+    }
+
+    /**
+     * @return The number of float components in the embedding at {@code row}.
+     */
+    public int dimension(int row) {
+        return decodedLength(row) / Float.BYTES;
+    }
+
+    /**
+     * @return The decoded components of the embedding at {@code row} in a new array.
+     */
+    public float[] toFloatArray(int row) {
+        float[] destination = new float[dimension(row)];
+        decodeTo(row, destination, 0);
+        return destination;
+    }
+
+    /**
+     * Decodes the embedding at {@code row} into {@code destination}, starting at {@code offset}.
+     *
+     * @return The number of components written.
+     */
+    public int decodeTo(int row, float[] destination, int offset) {
+        int dimension = dimension(row);
+        if (offset < 0 || offset + dimension > destination.length) {
+            throw new IndexOutOfBoundsException(
+                    "Embedding of dimension " + dimension + " does not fit at offset " + offset);
+        }
+        FloatSink sink = new FloatSink(destination, offset);
+        decode(text, offsets[row], offsets[row + 1], row, sink);
+        return dimension;
+    }
+
+    /**
+     * Decodes the raw little-endian bytes of the embedding at {@code row} into {@code destination}, advancing its
+     * position.
+     *
+     * @return The number of bytes written.
+     */
+    public int decodeTo(int row, ByteBuffer destination) {
+        int length = decodedLength(row);
+        if (destination.remaining() < length) {
+            throw new IndexOutOfBoundsException(
+                    "Embedding of " + length + " bytes does not fit in " + destination.remaining() + " remaining");
+        }
+        decode(text, offsets[row], offsets[row + 1], row, destination::put);
+        return length;
+    }
+
+    @Override
+    public String get(int index) {
+        Embeddings.checkIndex(index, size());
+        return new String(text, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public Base64Embeddings subList(int fromIndex, int toIndex) {
+        Embeddings.checkRange(fromIndex, toIndex, size());
+        int[] rangeOffsets = new int[toIndex - fromIndex + 1];
+        for (int i = 0; i < rangeOffsets.length; i++) {
+            rangeOffsets[i] = offsets[fromIndex + i] - offsets[fromIndex];
+        }
+        return new Base64Embeddings(Arrays.copyOfRange(text, offsets[fromIndex], offsets[toIndex]), rangeOffsets);
+    }
+
+    /**
+     * Copies the text of the parser's current string token, the embedding at {@code row}, into {@code destination} at
+     * {@code offset}. Base64 text is ASCII, so any wider character fails the parse rather than being truncated into a
+     * different byte.
+     */
+    static void copyText(JsonParser parser, int row, byte[] destination, int offset) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int length = parser.getTextLength();
+        for (int i = 0; i < length; i++) {
+            char c = chars[start + i];
+            if (c > 0x7F) {
+                throw JsonMappingException.from(parser, "Non-ASCII character in base64 embedding " + row);
+            }
+            destination[offset + i] = (byte) c;
+        }
+    }
+
+    /**
+     * Decodes the base64 text between {@code start} and {@code end}, the embedding at {@code row}, into the sink.
+     */
+    static void decode(byte[] text, int start, int end, int row, ByteSink sink) {
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = start; i < end; i++) {
+            byte c = text[i];
+            if (c == '=') {
+                break;
+            }
+            int value = c >= 0 ? DECODE_TABLE[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Illegal base64 character " + (char) c + " in embedding " + row);
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                sink.put((byte) (bits >> bitCount));
+            }
+        }
+    }
+
+    interface ByteSink {
+        void put(byte value);
+    }
+
+    /**
+     * Assembles little-endian float32 values from decoded bytes.
+     */
+    static final class FloatSink implements ByteSink {
+        private final float[] destination;
+
+        private int index;
+
+        private int bits = 0;
+
+        private int shift = 0;
+
+        FloatSink(float[] destination, int index) {
+            this.destination = destination;
+            this.index = index;
+        }
+
+        @Override
+        public void put(byte value) {
+            bits |= (value & 0xFF) << shift;
+            shift += 8;
+            if (shift == Integer.SIZE) {
+                destination[index++] = Float.intBitsToFloat(bits);
+                bits = 0;
+                shift = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies the characters of an array of strings into a single ASCII {@code byte[]} without creating the strings.
+     */
+    static final class Deserializer extends JsonDeserializer<Base64Embeddings> {
+        @Override
+        public Base64Embeddings deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (Base64Embeddings) context.handleUnexpectedToken(Base64Embeddings.class, parser);
+            }
+            byte[] text = new byte[INITIAL_CAPACITY];
+            int[] offsets = new int[16];
+            int count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    return (Base64Embeddings) context.handleUnexpectedToken(Base64Embeddings.class, parser);
+                }
+                int length = parser.getTextLength();
+                int size = offsets[count];
+                if (size + length > text.length) {
+                    text = Arrays.copyOf(text, Math.max(size + length, text.length * 2));
+                }
+                copyText(parser, count, text, size);
+                if (count + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[++count] = size + length;
+            }
+            return new Base64Embeddings(Arrays.copyOf(text, offsets[count]), Arrays.copyOf(offsets, count + 1));
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.cohere.api.types;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A batch of quantized embeddings ({@code int8}, {@code uint8}, {@code binary} or {@code ubinary}) stored one byte
+ * per component in a single contiguous {@code byte[]}, one row of {@link #dimension()} bytes per embedding.
+ * <p>
+ * Binary embeddings stay bit-packed exactly as the API returns them, eight dimensions per byte. Signed embeddings
+ * hold values between -128 and 127 and unsigned ones between 0 and 255; both are stored as the same raw byte.
+ */
+@JsonSerialize(using = ByteEmbeddings.Serializer.class)
+public final class ByteEmbeddings extends AbstractList<List<Integer>> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final byte[] values;
+
+    private final int count;
+
+    private final int dimension;
+
+    private final boolean signed;
+
+    private ByteEmbeddings(byte[] values, int count, int dimension, boolean signed) {
+        this.values = values;
+        this.count = count;
+        this.dimension = dimension;
+        this.signed = signed;
+    }
+
+    /**
+     * Wraps a flat array holding {@code values.length / dimension} embeddings. The array is not copied.
+     *
+     * @param signed whether the bytes hold signed ({@code int8}, {@code binary}) or unsigned ({@code uint8},
+     *     {@code ubinary}) values
+     */
+    public static ByteEmbeddings of(byte[] values, int dimension, boolean signed) {
+        if (dimension <= 0 || values.length % dimension != 0) {
+            throw new IllegalArgumentException(
+                    "Array of length " + values.length + " does not hold embeddings of dimension " + dimension);
+        }
+        return new ByteEmbeddings(values, values.length / dimension, dimension, signed);
+    }
+
+    /**
+     * Returns {@code embeddings} itself if it is already a {@code ByteEmbeddings} with the same signedness, or a packed
+     * copy otherwise.
+     */
+    public static ByteEmbeddings copyOf(List<? extends List<? extends Number>> embeddings, boolean signed) {
+        if (embeddings instanceof ByteEmbeddings && ((ByteEmbeddings) embeddings).signed == signed) {
+            return (ByteEmbeddings) embeddings;
+        }
+        int dimension = embeddings.isEmpty() ? 0 : embeddings.get(0).size();
+        byte[] values = new byte[embeddings.size() * dimension];
+        int offset = 0;
+        for (List<? extends Number> embedding : embeddings) {
+            if (embedding.size() != dimension) {
+                throw new IllegalArgumentException("Embeddings must all have dimension " + dimension);
+            }
+            for (Number value : embedding) {
+                values[offset++] = toByte(value.intValue(), signed);
+            }
+        }
+        return new ByteEmbeddings(values, embeddings.size(), dimension, signed);
+    }
+
+    /**
+     * @return The number of bytes in each embedding. For binary embeddings this is 1/8 of the number of dimensions.
+     */
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * @return Whether the components are signed ({@code int8}, {@code binary}) rather than unsigned.
+     */
+    public boolean isSigned() {
+        return signed;
+    }
+
+    /**
+     * @return The value at {@code column} of the embedding at {@code row}, interpreted according to
+     *     {@link #isSigned()}.
+     */
+    public int get(int row, int column) {
+        Embeddings.checkIndex(row, count);
+        Embeddings.checkIndex(column, dimension);
+        return toInt(values[row * dimension + column]);
+    }
+
+    /**
+     * @return A copy of the raw bytes of the embedding at {@code row}.
+     */
+    public byte[] toArray(int row) {
+        Embeddings.checkIndex(row, count);
+        return Arrays.copyOfRange(values, row * dimension, (row + 1) * dimension);
+    }
+
+    /**
+     * Copies the raw bytes of the embedding at {@code row} into {@code destination}, starting at {@code offset}.
+     */
+    public void copyTo(int row, byte[] destination, int offset) {
+        Embeddings.checkIndex(row, count);
+        System.arraycopy(values, row * dimension, destination, offset, dimension);
+    }
+
+    /**
+     * @return A read-only buffer over the raw bytes of the embedding at {@code row}, sharing this object's storage.
+     */
+    public ByteBuffer asByteBuffer(int row) {
+        Embeddings.checkIndex(row, count);
+        return ByteBuffer.wrap(values, row * dimension, dimension).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return A read-only buffer over the raw bytes of all embeddings, row after row, sharing this object's storage.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(values, 0, count * dimension).asReadOnlyBuffer();
+    }
+
+    @Override
+    public List<Integer> get(int index) {
+        Embeddings.checkIndex(index, count);
+        return new Row(index * dimension);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public ByteEmbeddings subList(int fromIndex, int toIndex) {
+        Embeddings.checkRange(fromIndex, toIndex, count);
+        return new ByteEmbeddings(
+                Arrays.copyOfRange(values, fromIndex * dimension, toIndex * dimension),
+                toIndex - fromIndex,
+                dimension,
+                signed);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof ByteEmbeddings && ((ByteEmbeddings) other).signed == signed) {
+            ByteEmbeddings that = (ByteEmbeddings) other;
+            return count == that.count && dimension == that.dimension && Arrays.equals(values, that.values);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private int toInt(byte value) {
+        return signed ? value : value & 0xFF;
+    }
+
+    static byte toByte(int value, boolean signed) {
+        if (signed ? value < Byte.MIN_VALUE || value > Byte.MAX_VALUE : value < 0 || value > 0xFF) {
+            throw new IllegalArgumentException(
+                    "Value " + value + " is out of range for " + (signed ? "signed" : "unsigned") + " embeddings");
+        }
+        return (byte) value;
+    }
+
+    private final class Row extends AbstractList<Integer> implements RandomAccess {
+        private final int offset;
+
+        private Row(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Integer get(int index) {
+            Embeddings.checkIndex(index, dimension);
+            return toInt(values[offset + index]);
+        }
+
+        @Override
+        public int size() {
+            return dimension;
+        }
+    }
+
+    /**
+     * Reads an array of equally sized integer arrays into a single growing {@code byte[]}.
+     */
+    private abstract static class Deserializer extends JsonDeserializer<ByteEmbeddings> {
+        private final boolean signed;
+
+        private Deserializer(boolean signed) {
+            this.signed = signed;
+        }
+
+        @Override
+        public ByteEmbeddings deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (ByteEmbeddings) context.handleUnexpectedToken(ByteEmbeddings.class, parser);
+            }
+            byte[] values = new byte[INITIAL_CAPACITY];
+            int size = 0;
+            int count = 0;
+            int dimension = -1;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_ARRAY) {
+                    return (ByteEmbeddings) context.handleUnexpectedToken(ByteEmbeddings.class, parser);
+                }
+                int rowStart = size;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.VALUE_NUMBER_INT) {
+                        return (ByteEmbeddings) context.handleUnexpectedToken(ByteEmbeddings.class, parser);
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    try {
+                        values[size++] = toByte(parser.getIntValue(), signed);
+                    } catch (IllegalArgumentException e) {
+                        return context.reportInputMismatch(this, e.getMessage());
+                    }
+                }
+                if (dimension == -1) {
+                    dimension = size - rowStart;
+                } else if (size - rowStart != dimension) {
+                    return context.reportInputMismatch(
+                            this,
+                            "Embedding %d has %d values but the first embedding has %d",
+                            count,
+                            size - rowStart,
+                            dimension);
+                }
+                count++;
+            }
+            return new ByteEmbeddings(
+                    size == values.length ? values : Arrays.copyOf(values, size),
+                    count,
+                    Math.max(dimension, 0),
+                    signed);
+        }
+    }
+
+    /**
+     * Deserializes {@code int8} and {@code binary} embeddings.
+     */
+    public static final class SignedDeserializer extends Deserializer {
+        public SignedDeserializer() {
+            super(true);
+        }
+    }
+
+    /**
+     * Deserializes {@code uint8} and {@code ubinary} embeddings.
+     */
+    public static final class UnsignedDeserializer extends Deserializer {
+        public UnsignedDeserializer() {
+            super(false);
+        }
+    }
+
+    /**
+     * Writes the embeddings back as nested integer arrays.
+     */
+    static final class Serializer extends JsonSerializer<ByteEmbeddings> {
+        @Override
+        public void serialize(ByteEmbeddings embeddings, JsonGenerator generator, SerializerProvider serializers)
+                throws IOException {
+            generator.writeStartArray();
+            for (int row = 0; row < embeddings.count; row++) {
+                generator.writeStartArray();
+                int offset = row * embeddings.dimension;
+                for (int column = 0; column < embeddings.dimension; column++) {
+                    generator.writeNumber(embeddings.toInt(embeddings.values[offset + column]));
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.cohere.api.types;
 import com.cohere.api.core.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -18,6 +19,16 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * The embeddings of an embed response, one list per requested type.
+ * <p>
+ * Embeddings read from a response are held in compact batches backed by a single primitive array:
+ * {@link FloatEmbeddings}, {@link ByteEmbeddings} and {@link Base64Embeddings}. The batches implement the {@code List}
+ * types of the generated accessors so that existing callers keep working, boxing a component or creating a string only
+ * when it is read. As they are immutable, their {@code subList} returns a compact copy that behaves like a view. The
+ * {@code get...Embeddings()} accessors return the batches themselves, so no copy is made when the embeddings were read
+ * from a response.
+ */
 @JsonInclude(JsonInclude.Include.NON_ABSENT)
 @JsonDeserialize(builder = EmbedByTypeResponseEmbeddings.Builder.class)
 public final class EmbedByTypeResponseEmbeddings {
@@ -53,13 +64,23 @@ public final class EmbedByTypeResponseEmbeddings {
     }
 
     /**
-     * @return An array of float embeddings.
+     * @return An array of float embeddings. Embeddings read from a response are stored with {@code float} precision,
+     *     the precision the API computes them in, and widened to {@code double} when read. A value can therefore differ
+     *     from the decimal text of the response after about seven significant digits.
      */
     @JsonProperty("float")
     public Optional<List<List<Double>>> getFloat() {
         return float_;
     }
 
+    /**
+     * @return The float embeddings in a single primitive array.
+     */
+    @JsonIgnore
+    public Optional<FloatEmbeddings> getFloatEmbeddings() {
+        return float_.map(FloatEmbeddings::copyOf);
+    }
+
     /**
      * @return An array of signed int8 embeddings. Each value is between -128 and 127.
      */
@@ -68,6 +89,14 @@ public final class EmbedByTypeResponseEmbeddings {
         return int8;
     }
 
+    /**
+     * @return The signed int8 embeddings in a single byte array.
+     */
+    @JsonIgnore
+    public Optional<ByteEmbeddings> getInt8Embeddings() {
+        return int8.map(embeddings -> ByteEmbeddings.copyOf(embeddings, true));
+    }
+
     /**
      * @return An array of unsigned int8 embeddings. Each value is between 0 and 255.
      */
@@ -76,6 +105,14 @@ public final class EmbedByTypeResponseEmbeddings {
         return uint8;
     }
 
+    /**
+     * @return The unsigned int8 embeddings in a single byte array.
+     */
+    @JsonIgnore
+    public Optional<ByteEmbeddings> getUint8Embeddings() {
+        return uint8.map(embeddings -> ByteEmbeddings.copyOf(embeddings, false));
+    }
+
     /**
      * @return An array of packed signed binary embeddings. The length of each binary embedding is 1/8 the length of the float embeddings of the provided model. Each value is between -128 and 127.
      */
@@ -84,6 +121,14 @@ public final class EmbedByTypeResponseEmbeddings {
         return binary;
     }
 
+    /**
+     * @return The packed signed binary embeddings in a single byte array.
+     */
+    @JsonIgnore
+    public Optional<ByteEmbeddings> getBinaryEmbeddings() {
+        return binary.map(embeddings -> ByteEmbeddings.copyOf(embeddings, true));
+    }
+
     /**
      * @return An array of packed unsigned binary embeddings. The length of each binary embedding is 1/8 the length of the float embeddings of the provided model. Each value is between 0 and 255.
      */
@@ -92,6 +137,14 @@ public final class EmbedByTypeResponseEmbeddings {
         return ubinary;
     }
 
+    /**
+     * @return The packed unsigned binary embeddings in a single byte array.
+     */
+    @JsonIgnore
+    public Optional<ByteEmbeddings> getUbinaryEmbeddings() {
+        return ubinary.map(embeddings -> ByteEmbeddings.copyOf(embeddings, false));
+    }
+
     /**
      * @return An array of base64 embeddings. Each string is the result of appending the float embedding bytes together and base64 encoding that.
      */
@@ -100,6 +153,14 @@ public final class EmbedByTypeResponseEmbeddings {
         return base64;
     }
 
+    /**
+     * @return The base64 embeddings, which are decoded into primitive arrays only when a vector is read.
+     */
+    @JsonIgnore
+    public Optional<Base64Embeddings> getBase64Embeddings() {
+        return base64.map(Base64Embeddings::copyOf);
+    }
+
     @java.lang.Override
     public boolean equals(Object other) {
         if (this == other) return true;
@@ -167,6 +228,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of float embeddings.</p>
          */
         @JsonSetter(value = "float", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentAs = FloatEmbeddings.class)
         public Builder float_(Optional<List<List<Double>>> float_) {
             this.float_ = float_;
             return this;
@@ -181,6 +243,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of signed int8 embeddings. Each value is between -128 and 127.</p>
          */
         @JsonSetter(value = "int8", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentUsing = ByteEmbeddings.SignedDeserializer.class)
         public Builder int8(Optional<List<List<Integer>>> int8) {
             this.int8 = int8;
             return this;
@@ -195,6 +258,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of unsigned int8 embeddings. Each value is between 0 and 255.</p>
          */
         @JsonSetter(value = "uint8", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentUsing = ByteEmbeddings.UnsignedDeserializer.class)
         public Builder uint8(Optional<List<List<Integer>>> uint8) {
             this.uint8 = uint8;
             return this;
@@ -209,6 +273,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of packed signed binary embeddings. The length of each binary embedding is 1/8 the length of the float embeddings of the provided model. Each value is between -128 and 127.</p>
          */
         @JsonSetter(value = "binary", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentUsing = ByteEmbeddings.SignedDeserializer.class)
         public Builder binary(Optional<List<List<Integer>>> binary) {
             this.binary = binary;
             return this;
@@ -223,6 +288,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of packed unsigned binary embeddings. The length of each binary embedding is 1/8 the length of the float embeddings of the provided model. Each value is between 0 and 255.</p>
          */
         @JsonSetter(value = "ubinary", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentUsing = ByteEmbeddings.UnsignedDeserializer.class)
         public Builder ubinary(Optional<List<List<Integer>>> ubinary) {
             this.ubinary = ubinary;
             return this;
@@ -237,6 +303,7 @@ public final class EmbedByTypeResponseEmbeddings {
          * <p>An array of base64 embeddings. Each string is the result of appending the float embedding bytes together and base64 encoding that.</p>
          */
         @JsonSetter(value = "base64", nulls = Nulls.SKIP)
+        @JsonDeserialize(contentAs = Base64Embeddings.class)
         public Builder base64(Optional<List<String>> base64) {
             this.base64 = base64;
             return this;
@@ -6,6 +6,7 @@ package com.cohere.api.types;
 import com.cohere.api.core.ObjectMappers;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -57,12 +58,22 @@ public final class EmbedFloatsResponse {
 
     /**
      * @return An array of embeddings, where each embedding is an array of floats. The length of the <code>embeddings</code> array will be the same as the length of the original <code>texts</code> array.
+     *     Values read from a response keep only the {@code float} precision the API computes them in, so they can
+     *     differ from the response text after about seven significant digits.
      */
     @JsonProperty("embeddings")
     public List<List<Double>> getEmbeddings() {
         return embeddings;
     }
 
+    /**
+     * @return The embeddings in a single primitive array. No copy is made when they were read from a response.
+     */
+    @JsonIgnore
+    public FloatEmbeddings getFloatEmbeddings() {
+        return FloatEmbeddings.copyOf(embeddings);
+    }
+
     /**
      * @return The text entries for which embeddings were returned.
      */
@@ -265,7 +276,7 @@ public final class EmbedFloatsResponse {
         @java.lang.Override
         public _FinalStage addAllEmbeddings(List<List<Double>> embeddings) {
             if (embeddings != null) {
-                this.embeddings.addAll(embeddings);
+                mutableEmbeddings().addAll(embeddings);
             }
             return this;
         }
@@ -276,7 +287,7 @@ public final class EmbedFloatsResponse {
          */
         @java.lang.Override
         public _FinalStage addEmbeddings(List<Double> embeddings) {
-            this.embeddings.add(embeddings);
+            mutableEmbeddings().add(embeddings);
             return this;
         }
 
@@ -285,14 +296,27 @@ public final class EmbedFloatsResponse {
          */
         @java.lang.Override
         @JsonSetter(value = "embeddings", nulls = Nulls.SKIP)
+        @JsonDeserialize(as = FloatEmbeddings.class)
         public _FinalStage embeddings(List<List<Double>> embeddings) {
-            this.embeddings.clear();
+            if (embeddings instanceof FloatEmbeddings) {
+                // Keep the primitive representation instead of copying its rows into a list
+                this.embeddings = embeddings;
+                return this;
+            }
+            this.embeddings = new ArrayList<>();
             if (embeddings != null) {
                 this.embeddings.addAll(embeddings);
             }
             return this;
         }
 
+        private List<List<Double>> mutableEmbeddings() {
+            if (embeddings instanceof FloatEmbeddings) {
+                embeddings = new ArrayList<>(embeddings);
+            }
+            return embeddings;
+        }
+
         @java.lang.Override
         public EmbedFloatsResponse build() {
             return new EmbedFloatsResponse(id, embeddings, texts, images, meta, additionalProperties);
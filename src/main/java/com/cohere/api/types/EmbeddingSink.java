@@ -0,0 +1,106 @@
+package com.cohere.api.types;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Receives the embeddings of an embed response one at a time while the response is being parsed, instead of having
+ * them collected into an {@link EmbedByTypeResponse}.
+ * <p>
+ * The arrays passed to the sink are reused for the next embedding, so a sink must copy the values it needs before
+ * returning. {@code float} and {@code base64} embeddings are delivered as floats; {@code int8}, {@code uint8},
+ * {@code binary} and {@code ubinary} embeddings as their raw bytes, with binary embeddings bit-packed eight dimensions
+ * per byte.
+ * <p>
+ * Embed calls with a sink check every requested embedding type against {@link #accepts(EmbeddingType)} before the
+ * request is sent. An exception thrown by the sink fails the call.
+ */
+public interface EmbeddingSink {
+    /**
+     * Receives the {@code float} or {@code base64} embedding at {@code index} in the first {@code dimension} entries of
+     * {@code values}.
+     */
+    void acceptFloats(EmbeddingType type, int index, float[] values, int dimension);
+
+    /**
+     * Receives the quantized embedding at {@code index} in the first {@code dimension} entries of {@code values}.
+     */
+    void acceptBytes(EmbeddingType type, int index, byte[] values, int dimension);
+
+    /**
+     * Returns whether this sink can receive embeddings of {@code type}. Defaults to every type.
+     */
+    default boolean accepts(EmbeddingType type) {
+        return true;
+    }
+
+    /**
+     * Checks that this sink accepts every embedding type of a request, {@code float} if none is given.
+     *
+     * @throws IllegalArgumentException if a type is not accepted
+     */
+    default void checkAccepts(Optional<List<EmbeddingType>> embeddingTypes) {
+        for (EmbeddingType type : embeddingTypes.orElse(Collections.singletonList(EmbeddingType.FLOAT))) {
+            if (!accepts(type)) {
+                throw new IllegalArgumentException(type + " embeddings are not accepted by this sink");
+            }
+        }
+    }
+
+    /**
+     * Returns a sink that writes the embedding at index {@code i} to {@code target} starting at
+     * {@code offset + i * dimension}, without moving the buffer's position. Request a single floating point embedding
+     * type, as every type is written to the same range. To fill a {@link ByteBuffer}, pass
+     * {@link ByteBuffer#asFloatBuffer()}.
+     */
+    static EmbeddingSink of(FloatBuffer target, int offset) {
+        return new EmbeddingSink() {
+            @Override
+            public void acceptFloats(EmbeddingType type, int index, float[] values, int dimension) {
+                FloatBuffer row = target.duplicate();
+                ((Buffer) row).position(offset + index * dimension);
+                row.put(values, 0, dimension);
+            }
+
+            @Override
+            public void acceptBytes(EmbeddingType type, int index, byte[] values, int dimension) {
+                throw new IllegalStateException(type + " embeddings are not accepted by this sink");
+            }
+
+            @Override
+            public boolean accepts(EmbeddingType type) {
+                return EmbeddingType.FLOAT.equals(type) || EmbeddingType.BASE_64.equals(type);
+            }
+        };
+    }
+
+    /**
+     * Returns a sink that writes the raw bytes of the quantized embedding at index {@code i} to {@code target}
+     * starting at {@code offset + i * dimension}, without moving the buffer's position. Request a single quantized
+     * embedding type, as every type is written to the same range.
+     */
+    static EmbeddingSink of(ByteBuffer target, int offset) {
+        return new EmbeddingSink() {
+            @Override
+            public void acceptFloats(EmbeddingType type, int index, float[] values, int dimension) {
+                throw new IllegalStateException(type + " embeddings are not accepted by this sink");
+            }
+
+            @Override
+            public void acceptBytes(EmbeddingType type, int index, byte[] values, int dimension) {
+                ByteBuffer row = target.duplicate();
+                ((Buffer) row).position(offset + index * dimension);
+                row.put(values, 0, dimension);
+            }
+
+            @Override
+            public boolean accepts(EmbeddingType type) {
+                return !EmbeddingType.FLOAT.equals(type) && !EmbeddingType.BASE_64.equals(type);
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.cohere.api.types;
+
+import com.cohere.api.core.ObjectMappers;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads an embed response, handing each embedding to an {@link EmbeddingSink} as soon as its row has been parsed.
+ * <p>
+ * Every other property of the response is bound as usual, so the returned {@link EmbedByTypeResponse} carries the
+ * id, texts and metadata with an empty {@code embeddings} object. A single row buffer per representation is reused
+ * for the whole response.
+ */
+public final class EmbeddingSinkReader {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmbeddingSink sink;
+
+    private float[] floats = new float[INITIAL_CAPACITY];
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    private EmbeddingSinkReader(EmbeddingSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Parses the embed response in {@code body}, streaming its embeddings to {@code sink}.
+     */
+    public static EmbedByTypeResponse read(InputStream body, EmbeddingSink sink) throws IOException {
+        try (JsonParser parser = ObjectMappers.JSON_MAPPER.getFactory().createParser(body)) {
+            return new EmbeddingSinkReader(sink).readResponse(parser);
+        }
+    }
+
+    private EmbedByTypeResponse readResponse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser, "Expected an embed response object");
+        }
+        ObjectNode response = ObjectMappers.JSON_MAPPER.createObjectNode();
+        response.putObject("embeddings");
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (name.equals("embeddings") && token == JsonToken.START_OBJECT) {
+                readEmbeddings(parser);
+            } else {
+                response.set(name, ObjectMappers.JSON_MAPPER.readTree(parser));
+            }
+        }
+        return ObjectMappers.JSON_MAPPER.treeToValue(response, EmbedByTypeResponse.class);
+    }
+
+    private void readEmbeddings(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            EmbeddingType type = EmbeddingType.valueOf(parser.currentName());
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (type.getEnumValue()) {
+                case FLOAT:
+                    readFloatRows(parser, type);
+                    break;
+                case BASE_64:
+                    readBase64Rows(parser, type);
+                    break;
+                case INT_8:
+                case BINARY:
+                    readByteRows(parser, type, true);
+                    break;
+                case UINT_8:
+                case UBINARY:
+                    readByteRows(parser, type, false);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readFloatRows(JsonParser parser, EmbeddingType type) throws IOException {
+        int index = 0;
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            int dimension = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                    throw JsonMappingException.from(parser, "Expected a number in " + type + " embedding " + index);
+                }
+                if (dimension == floats.length) {
+                    floats = Arrays.copyOf(floats, dimension * 2);
+                }
+                floats[dimension++] = parser.getFloatValue();
+            }
+            sink.acceptFloats(type, index++, floats, dimension);
+        }
+        expectEndArray(parser, type);
+    }
+
+    private void readByteRows(JsonParser parser, EmbeddingType type, boolean signed) throws IOException {
+        int index = 0;
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            int dimension = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    throw JsonMappingException.from(parser, "Expected an integer in " + type + " embedding " + index);
+                }
+                if (dimension == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, dimension * 2);
+                }
+                try {
+                    bytes[dimension++] = ByteEmbeddings.toByte(parser.getIntValue(), signed);
+                } catch (IllegalArgumentException e) {
+                    throw JsonMappingException.from(parser, e.getMessage(), e);
+                }
+            }
+            sink.acceptBytes(type, index++, bytes, dimension);
+        }
+        expectEndArray(parser, type);
+    }
+
+    private void readBase64Rows(JsonParser parser, EmbeddingType type) throws IOException {
+        int index = 0;
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            int length = parser.getTextLength();
+            if (length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+            }
+            Base64Embeddings.copyText(parser, index, bytes, 0);
+            int dimension = Base64Embeddings.decodedLength(bytes, 0, length) / Float.BYTES;
+            if (dimension > floats.length) {
+                floats = Arrays.copyOf(floats, Math.max(dimension, floats.length * 2));
+            }
+            try {
+                Base64Embeddings.decode(bytes, 0, length, index, new Base64Embeddings.FloatSink(floats, 0));
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(parser, e.getMessage(), e);
+            }
+            sink.acceptFloats(type, index++, floats, dimension);
+        }
+        expectEndArray(parser, type);
+    }
+
+    private static void expectEndArray(JsonParser parser, EmbeddingType type) throws IOException {
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw JsonMappingException.from(
+                    parser, "Unexpected " + parser.currentToken() + " in " + type + " embeddings");
+        }
+    }
+}
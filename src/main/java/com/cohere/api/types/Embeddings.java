@@ -0,0 +1,21 @@
+package com.cohere.api.types;
+
+/**
+ * Bounds checks shared by {@link FloatEmbeddings}, {@link ByteEmbeddings} and {@link Base64Embeddings}.
+ */
+final class Embeddings {
+    private Embeddings() {}
+
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    static void checkRange(int fromIndex, int toIndex, int size) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + fromIndex + ", " + toIndex + ") out of bounds for length " + size);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.cohere.api.types;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A batch of float embeddings stored in a single contiguous {@code float[]}, one row of {@link #dimension()} values
+ * per embedding.
+ * <p>
+ * Float embeddings in embed responses are deserialized straight from the token stream into this type, avoiding a
+ * boxed {@link Double} per component. Values are stored with {@code float} precision, which is the precision the API
+ * computes embeddings in.
+ */
+@JsonDeserialize(using = FloatEmbeddings.Deserializer.class)
+@JsonSerialize(using = FloatEmbeddings.Serializer.class)
+public final class FloatEmbeddings extends AbstractList<List<Double>> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final float[] values;
+
+    private final int count;
+
+    private final int dimension;
+
+    private FloatEmbeddings(float[] values, int count, int dimension) {
+        this.values = values;
+        this.count = count;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Wraps a flat array holding {@code values.length / dimension} embeddings. The array is not copied.
+     */
+    public static FloatEmbeddings of(float[] values, int dimension) {
+        if (dimension <= 0 || values.length % dimension != 0) {
+            throw new IllegalArgumentException(
+                    "Array of length " + values.length + " does not hold embeddings of dimension " + dimension);
+        }
+        return new FloatEmbeddings(values, values.length / dimension, dimension);
+    }
+
+    /**
+     * Returns {@code embeddings} itself if it is already a {@code FloatEmbeddings}, or a primitive copy otherwise.
+     */
+    public static FloatEmbeddings copyOf(List<? extends List<? extends Number>> embeddings) {
+        if (embeddings instanceof FloatEmbeddings) {
+            return (FloatEmbeddings) embeddings;
+        }
+        int dimension = embeddings.isEmpty() ? 0 : embeddings.get(0).size();
+        float[] values = new float[embeddings.size() * dimension];
+        int offset = 0;
+        for (List<? extends Number> embedding : embeddings) {
+            if (embedding.size() != dimension) {
+                throw new IllegalArgumentException("Embeddings must all have dimension " + dimension);
+            }
+            for (Number value : embedding) {
+                values[offset++] = value.floatValue();
+            }
+        }
+        return new FloatEmbeddings(values, embeddings.size(), dimension);
+    }
+
+    /**
+     * @return The number of values in each embedding.
+     */
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * @return The value at {@code column} of the embedding at {@code row}.
+     */
+    public float get(int row, int column) {
+        Embeddings.checkIndex(row, count);
+        Embeddings.checkIndex(column, dimension);
+        return values[row * dimension + column];
+    }
+
+    /**
+     * @return A copy of the embedding at {@code row}.
+     */
+    public float[] toArray(int row) {
+        Embeddings.checkIndex(row, count);
+        return Arrays.copyOfRange(values, row * dimension, (row + 1) * dimension);
+    }
+
+    /**
+     * Copies the embedding at {@code row} into {@code destination}, starting at {@code offset}.
+     */
+    public void copyTo(int row, float[] destination, int offset) {
+        Embeddings.checkIndex(row, count);
+        System.arraycopy(values, row * dimension, destination, offset, dimension);
+    }
+
+    /**
+     * @return A read-only buffer over the embedding at {@code row}, sharing this object's storage.
+     */
+    public FloatBuffer asFloatBuffer(int row) {
+        Embeddings.checkIndex(row, count);
+        return FloatBuffer.wrap(values, row * dimension, dimension).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return A read-only buffer over all embeddings, row after row, sharing this object's storage.
+     */
+    public FloatBuffer asFloatBuffer() {
+        return FloatBuffer.wrap(values, 0, count * dimension).asReadOnlyBuffer();
+    }
+
+    @Override
+    public List<Double> get(int index) {
+        Embeddings.checkIndex(index, count);
+        return new Row(index * dimension);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public FloatEmbeddings subList(int fromIndex, int toIndex) {
+        Embeddings.checkRange(fromIndex, toIndex, count);
+        return new FloatEmbeddings(
+                Arrays.copyOfRange(values, fromIndex * dimension, toIndex * dimension), toIndex - fromIndex, dimension);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof FloatEmbeddings) {
+            FloatEmbeddings that = (FloatEmbeddings) other;
+            return count == that.count && dimension == that.dimension && Arrays.equals(values, that.values);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private final class Row extends AbstractList<Double> implements RandomAccess {
+        private final int offset;
+
+        private Row(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Double get(int index) {
+            Embeddings.checkIndex(index, dimension);
+            return (double) values[offset + index];
+        }
+
+        @Override
+        public int size() {
+            return dimension;
+        }
+    }
+
+    /**
+     * Reads an array of equally sized number arrays into a single growing {@code float[]}.
+     */
+    static final class Deserializer extends JsonDeserializer<FloatEmbeddings> {
+        @Override
+        public FloatEmbeddings deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (FloatEmbeddings) context.handleUnexpectedToken(FloatEmbeddings.class, parser);
+            }
+            float[] values = new float[INITIAL_CAPACITY];
+            int size = 0;
+            int count = 0;
+            int dimension = -1;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_ARRAY) {
+                    return (FloatEmbeddings) context.handleUnexpectedToken(FloatEmbeddings.class, parser);
+                }
+                int rowStart = size;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                        return (FloatEmbeddings) context.handleUnexpectedToken(FloatEmbeddings.class, parser);
+                    }
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    values[size++] = parser.getFloatValue();
+                }
+                if (dimension == -1) {
+                    dimension = size - rowStart;
+                } else if (size - rowStart != dimension) {
+                    return context.reportInputMismatch(
+                            this,
+                            "Embedding %d has %d values but the first embedding has %d",
+                            count,
+                            size - rowStart,
+                            dimension);
+                }
+                count++;
+            }
+            return new FloatEmbeddings(
+                    size == values.length ? values : Arrays.copyOf(values, size), count, Math.max(dimension, 0));
+        }
+    }
+
+    /**
+     * Writes the embeddings as nested arrays of {@code float} values, so they round-trip without widening noise.
+     */
+    static final class Serializer extends JsonSerializer<FloatEmbeddings> {
+        @Override
+        public void serialize(FloatEmbeddings embeddings, JsonGenerator generator, SerializerProvider serializers)
+                throws IOException {
+            generator.writeStartArray();
+            for (int row = 0; row < embeddings.count; row++) {
+                generator.writeStartArray();
+                int offset = row * embeddings.dimension;
+                for (int column = 0; column < embeddings.dimension; column++) {
+                    generator.writeNumber(embeddings.values[offset + column]);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
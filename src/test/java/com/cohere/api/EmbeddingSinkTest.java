@@ -0,0 +1,71 @@
+package com.cohere.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInputType;
+import com.cohere.api.types.EmbeddingSink;
+import com.cohere.api.types.EmbeddingType;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class EmbeddingSinkTest {
+    private static final V2EmbedRequest REQUEST = V2EmbedRequest.builder()
+            .model("embed-v4.0")
+            .inputType(EmbedInputType.SEARCH_DOCUMENT)
+            .texts(Arrays.asList("a", "b"))
+            .embeddingTypes(Collections.singletonList(EmbeddingType.FLOAT))
+            .build();
+
+    private MockWebServer server;
+
+    private AsyncCohere client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testFailingSinkFailsFuture() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":\"e\",\"embeddings\":{\"float\":[[1,2],[3,4]]}}"));
+        FloatBuffer tooSmall = FloatBuffer.allocate(2);
+
+        CompletableFuture<EmbedByTypeResponse> future =
+                client.v2().embed(REQUEST, EmbeddingSink.of(tooSmall, 0), null);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RuntimeException.class, e.getCause());
+    }
+
+    @Test
+    public void testRejectsUnacceptedTypesBeforeSending() {
+        EmbeddingSink bytes = EmbeddingSink.of(ByteBuffer.allocate(4), 0);
+
+        assertThrows(IllegalArgumentException.class, () -> client.v2().embed(REQUEST, bytes, null));
+        assertEquals(0, server.getRequestCount());
+    }
+}
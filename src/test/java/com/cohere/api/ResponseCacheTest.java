@@ -0,0 +1,175 @@
+package com.cohere.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.InMemoryResponseCache;
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.errors.BadRequestError;
+import com.cohere.api.requests.DetokenizeRequest;
+import com.cohere.api.requests.TokenizeRequest;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.resources.v2.requests.V2RerankRequest;
+import com.cohere.api.resources.v2.types.V2RerankResponse;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInputType;
+import com.cohere.api.types.EmbeddingSink;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ResponseCacheTest {
+    private static final V2EmbedRequest EMBED = V2EmbedRequest.builder()
+            .model("embed-v4.0")
+            .inputType(EmbedInputType.SEARCH_DOCUMENT)
+            .texts(Arrays.asList("a", "b"))
+            .build();
+
+    private static final V2RerankRequest RERANK = V2RerankRequest.builder()
+            .model("rerank-v3.5")
+            .query("q")
+            .documents(Arrays.asList("a", "b"))
+            .build();
+
+    private static final String EMBED_RESPONSE = "{\"id\":\"e\",\"embeddings\":{\"float\":[[1,2],[3,4]]}}";
+
+    private MockWebServer server;
+
+    private ExecutorService callbackExecutor;
+
+    private Cohere client;
+
+    private AsyncCohere asyncClient;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        callbackExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callback"));
+        client = Cohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .responseCache(InMemoryResponseCache.builder().build())
+                .build();
+        asyncClient = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .responseCache(InMemoryResponseCache.builder().build())
+                .callbackExecutor(callbackExecutor)
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        callbackExecutor.shutdownNow();
+        server.shutdown();
+    }
+
+    @Test
+    public void testServesRepeatedRequestsFromCache() {
+        server.enqueue(json("{\"tokens\":[1],\"token_strings\":[\"a\"]}"));
+        server.enqueue(json("{\"text\":\"a\"}"));
+        server.enqueue(json(EMBED_RESPONSE));
+        server.enqueue(json("{\"id\":\"r\",\"results\":[{\"index\":1,\"relevance_score\":0.5}]}"));
+        TokenizeRequest tokenize = TokenizeRequest.builder().text("a").model("command-r").build();
+        DetokenizeRequest detokenize = DetokenizeRequest.builder()
+                .model("command-r")
+                .tokens(Arrays.asList(1))
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Arrays.asList(1), client.tokenize(tokenize).getTokens());
+            assertEquals("a", client.detokenize(detokenize).getText());
+            assertEquals(2, client.v2().embed(EMBED).getEmbeddings().getFloat().get().size());
+            assertEquals(1, client.v2().rerank(RERANK).getResults().get(0).getIndex());
+        }
+
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void testDoesNotCacheFailures() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{}"));
+        server.enqueue(json(EMBED_RESPONSE));
+
+        assertThrows(BadRequestError.class, () -> client.v2().embed(EMBED));
+        client.v2().embed(EMBED);
+        client.v2().embed(EMBED);
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testDoesNotShareEntriesAcrossTokens() {
+        server.enqueue(json(EMBED_RESPONSE));
+        server.enqueue(json(EMBED_RESPONSE));
+        RequestOptions otherToken = RequestOptions.builder().token("other-token").build();
+
+        client.v2().embed(EMBED);
+        client.v2().embed(EMBED, otherToken);
+        client.v2().embed(EMBED, otherToken);
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testDoesNotCacheSinkEmbeds() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            server.enqueue(json(EMBED_RESPONSE));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            client.v2().embed(EMBED, EmbeddingSink.of(FloatBuffer.allocate(4), 0), null);
+            asyncClient
+                    .v2()
+                    .embed(EMBED, EmbeddingSink.of(FloatBuffer.allocate(4), 0), null)
+                    .get(5, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < 2; i++) {
+            client.v2().embed(EMBED);
+            asyncClient.v2().embed(EMBED).get(5, TimeUnit.SECONDS);
+        }
+
+        // Only the first plain embed on each client is sent; the sink embeds leave nothing in the cache
+        assertEquals(6, server.getRequestCount());
+    }
+
+    @Test
+    public void testCompletesAsyncHitsOnCallbackExecutor() throws Exception {
+        server.enqueue(json(EMBED_RESPONSE));
+        server.enqueue(json("{\"id\":\"r\",\"results\":[{\"index\":1,\"relevance_score\":0.5}]}"));
+        asyncClient.v2().embed(EMBED).get(5, TimeUnit.SECONDS);
+        asyncClient.v2().rerank(RERANK).get(5, TimeUnit.SECONDS);
+
+        // Hold the executor so that the hits cannot complete before their continuations are attached
+        CountDownLatch release = new CountDownLatch(1);
+        callbackExecutor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<EmbedByTypeResponse> embed = asyncClient.v2().embed(EMBED);
+        CompletableFuture<V2RerankResponse> rerank = asyncClient.v2().rerank(RERANK);
+        CompletableFuture<String> embedThread = embed.thenApply(response -> Thread.currentThread().getName());
+        CompletableFuture<String> rerankThread = rerank.thenApply(response -> Thread.currentThread().getName());
+        release.countDown();
+
+        assertEquals("callback", embedThread.get(5, TimeUnit.SECONDS));
+        assertEquals("callback", rerankThread.get(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setResponseCode(200).setBody(body);
+    }
+}
@@ -9,9 +9,17 @@ import com.cohere.api.core.ObjectMappers;
 import com.cohere.api.core.Stream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
 
 public final class StreamTest {
@@ -31,6 +39,17 @@ public final class StreamTest {
         assertEquals(expectedMessages, actualMessages);
     }
 
+    @Test
+    public void testJsonStreamFromResponse() {
+        String input = "{\"message\":\"hello\"}\n\n{\"message\":\"w\u00f6rld\"}\n";
+        Stream<Map> jsonStream = Stream.fromJson(Map.class, streamResponse(input, "application/x-ndjson"));
+        List<Object> messages = new ArrayList<>();
+        for (Map jsonObject : jsonStream) {
+            messages.add(jsonObject.get("message"));
+        }
+        assertEquals(List.of("hello", "w\u00f6rld"), messages);
+    }
+
     @Test
     public void testSseStream() {
         List<Map> events = List.of(Map.of("event", "start"), Map.of("event", "end"));
@@ -64,6 +83,58 @@ public final class StreamTest {
         assertEquals(expectedEvents, actualEvents);
     }
 
+    @Test
+    public void testSseStreamFromResponse() {
+        String input = ": keep-alive\r\n"
+                + "event: content-delta\r\n"
+                + "data: {\"message\":\r\n"
+                + "data: \"h\u00e9llo \ud83d\udc4b\"}\r\n"
+                + "\r\n"
+                + "id: 2\n"
+                + "data:{\"message\":\"world\"}\n"
+                + "\n"
+                + "data: [DONE]\n"
+                + "\n"
+                + "data: {\"message\":\"ignored\"}\n";
+        Stream<Map> sseStream = Stream.fromSse(Map.class, streamResponse(input, "text/event-stream"), null, "[DONE]");
+        List<Object> messages = new ArrayList<>();
+        for (Map eventData : sseStream) {
+            messages.add(eventData.get("message"));
+        }
+        assertEquals(List.of("h\u00e9llo \ud83d\udc4b", "world"), messages);
+    }
+
+    @Test
+    public void testSseStreamFromResponseWithoutTrailingNewline() {
+        Stream<Map> sseStream =
+                Stream.fromSse(Map.class, streamResponse("data: {\"message\":\"last\"}", "text/event-stream"));
+        Iterator<Map> iterator = sseStream.iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals("last", iterator.next().get("message"));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testSseStreamWithEventTypes() {
+        String input = "event: citation-start\n"
+                + "data: {\"type\":\"citation-start\",\"index\":0}\n"
+                + "\n"
+                + "event: content-delta\n"
+                + "data: {\"type\":\"content-delta\",\"index\":1}\n"
+                + "\n"
+                + "data: {\"delta\":{\"type\":\"nested\"},\"type\":\"message-end\",\"index\":2}\n"
+                + "\n"
+                + "data: {\"type\":\"tool-plan-delta\",\"index\":3}\n"
+                + "\n";
+        Stream<Map> sseStream =
+                Stream.fromSse(Map.class, new StringReader(input), null, Set.of("content-delta", "message-end"));
+        List<Object> indexes = new ArrayList<>();
+        for (Map eventData : sseStream) {
+            indexes.add(eventData.get("index"));
+        }
+        assertEquals(List.of(1, 2), indexes);
+    }
+
     @Test
     public void testStreamResourceManagement() throws IOException {
         StringReader testInput = new StringReader("{\"test\":\"data\"}");
@@ -72,6 +143,16 @@ public final class StreamTest {
         assertFalse(testStream.iterator().hasNext());
     }
 
+    private static Response streamResponse(String body, String contentType) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("http://localhost/").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, MediaType.parse(contentType)))
+                .build();
+    }
+
     private static String mapToJson(Map map) {
         try {
             return ObjectMappers.JSON_MAPPER.writeValueAsString(map);
@@ -0,0 +1,144 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class AsyncHttpCallTest {
+    private MockWebServer server;
+
+    private ClientOptions clientOptions;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        clientOptions = ClientOptions.builder()
+                .environment(Environment.custom(server.url("/").toString()))
+                .maxRetries(1)
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testCancellingFutureCancelsCall() throws Exception {
+        server.enqueue(new MockResponse().setHeadersDelay(10, TimeUnit.SECONDS));
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> canceled = new CompletableFuture<>();
+        enqueue(clientOptions, future, new Callback() {
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                response.close();
+                canceled.complete(false);
+            }
+
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                canceled.complete(call.isCanceled());
+            }
+        });
+        server.takeRequest(5, TimeUnit.SECONDS);
+        future.cancel(true);
+        assertTrue(canceled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCallbackRunsOnCallbackExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callbacks"));
+        try {
+            ClientOptions options = ClientOptions.Builder.from(clientOptions).callbackExecutor(executor).build();
+            server.enqueue(new MockResponse().setResponseCode(200));
+            CompletableFuture<String> future = new CompletableFuture<>();
+            enqueue(options, future, new Callback() {
+                @Override
+                public void onResponse(@NotNull Call call, @NotNull Response response) {
+                    response.close();
+                    future.complete(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            assertEquals("callbacks", future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testThrowingCallbackFailsFuture() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ClientOptions options = ClientOptions.Builder.from(clientOptions).callbackExecutor(executor).build();
+            for (ClientOptions each : new ClientOptions[] {clientOptions, options}) {
+                server.enqueue(new MockResponse().setResponseCode(200));
+                CompletableFuture<Integer> future = new CompletableFuture<>();
+                enqueue(each, future, new Callback() {
+                    @Override
+                    public void onResponse(@NotNull Call call, @NotNull Response response) {
+                        throw new IllegalStateException("boom");
+                    }
+
+                    @Override
+                    public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+                ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetriesStopAtCallTimeout() throws Exception {
+        ClientOptions options = ClientOptions.Builder.from(clientOptions).timeout(1).build();
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "10"));
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        enqueue(options, future, new Callback() {
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                response.close();
+                future.complete(response.code());
+            }
+
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InterruptedIOException.class, e.getCause());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private void enqueue(ClientOptions options, CompletableFuture<?> future, Callback callback) {
+        Request request = new Request.Builder().url(options.baseUrl()).build();
+        AsyncHttpCall.enqueue(options, options.httpClient(), request, future, callback);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+public final class ClientOptionsTest {
+    @Test
+    public void testHttpClientWithTimeoutIsCached() {
+        ClientOptions clientOptions = ClientOptions.builder().environment(Environment.PRODUCTION).build();
+        OkHttpClient first = clientOptions.httpClientWithTimeout(RequestOptions.builder().timeout(5).build());
+        OkHttpClient second = clientOptions.httpClientWithTimeout(
+                RequestOptions.builder().timeout(5000, TimeUnit.MILLISECONDS).build());
+        OkHttpClient other = clientOptions.httpClientWithTimeout(RequestOptions.builder().timeout(10).build());
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(5000, first.callTimeoutMillis());
+        assertSame(clientOptions.httpClient().connectionPool(), first.connectionPool());
+        assertSame(clientOptions.httpClient().dispatcher(), first.dispatcher());
+        assertEquals(clientOptions.httpClient().interceptors(), first.interceptors());
+    }
+
+    @Test
+    public void testHttpHeadersMergeOverrides() {
+        ClientOptions clientOptions = ClientOptions.builder()
+                .environment(Environment.PRODUCTION)
+                .addHeader("Authorization", "Bearer client-token")
+                .build();
+        Headers defaults = clientOptions.httpHeaders(null);
+        Headers overridden = clientOptions.httpHeaders(RequestOptions.builder().token("request-token").build());
+
+        assertSame(defaults, clientOptions.httpHeaders(null));
+        assertEquals("Bearer client-token", defaults.get("Authorization"));
+        assertEquals("Bearer request-token", overridden.get("Authorization"));
+        assertEquals("JAVA", overridden.get("X-Fern-Language"));
+    }
+
+    @Test
+    public void testResponseCacheKeys() {
+        ClientOptions uncached = ClientOptions.builder().environment(Environment.PRODUCTION).build();
+        ClientOptions cached = ClientOptions.builder()
+                .environment(Environment.PRODUCTION)
+                .responseCache(InMemoryResponseCache.builder().build())
+                .build();
+        HttpUrl tokenizeUrl = cached.endpointUrl("v1/tokenize");
+        byte[] body = "{\"text\":\"a\"}".getBytes();
+        String key = cached.responseCacheKey(tokenizeUrl, null, body);
+
+        assertNull(uncached.responseCacheKey(tokenizeUrl, null, body));
+        assertEquals(key, cached.responseCacheKey(tokenizeUrl, null, body));
+        assertNotEquals(key, cached.responseCacheKey(tokenizeUrl, null, "{\"text\":\"b\"}".getBytes()));
+        assertNotEquals(key, cached.responseCacheKey(cached.endpointUrl("v1/detokenize"), null, body));
+        assertNull(cached.cachedResponse(key));
+
+        RequestOptions otherToken = RequestOptions.builder().token("other").build();
+        RequestOptions otherHeader = RequestOptions.builder().addHeader("X-Extra", "1").build();
+        assertNotEquals(key, cached.responseCacheKey(tokenizeUrl, otherToken, body));
+        assertNotEquals(key, cached.responseCacheKey(tokenizeUrl, otherHeader, body));
+        assertEquals(
+                cached.responseCacheKey(tokenizeUrl, otherToken, body),
+                cached.responseCacheKey(tokenizeUrl, RequestOptions.builder().token("other").build(), body));
+        assertFalse(cached.responseCacheKey(tokenizeUrl, otherToken, body).contains("other"));
+    }
+
+    @Test
+    public void testEndpointUrlIsResolvedOnce() {
+        ClientOptions clientOptions = ClientOptions.builder().environment(Environment.PRODUCTION).build();
+        HttpUrl embedUrl = clientOptions.endpointUrl("v2/embed");
+
+        assertSame(embedUrl, clientOptions.endpointUrl("v2/embed"));
+        assertEquals("https://api.cohere.com/v2/embed", embedUrl.toString());
+    }
+}
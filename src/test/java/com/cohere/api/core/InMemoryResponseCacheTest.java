@@ -0,0 +1,65 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public final class InMemoryResponseCacheTest {
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        InMemoryResponseCache cache = InMemoryResponseCache.builder().maximumWeight(2).build();
+        cache.put("a", response("a"));
+        cache.put("b", response("b"));
+        assertNotNull(cache.get("a"));
+        cache.put("c", response("c"));
+
+        assertNull(cache.get("b"));
+        assertEquals("a", cache.get("a").body());
+        assertEquals("c", cache.get("c").body());
+        assertEquals(3, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    public void testEvictsByWeight() {
+        InMemoryResponseCache cache = InMemoryResponseCache.builder()
+                .maximumWeight(10)
+                .weigher(response -> ((String) response.body()).length())
+                .build();
+        cache.put("a", response("aaaa"));
+        cache.put("b", response("bbbb"));
+        cache.put("c", response("cccc"));
+        cache.put("d", response("ddddddddddd"));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertNull(cache.get("d"));
+    }
+
+    @Test
+    public void testExpiresAfterWrite() {
+        AtomicLong now = new AtomicLong();
+        InMemoryResponseCache cache = InMemoryResponseCache.builder()
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .ticker(now::get)
+                .build();
+        cache.put("a", response("a"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertNotNull(cache.get("a"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    private static CohereHttpResponse<String> response(String body) {
+        return new CohereHttpResponse<>(body, Collections.emptyMap());
+    }
+}
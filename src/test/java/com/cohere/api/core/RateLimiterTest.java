@@ -0,0 +1,46 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import okhttp3.Headers;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+public final class RateLimiterTest {
+    @Test
+    public void testBurstThenPaced() {
+        RateLimiter rateLimiter = RateLimiter.builder().requestsPerSecond(1).burst(2).build();
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertTrue(rateLimiter.reserve() > TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void testRetryAfterHoldsRequests() {
+        RateLimiter rateLimiter = RateLimiter.builder().requestsPerSecond(100).burst(100).build();
+        rateLimiter.update(response(429, "Retry-After", "2"));
+        assertTrue(rateLimiter.reserve() > TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+
+    @Test
+    public void testExhaustedQuotaHoldsRequestsUntilReset() {
+        RateLimiter rateLimiter = RateLimiter.builder().requestsPerSecond(100).burst(100).build();
+        long resetSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3;
+        rateLimiter.update(
+                response(200, "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", Long.toString(resetSeconds)));
+        assertTrue(rateLimiter.reserve() > TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static Response response(int code, String... namesAndValues) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://api.cohere.com/v2/embed").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .headers(Headers.of(namesAndValues))
+                .build();
+    }
+}
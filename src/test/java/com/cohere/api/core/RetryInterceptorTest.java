@@ -0,0 +1,75 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class RetryInterceptorTest {
+    private MockWebServer server;
+
+    private OkHttpClient client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(1)).build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testRetryStateIsPerCall() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+            server.enqueue(new MockResponse().setResponseCode(200));
+        }
+        for (int i = 0; i < 2; i++) {
+            try (Response response = client.newCall(request()).execute()) {
+                assertEquals(200, response.code());
+            }
+        }
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void testAsyncCallIsRetriedOnTimer() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        AsyncHttpCall.enqueue(ClientOptions.builder().build(), client, request(), result, new Callback() {
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                result.complete(response.code());
+                response.close();
+            }
+
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        assertEquals(200, result.get(10, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private Request request() {
+        return new Request.Builder().url(server.url("/")).build();
+    }
+}
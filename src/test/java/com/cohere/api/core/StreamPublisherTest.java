@@ -0,0 +1,108 @@
+package com.cohere.api.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class StreamPublisherTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDeliversOnlyRequestedElements() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        StreamPublisher.subscribe(CompletableFuture.completedFuture(stream(3)), executor, subscriber);
+        subscriber.subscription.request(2);
+        executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(0, 1), subscriber.items);
+        assertEquals(1, subscriber.terminated.getCount());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testCancelBeforeResponseCancelsSource() {
+        CompletableFuture<Stream<Map>> source = new CompletableFuture<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        StreamPublisher.subscribe(source, executor, subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        assertTrue(source.isCancelled());
+        assertEquals(1, subscriber.terminated.getCount());
+    }
+
+    @Test
+    public void testFailedResponseIsSignalled() throws Exception {
+        CompletableFuture<Stream<Map>> source = new CompletableFuture<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        StreamPublisher.subscribe(source, executor, subscriber);
+        source.completeExceptionally(new IllegalStateException("failed"));
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+    }
+
+    private static Stream<Map> stream(int size) {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            input.append("data: {\"index\":").append(i).append("}\n\n");
+        }
+        return Stream.fromSse(Map.class, new StringReader(input.toString()));
+    }
+
+    private static final class RecordingSubscriber implements StreamSubscriber<Map> {
+        private final List<Object> items = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch terminated = new CountDownLatch(1);
+
+        private volatile StreamSubscription subscription;
+
+        private volatile boolean completed = false;
+
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(StreamSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Map item) {
+            items.add(item.get("index"));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+    }
+}
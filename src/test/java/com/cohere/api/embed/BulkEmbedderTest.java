@@ -0,0 +1,155 @@
+package com.cohere.api.embed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.AsyncCohere;
+import com.cohere.api.core.ClientOptions;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.core.RequestOptions;
+import com.cohere.api.errors.BadRequestError;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInputType;
+import com.cohere.api.types.FloatEmbeddings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class BulkEmbedderTest {
+    private static final V2EmbedRequest TEMPLATE = V2EmbedRequest.builder()
+            .model("embed-v4.0")
+            .inputType(EmbedInputType.SEARCH_DOCUMENT)
+            .build();
+
+    private MockWebServer server;
+
+    private BulkEmbedder embedder;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        AsyncCohere client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+        embedder = BulkEmbedder.builder(client.v2()).chunkSize(2).concurrency(1).build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testPacksChunksInInputOrder() throws Exception {
+        server.enqueue(embeddings("[[1,1],[2,2]]"));
+        server.enqueue(embeddings("[[3,3],[4,4]]"));
+        server.enqueue(embeddings("[[5,5]]"));
+
+        BulkEmbedResult result = embedder.embedTexts(TEMPLATE, Stream.of("a", "b", "c", "d", "e"), null)
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(3, result.getChunks().size());
+        FloatEmbeddings embeddings = result.getFloatEmbeddings();
+        assertEquals(5, embeddings.size());
+        assertEquals(4f, embeddings.get(3, 0));
+        assertEquals(5f, embeddings.get(4, 1));
+
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String body = server.takeRequest().getBody().readUtf8();
+            sizes.add(ObjectMappers.JSON_MAPPER.readTree(body).get("texts").size());
+        }
+        assertEquals(List.of(2, 2, 1), sizes);
+    }
+
+    @Test
+    public void testReportsFailedChunks() throws Exception {
+        server.enqueue(embeddings("[[1,1],[2,2]]"));
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{}"));
+        server.enqueue(embeddings("[[5,5]]"));
+        List<EmbedChunk> completed = new CopyOnWriteArrayList<>();
+
+        BulkEmbedResult result = embedder.embedTexts(TEMPLATE, List.of("a", "b", "c", "d", "e"), completed::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, completed.size());
+        assertFalse(result.isSuccessful());
+        List<EmbedChunk> failed = result.getFailedChunks();
+        assertEquals(1, failed.size());
+        assertEquals(2, failed.get(0).getOffset());
+        assertInstanceOf(BadRequestError.class, failed.get(0).getError().get());
+        assertTrue(result.getChunks().get(2).isSuccessful());
+        assertThrows(IllegalStateException.class, result::getFloatEmbeddings);
+    }
+
+    @Test
+    public void testSplitsChunksByTokenBudget() throws Exception {
+        server.enqueue(embeddings("[[1,1]]"));
+        server.enqueue(embeddings("[[2,2],[3,3]]"));
+        server.enqueue(embeddings("[[4,4]]"));
+        server.enqueue(embeddings("[[5,5]]"));
+        AsyncCohere client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+        BulkEmbedder budgeted = BulkEmbedder.builder(client.v2())
+                .concurrency(1)
+                .tokenBudget(String::length, 5)
+                .build();
+
+        BulkEmbedResult result = budgeted.embedTexts(TEMPLATE, List.of("aaa", "bbb", "c", "dddddd", "e"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, result.getFloatEmbeddings().size());
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String body = server.takeRequest().getBody().readUtf8();
+            sizes.add(ObjectMappers.JSON_MAPPER.readTree(body).get("texts").size());
+        }
+        assertEquals(List.of(1, 2, 1, 1), sizes);
+    }
+
+    @Test
+    public void testChunksCompletingInlineDoNotRecurse() throws Exception {
+        EmbedByTypeResponse response = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"id\":\"id\",\"embeddings\":{\"float\":[[1,1]]}}", EmbedByTypeResponse.class);
+        // Completes every call before it returns, as a response cache does on a hit.
+        AsyncV2Client inline = new AsyncV2Client(ClientOptions.builder().build()) {
+            @Override
+            public CompletableFuture<EmbedByTypeResponse> embed(
+                    V2EmbedRequest request, RequestOptions requestOptions) {
+                return CompletableFuture.completedFuture(response);
+            }
+        };
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            texts.add("t" + i);
+        }
+
+        BulkEmbedResult result = BulkEmbedder.builder(inline)
+                .chunkSize(1)
+                .build()
+                .embedTexts(TEMPLATE, texts)
+                .get(30, TimeUnit.SECONDS);
+
+        assertEquals(50_000, result.getFloatEmbeddings().size());
+    }
+
+    private static MockResponse embeddings(String rows) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":\"id\",\"embeddings\":{\"float\":" + rows + "}}");
+    }
+}
@@ -0,0 +1,105 @@
+package com.cohere.api.embed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.AsyncCohere;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInputType;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class EmbedBatcherTest {
+    private MockWebServer server;
+
+    private AsyncCohere client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testCoalescesRequestsIntoOneCall() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":\"batch\",\"texts\":[\"a\",\"b\",\"c\"],"
+                        + "\"embeddings\":{\"float\":[[1,1],[2,2],[3,3]]}}"));
+        EmbedBatcher batcher = EmbedBatcher.builder(client.v2())
+                .maxBatchSize(3)
+                .maxLinger(Duration.ofMinutes(1))
+                .build();
+
+        CompletableFuture<EmbedByTypeResponse> first = batcher.embed(request("a"));
+        CompletableFuture<EmbedByTypeResponse> second = batcher.embed(request("b", "c"));
+
+        assertEquals(List.of(List.of(1.0, 1.0)), first.get(5, TimeUnit.SECONDS).getEmbeddings().getFloat().get());
+        EmbedByTypeResponse secondResponse = second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(List.of(2.0, 2.0), List.of(3.0, 3.0)), secondResponse.getEmbeddings().getFloat().get());
+        assertEquals(List.of("b", "c"), secondResponse.getTexts().get());
+
+        assertEquals(1, server.getRequestCount());
+        JsonNode sent = ObjectMappers.JSON_MAPPER.readTree(server.takeRequest().getBody().readUtf8());
+        assertEquals(3, sent.get("texts").size());
+    }
+
+    @Test
+    public void testSendsPartialBatchAfterLinger() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":\"batch\",\"embeddings\":{\"float\":[[1,1]]}}"));
+        EmbedBatcher batcher = EmbedBatcher.builder(client.v2())
+                .maxLinger(Duration.ofMillis(20))
+                .build();
+
+        EmbedByTypeResponse response = batcher.embed(request("a")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, response.getEmbeddings().getFloat().get().size());
+    }
+
+    @Test
+    public void testBatchFailureFailsEveryRequest() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{}"));
+        EmbedBatcher batcher = EmbedBatcher.builder(client.v2())
+                .maxLinger(Duration.ofMinutes(1))
+                .build();
+
+        CompletableFuture<EmbedByTypeResponse> first = batcher.embed(request("a"));
+        CompletableFuture<EmbedByTypeResponse> second = batcher.embed(request("b"));
+        batcher.close();
+
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertThrows(IllegalStateException.class, () -> batcher.embed(request("c")));
+    }
+
+    private static V2EmbedRequest request(String... texts) {
+        return V2EmbedRequest.builder()
+                .model("embed-v4.0")
+                .inputType(EmbedInputType.SEARCH_DOCUMENT)
+                .texts(Arrays.asList(texts))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.cohere.api.embed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.AsyncCohere;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.AsyncV2Client;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbedInputType;
+import com.cohere.api.types.FloatEmbeddings;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class EmbedDeduplicatorTest {
+    private MockWebServer server;
+
+    private AsyncV2Client client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build()
+                .v2();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testSendsEachTextOnce() throws Exception {
+        server.enqueue(embeddings("[[1,1],[2,2]]"));
+        EmbedDeduplicator deduplicator = EmbedDeduplicator.builder().build();
+
+        EmbedByTypeResponse response = deduplicator
+                .embed(client, request("a", "b", "a", "b", "a"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("a", "b"), sentTexts());
+        FloatEmbeddings embeddings = response.getEmbeddings().getFloatEmbeddings().get();
+        assertEquals(5, embeddings.size());
+        assertEquals(1f, embeddings.get(2, 0));
+        assertEquals(2f, embeddings.get(3, 0));
+        assertEquals(1f, embeddings.get(4, 1));
+    }
+
+    @Test
+    public void testReusesRecentTexts() throws Exception {
+        server.enqueue(embeddings("[[1,1],[2,2]]"));
+        server.enqueue(embeddings("[[3,3]]"));
+        EmbedDeduplicator deduplicator = EmbedDeduplicator.builder().recentCapacity(10).build();
+
+        deduplicator.embed(client, request("a", "b")).get(5, TimeUnit.SECONDS);
+        EmbedByTypeResponse response = deduplicator.embed(client, request("b", "c")).get(5, TimeUnit.SECONDS);
+        EmbedByTypeResponse cached = deduplicator.embed(client, request("c", "a")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("a", "b"), sentTexts());
+        assertEquals(List.of("c"), sentTexts());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2f, response.getEmbeddings().getFloatEmbeddings().get().get(0, 0));
+        assertEquals(3f, response.getEmbeddings().getFloatEmbeddings().get().get(1, 0));
+        assertEquals(3f, cached.getEmbeddings().getFloatEmbeddings().get().get(0, 0));
+        assertEquals(1f, cached.getEmbeddings().getFloatEmbeddings().get().get(1, 0));
+        assertFalse(cached.getMeta().isPresent());
+    }
+
+    private List<String> sentTexts() throws Exception {
+        JsonNode body = ObjectMappers.JSON_MAPPER.readTree(server.takeRequest().getBody().readUtf8());
+        return ObjectMappers.JSON_MAPPER.convertValue(body.get("texts"), List.class);
+    }
+
+    private static V2EmbedRequest request(String... texts) {
+        return V2EmbedRequest.builder()
+                .model("embed-v4.0")
+                .inputType(EmbedInputType.SEARCH_DOCUMENT)
+                .texts(List.of(texts))
+                .build();
+    }
+
+    private static MockResponse embeddings(String rows) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"id\":\"id\",\"embeddings\":{\"float\":" + rows + "}}");
+    }
+}
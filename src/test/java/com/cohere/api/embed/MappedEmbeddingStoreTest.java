@@ -0,0 +1,72 @@
+package com.cohere.api.embed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.EmbedInputType;
+import com.cohere.api.types.EmbeddingType;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class MappedEmbeddingStoreTest {
+    private static final V2EmbedRequest REQUEST = V2EmbedRequest.builder()
+            .model("embed-v4.0")
+            .inputType(EmbedInputType.SEARCH_DOCUMENT)
+            .build();
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void testSurvivesReopening() throws Exception {
+        EmbeddingKey hello = EmbeddingKey.of(REQUEST, "hello");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory)) {
+            store.putFloats(hello, new float[] {1, 2, 3});
+            store.putBytes(hello, EmbeddingType.INT_8, new byte[] {-1, 5});
+        }
+
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory)) {
+            FloatBuffer floats = store.getFloats(hello);
+            assertEquals(3, floats.remaining());
+            assertEquals(3f, floats.get(2));
+            assertEquals(-1, store.getBytes(hello, EmbeddingType.INT_8).get(0));
+            assertNull(store.getBytes(hello, EmbeddingType.UINT_8));
+            assertNull(store.getFloats(EmbeddingKey.of(REQUEST, "world")));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    public void testKeysDependOnRequestOptions() {
+        V2EmbedRequest query = V2EmbedRequest.builder()
+                .from(REQUEST)
+                .inputType(EmbedInputType.SEARCH_QUERY)
+                .build();
+
+        assertEquals(EmbeddingKey.of(REQUEST, "hello"), EmbeddingKey.of(REQUEST, "hello"));
+        assertNotEquals(EmbeddingKey.of(REQUEST, "hello"), EmbeddingKey.of(query, "hello"));
+    }
+
+    @Test
+    public void testCompactsOverwrittenVectors() throws Exception {
+        EmbeddingKey hello = EmbeddingKey.of(REQUEST, "hello");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, 256)) {
+            for (int i = 0; i < 100; i++) {
+                store.putFloats(hello, new float[] {i, i, i, i});
+            }
+            assertEquals(99f, store.getFloats(hello).get(0));
+            assertEquals(1, store.size());
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() < 3);
+        }
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, 256)) {
+            assertEquals(99f, store.getFloats(hello).get(3));
+        }
+    }
+}
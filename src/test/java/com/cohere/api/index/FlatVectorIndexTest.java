@@ -0,0 +1,74 @@
+package com.cohere.api.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.types.EmbedByTypeResponse;
+import com.cohere.api.types.EmbeddingType;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class FlatVectorIndexTest {
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void testRanksFloatsByCosineSimilarity() throws Exception {
+        FlatVectorIndex index = FlatVectorIndex.create(EmbeddingType.FLOAT, 2);
+        EmbedByTypeResponse response = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"id\":\"1\",\"embeddings\":{\"float\":[[1,0],[0,3],[2,2]]}}", EmbedByTypeResponse.class);
+
+        assertEquals(0, index.addAll(response));
+        assertEquals(3, index.add(new float[] {-1, 0}));
+        List<FlatVectorIndex.Hit> hits = index.search(new float[] {5, 0}, 2);
+
+        assertEquals(2, hits.size());
+        assertEquals(0, hits.get(0).getId());
+        assertEquals(1f, hits.get(0).getScore(), 1e-6);
+        assertEquals(2, hits.get(1).getId());
+        assertEquals(Math.sqrt(0.5), hits.get(1).getScore(), 1e-6);
+    }
+
+    @Test
+    public void testRanksBinaryByHammingDistance() {
+        FlatVectorIndex index = FlatVectorIndex.create(EmbeddingType.UBINARY, 2);
+        index.add(new byte[] {0, 0});
+        index.add(new byte[] {(byte) 0xff, 0x0f});
+        index.add(new byte[] {(byte) 0xff, 0x01});
+
+        List<FlatVectorIndex.Hit> hits = index.search(new byte[] {(byte) 0xff, 0x03}, 3);
+
+        assertEquals(2, hits.get(0).getId());
+        assertEquals(15f, hits.get(0).getScore());
+        assertEquals(1, hits.get(1).getId());
+        assertEquals(14f, hits.get(1).getScore());
+        assertEquals(0, hits.get(2).getId());
+        assertEquals(6f, hits.get(2).getScore());
+    }
+
+    @Test
+    public void testSavesAndLoadsMappedIndex() throws Exception {
+        Path path = directory.resolve("vectors.idx");
+        FlatVectorIndex index = FlatVectorIndex.create(EmbeddingType.INT_8, 3);
+        index.add(new byte[] {1, 2, 3});
+        index.add(new byte[] {-1, -2, -3});
+        index.save(path);
+
+        FlatVectorIndex loaded = FlatVectorIndex.load(path);
+        loaded.add(new byte[] {3, 3, 3});
+
+        assertEquals(EmbeddingType.INT_8, loaded.type());
+        assertEquals(3, loaded.size());
+        List<FlatVectorIndex.Hit> hits = loaded.search(new byte[] {1, 1, 1}, 3);
+        assertEquals(2, hits.get(0).getId());
+        assertEquals(9f, hits.get(0).getScore());
+        assertEquals(0, hits.get(1).getId());
+        assertEquals(1, hits.get(2).getId());
+        assertEquals(-6f, hits.get(2).getScore());
+
+        loaded.save(path);
+        assertEquals(3, FlatVectorIndex.load(path).size());
+    }
+}
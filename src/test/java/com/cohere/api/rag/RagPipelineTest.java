@@ -0,0 +1,129 @@
+package com.cohere.api.rag;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.AsyncCohere;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.errors.BadRequestError;
+import com.cohere.api.resources.v2.requests.V2ChatStreamRequest;
+import com.cohere.api.resources.v2.requests.V2EmbedRequest;
+import com.cohere.api.types.Document;
+import com.cohere.api.types.EmbedInputType;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class RagPipelineTest {
+    private MockWebServer server;
+
+    private AsyncCohere client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testChatsOverRerankedDocuments() throws Exception {
+        server.enqueue(json("{\"id\":\"e\",\"embeddings\":{\"float\":[[1,0]]}}"));
+        server.enqueue(json("{\"results\":["
+                + "{\"index\":2,\"relevance_score\":0.9},"
+                + "{\"index\":0,\"relevance_score\":0.4}]}"));
+        server.enqueue(json("{}"));
+        List<Document> candidates = new ArrayList<>();
+        for (String text : new String[] {"a", "b", "c"}) {
+            candidates.add(Document.builder()
+                    .data(Collections.<String, Object>singletonMap("text", text))
+                    .build());
+        }
+        RagPipeline pipeline = RagPipeline.builder(
+                        client.v2(),
+                        V2EmbedRequest.builder()
+                                .model("embed-v4.0")
+                                .inputType(EmbedInputType.SEARCH_QUERY)
+                                .build(),
+                        (query, embedding) -> embedding.thenApply(response -> candidates))
+                .topN(2)
+                .build();
+
+        V2ChatStreamRequest chat =
+                V2ChatStreamRequest.builder().model("command-a-03-2025").build();
+        RagResult result = pipeline.run("q", chat).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, result.getDocuments().size());
+        assertSame(candidates.get(2), result.getDocuments().get(0));
+        assertSame(candidates.get(0), result.getDocuments().get(1));
+        assertFalse(result.getTimings().getTotal().isNegative());
+        JsonNode embed = body();
+        assertEquals("q", embed.get("texts").get(0).asText());
+        JsonNode rerank = body();
+        assertEquals("text: b", rerank.get("documents").get(1).asText());
+        assertEquals(2, rerank.get("top_n").asInt());
+        JsonNode documents = body().get("documents");
+        assertEquals("c", documents.get(0).get("data").get("text").asText());
+        assertEquals("a", documents.get(1).get("data").get("text").asText());
+    }
+
+    @Test
+    public void testEmbedFailureFailsRunWhenRetrieverIgnoresIt() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{}"));
+        CompletableFuture<List<Document>> keywordSearch = new CompletableFuture<>();
+
+        CompletableFuture<RagResult> result = pipeline((query, embedding) -> keywordSearch)
+                .run("q", V2ChatStreamRequest.builder().model("command-a-03-2025").build());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadRequestError.class, e.getCause());
+        assertTrue(keywordSearch.isCancelled());
+    }
+
+    @Test
+    public void testCancellingRunCancelsStages() {
+        server.enqueue(json("{\"id\":\"e\",\"embeddings\":{\"float\":[[1,0]]}}").setHeadersDelay(10, TimeUnit.SECONDS));
+        CompletableFuture<List<Document>> keywordSearch = new CompletableFuture<>();
+
+        CompletableFuture<RagResult> result = pipeline((query, embedding) -> keywordSearch)
+                .run("q", V2ChatStreamRequest.builder().model("command-a-03-2025").build());
+        result.cancel(false);
+
+        assertTrue(keywordSearch.isCancelled());
+    }
+
+    private RagPipeline pipeline(Retriever retriever) {
+        return RagPipeline.builder(
+                        client.v2(),
+                        V2EmbedRequest.builder()
+                                .model("embed-v4.0")
+                                .inputType(EmbedInputType.SEARCH_QUERY)
+                                .build(),
+                        retriever)
+                .build();
+    }
+
+    private JsonNode body() throws Exception {
+        return ObjectMappers.JSON_MAPPER.readTree(server.takeRequest().getBody().readUtf8());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setResponseCode(200).setBody(body);
+    }
+}
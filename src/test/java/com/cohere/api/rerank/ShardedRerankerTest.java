@@ -0,0 +1,97 @@
+package com.cohere.api.rerank;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.AsyncCohere;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.requests.V2RerankRequest;
+import com.cohere.api.resources.v2.types.V2RerankResponse;
+import com.cohere.api.types.ApiMeta;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ShardedRerankerTest {
+    private static final V2RerankRequest REQUEST = V2RerankRequest.builder()
+            .model("rerank-v3.5")
+            .query("q")
+            .documents(Arrays.asList("a", "b", "c", "d", "e"))
+            .topN(2)
+            .build();
+
+    private MockWebServer server;
+
+    private AsyncCohere client;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = AsyncCohere.builder()
+                .url(server.url("/").toString())
+                .token("test-token")
+                .build();
+    }
+
+    @AfterEach
+    public void teardown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testMergesShardsIntoGlobalTopN() throws Exception {
+        server.enqueue(results("[{\"index\":1,\"relevance_score\":0.5},{\"index\":0,\"relevance_score\":0.2}]"));
+        server.enqueue(results("[{\"index\":0,\"relevance_score\":0.7},{\"index\":1,\"relevance_score\":0.5}]"));
+        server.enqueue(results("[{\"index\":0,\"relevance_score\":0.1}]"));
+        ShardedReranker reranker = ShardedReranker.builder(client.v2())
+                .shardSize(2)
+                .concurrency(1)
+                .build();
+
+        V2RerankResponse response = reranker.rerank(REQUEST).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, response.getResults().size());
+        assertEquals(2, response.getResults().get(0).getIndex());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertEquals(3.0, response.getMeta().flatMap(ApiMeta::getBilledUnits).get().getSearchUnits().get());
+        assertEquals(3, server.getRequestCount());
+        JsonNode first = shard();
+        assertEquals(2, first.get("documents").size());
+        assertEquals(2, first.get("top_n").asInt());
+        shard();
+        JsonNode last = shard();
+        assertEquals(1, last.get("documents").size());
+        assertEquals(1, last.get("top_n").asInt());
+    }
+
+    @Test
+    public void testStopsOnceTopNReachesStopScore() throws Exception {
+        server.enqueue(results("[{\"index\":0,\"relevance_score\":0.9},{\"index\":1,\"relevance_score\":0.8}]"));
+        ShardedReranker reranker = ShardedReranker.builder(client.v2())
+                .shardSize(2)
+                .concurrency(1)
+                .stopScore(0.8f)
+                .build();
+
+        V2RerankResponse response = reranker.rerank(REQUEST).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, response.getResults().get(0).getIndex());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private JsonNode shard() throws Exception {
+        return ObjectMappers.JSON_MAPPER.readTree(server.takeRequest().getBody().readUtf8());
+    }
+
+    private static MockResponse results(String results) {
+        return new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"results\":" + results + ",\"meta\":{\"billed_units\":{\"search_units\":1}}}");
+    }
+}
@@ -0,0 +1,68 @@
+package com.cohere.api.tools;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.CohereException;
+import com.cohere.api.core.ObjectMappers;
+import com.cohere.api.resources.v2.types.V2ChatStreamResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class ToolCallAccumulatorTest {
+    private final List<StreamedToolCall> calls = new ArrayList<>();
+
+    private final ToolCallAccumulator accumulator = new ToolCallAccumulator(calls::add);
+
+    @Test
+    public void testCompletesCallsBeforeTheirEndEvent() throws Exception {
+        accumulator.accept(start(0, "call-0", "search"));
+        accumulator.accept(delta(0, "{\\\"query\\\": \\\"caf"));
+        accumulator.accept(delta(0, "\\u00e9\\\", \\\"limit\\\""));
+        assertTrue(calls.isEmpty());
+        accumulator.accept(delta(0, ": 3}"));
+
+        assertEquals(1, calls.size());
+        StreamedToolCall call = calls.get(0);
+        assertEquals("call-0", call.getId());
+        assertEquals("search", call.getName());
+        assertEquals("café", call.getParsedArguments().get("query").asText());
+        assertEquals(3, call.getParsedArguments().get("limit").asInt());
+        assertEquals("{\"query\": \"café\", \"limit\": 3}", call.getArguments());
+
+        accumulator.accept(end(0));
+        accumulator.accept(start(1, "call-1", "now"));
+        accumulator.accept(end(1));
+
+        assertEquals(2, calls.size());
+        assertEquals(0, calls.get(1).getParsedArguments().size());
+        assertEquals(calls, accumulator.getCompleted());
+    }
+
+    @Test
+    public void testRejectsMalformedArguments() throws Exception {
+        accumulator.accept(start(0, "call-0", "search"));
+
+        assertThrows(CohereException.class, () -> accumulator.accept(delta(0, "{\\\"query\\\" 1")));
+        assertTrue(calls.isEmpty());
+    }
+
+    private static V2ChatStreamResponse start(int index, String id, String name) throws Exception {
+        return event("{\"type\":\"tool-call-start\",\"index\":" + index + ",\"delta\":{\"message\":{\"tool_calls\":"
+                + "{\"id\":\"" + id + "\",\"type\":\"function\",\"function\":{\"name\":\"" + name
+                + "\",\"arguments\":\"\"}}}}}");
+    }
+
+    private static V2ChatStreamResponse delta(int index, String arguments) throws Exception {
+        return event("{\"type\":\"tool-call-delta\",\"index\":" + index
+                + ",\"delta\":{\"message\":{\"tool_calls\":{\"function\":{\"arguments\":\"" + arguments + "\"}}}}}");
+    }
+
+    private static V2ChatStreamResponse end(int index) throws Exception {
+        return event("{\"type\":\"tool-call-end\",\"index\":" + index + "}");
+    }
+
+    private static V2ChatStreamResponse event(String json) throws Exception {
+        return ObjectMappers.JSON_MAPPER.readValue(json, V2ChatStreamResponse.class);
+    }
+}
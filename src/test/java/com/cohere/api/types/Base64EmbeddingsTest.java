@@ -0,0 +1,59 @@
+package com.cohere.api.types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.ObjectMappers;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class Base64EmbeddingsTest {
+    @Test
+    public void testDecodesOnRead() throws Exception {
+        String first = encode(0.5f, -1.25f, 3.1415f);
+        String second = encode(0.001f, 2f, 7f, 8f);
+        EmbedByTypeResponseEmbeddings embeddings = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"base64\":[\"" + first + "\",\"" + second + "\"]}", EmbedByTypeResponseEmbeddings.class);
+        Base64Embeddings base64 = embeddings.getBase64Embeddings().get();
+        assertSame(base64, embeddings.getBase64().get());
+        assertEquals(List.of(first, second), embeddings.getBase64().get());
+
+        assertEquals(3, base64.dimension(0));
+        assertArrayEquals(new float[] {0.5f, -1.25f, 3.1415f}, base64.toFloatArray(0));
+
+        float[] reused = new float[5];
+        assertEquals(4, base64.decodeTo(1, reused, 1));
+        assertArrayEquals(new float[] {0f, 0.001f, 2f, 7f, 8f}, reused);
+
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(16, base64.decodeTo(1, buffer));
+        assertEquals(7f, buffer.getFloat(8));
+    }
+
+    @Test
+    public void testCopiesBuilderLists() {
+        EmbedByTypeResponseEmbeddings embeddings = EmbedByTypeResponseEmbeddings.builder()
+                .base64(List.of(encode(1f, 2f)))
+                .build();
+        assertArrayEquals(new float[] {1f, 2f}, embeddings.getBase64Embeddings().get().toFloatArray(0));
+    }
+
+    @Test
+    public void testRejectsNonAsciiText() {
+        assertThrows(
+                JsonMappingException.class,
+                () -> ObjectMappers.JSON_MAPPER.readValue(
+                        "{\"base64\":[\"\u0141AAAAA==\"]}", EmbedByTypeResponseEmbeddings.class));
+    }
+
+    private static String encode(float... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : values) {
+            buffer.putFloat(value);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+}
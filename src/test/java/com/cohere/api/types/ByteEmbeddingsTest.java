@@ -0,0 +1,56 @@
+package com.cohere.api.types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.ObjectMappers;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class ByteEmbeddingsTest {
+    private static final String JSON =
+            "{\"int8\":[[-128,127],[0,5]],\"uint8\":[[255,0],[1,2]],\"binary\":[[-3]],\"ubinary\":[[200]]}";
+
+    @Test
+    public void testDeserializesIntoPackedBytes() throws Exception {
+        EmbedByTypeResponseEmbeddings embeddings =
+                ObjectMappers.JSON_MAPPER.readValue(JSON, EmbedByTypeResponseEmbeddings.class);
+        ByteEmbeddings int8 = embeddings.getInt8Embeddings().get();
+        assertSame(int8, embeddings.getInt8().get());
+        assertTrue(int8.isSigned());
+        assertEquals(2, int8.dimension());
+        assertEquals(-128, int8.get(0, 0));
+        assertArrayEquals(new byte[] {0, 5}, int8.toArray(1));
+
+        ByteEmbeddings uint8 = embeddings.getUint8Embeddings().get();
+        assertFalse(uint8.isSigned());
+        assertEquals(255, uint8.get(0, 0));
+        assertEquals((byte) 0xFF, uint8.asByteBuffer(0).get(0));
+
+        assertEquals(List.of(List.of(-3)), embeddings.getBinary().get());
+        assertEquals(List.of(List.of(200)), embeddings.getUbinary().get());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        EmbedByTypeResponseEmbeddings embeddings =
+                ObjectMappers.JSON_MAPPER.readValue(JSON, EmbedByTypeResponseEmbeddings.class);
+        assertEquals(JSON, ObjectMappers.JSON_MAPPER.writeValueAsString(embeddings));
+    }
+
+    @Test
+    public void testRejectsOutOfRangeValues() {
+        assertThrows(JsonMappingException.class, () -> ObjectMappers.JSON_MAPPER.readValue(
+                "{\"uint8\":[[256]]}", EmbedByTypeResponseEmbeddings.class));
+        assertThrows(JsonMappingException.class, () -> ObjectMappers.JSON_MAPPER.readValue(
+                "{\"int8\":[[-129]]}", EmbedByTypeResponseEmbeddings.class));
+    }
+
+    @Test
+    public void testCopiesBuilderLists() {
+        EmbedByTypeResponseEmbeddings embeddings = EmbedByTypeResponseEmbeddings.builder()
+                .ubinary(List.of(List.of(255, 1)))
+                .build();
+        assertEquals(255, embeddings.getUbinaryEmbeddings().get().get(0, 0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.cohere.api.types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class EmbeddingSinkReaderTest {
+    @Test
+    public void testStreamsEmbeddingsToSink() throws Exception {
+        String json = "{\"id\":\"abc\",\"embeddings\":{"
+                + "\"float\":[[0.5,-1.25],[2,3]],"
+                + "\"uint8\":[[0,255]],"
+                + "\"base64\":[\"" + encode(7f, 8f) + "\"]},"
+                + "\"texts\":[\"a\",\"b\"]}";
+        List<String> received = new ArrayList<>();
+        EmbedByTypeResponse response = read(json, new EmbeddingSink() {
+            @Override
+            public void acceptFloats(EmbeddingType type, int index, float[] values, int dimension) {
+                received.add(type + ":" + index + ":" + values[0] + "," + values[dimension - 1]);
+            }
+
+            @Override
+            public void acceptBytes(EmbeddingType type, int index, byte[] values, int dimension) {
+                received.add(type + ":" + index + ":" + values[0] + "," + values[dimension - 1]);
+            }
+        });
+        assertEquals(List.of("float:0:0.5,-1.25", "float:1:2.0,3.0", "uint8:0:0,-1", "base64:0:7.0,8.0"), received);
+        assertEquals("abc", response.getId());
+        assertEquals(List.of("a", "b"), response.getTexts().get());
+        assertFalse(response.getEmbeddings().getFloat().isPresent());
+    }
+
+    @Test
+    public void testFloatBufferSink() throws Exception {
+        FloatBuffer target = ByteBuffer.allocateDirect(6 * Float.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        read("{\"id\":\"abc\",\"embeddings\":{\"float\":[[1,2],[3,4]]}}", EmbeddingSink.of(target, 2));
+        assertEquals(0, target.position());
+        float[] values = new float[6];
+        target.get(values);
+        assertArrayEquals(new float[] {0f, 0f, 1f, 2f, 3f, 4f}, values);
+    }
+
+    @Test
+    public void testRejectsOutOfRangeBytes() {
+        EmbeddingSink sink = EmbeddingSink.of(ByteBuffer.allocate(1), 0);
+        assertThrows(
+                JsonMappingException.class, () -> read("{\"id\":\"abc\",\"embeddings\":{\"int8\":[[128]]}}", sink));
+    }
+
+    @Test
+    public void testRejectsNonAsciiBase64() {
+        // U+0141 truncates to 'A', which would otherwise decode into a different vector
+        EmbeddingSink sink = EmbeddingSink.of(FloatBuffer.allocate(1), 0);
+        assertThrows(
+                JsonMappingException.class,
+                () -> read("{\"id\":\"abc\",\"embeddings\":{\"base64\":[\"\u0141AAAAA==\"]}}", sink));
+    }
+
+    private static EmbedByTypeResponse read(String json, EmbeddingSink sink) throws Exception {
+        return EmbeddingSinkReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), sink);
+    }
+
+    private static String encode(float... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : values) {
+            buffer.putFloat(value);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+}
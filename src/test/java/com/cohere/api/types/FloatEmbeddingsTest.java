@@ -0,0 +1,54 @@
+package com.cohere.api.types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cohere.api.core.ObjectMappers;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public final class FloatEmbeddingsTest {
+    @Test
+    public void testDeserializesIntoPrimitiveArray() throws Exception {
+        EmbedByTypeResponseEmbeddings embeddings = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"float\":[[0.5,-1,2.25],[3,0.125,-0.75]]}", EmbedByTypeResponseEmbeddings.class);
+        FloatEmbeddings floats = embeddings.getFloatEmbeddings().get();
+        assertSame(floats, embeddings.getFloat().get());
+        assertEquals(2, floats.size());
+        assertEquals(3, floats.dimension());
+        assertEquals(0.125f, floats.get(1, 1));
+        assertArrayEquals(new float[] {3f, 0.125f, -0.75f}, floats.toArray(1));
+        assertEquals(-1f, floats.asFloatBuffer(0).get(1));
+        assertEquals(List.of(List.of(0.5, -1.0, 2.25), List.of(3.0, 0.125, -0.75)), embeddings.getFloat().get());
+    }
+
+    @Test
+    public void testFloatsResponseKeepsPrimitiveArray() throws Exception {
+        EmbedFloatsResponse response = ObjectMappers.JSON_MAPPER.readValue(
+                "{\"id\":\"id\",\"embeddings\":[[1,2],[3,4]],\"texts\":[\"a\",\"b\"]}", EmbedFloatsResponse.class);
+        assertInstanceOf(FloatEmbeddings.class, response.getEmbeddings());
+        assertEquals(4f, response.getFloatEmbeddings().get(1, 1));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        FloatEmbeddings floats = FloatEmbeddings.of(new float[] {0.1f, 0.2f, 0.3f, 0.4f}, 2);
+        String json = ObjectMappers.JSON_MAPPER.writeValueAsString(floats);
+        assertEquals("[[0.1,0.2],[0.3,0.4]]", json);
+        assertEquals(floats, ObjectMappers.JSON_MAPPER.readValue(json, FloatEmbeddings.class));
+    }
+
+    @Test
+    public void testRejectsRaggedEmbeddings() {
+        assertThrows(JsonMappingException.class, () -> ObjectMappers.JSON_MAPPER.readValue(
+                "{\"float\":[[1,2],[3]]}", EmbedByTypeResponseEmbeddings.class));
+    }
+
+    @Test
+    public void testCopiesBuilderLists() {
+        EmbedByTypeResponseEmbeddings embeddings = EmbedByTypeResponseEmbeddings.builder()
+                .float_(List.of(List.of(1.0, 2.0)))
+                .build();
+        assertEquals(2f, embeddings.getFloatEmbeddings().get().get(0, 1));
+    }
+}